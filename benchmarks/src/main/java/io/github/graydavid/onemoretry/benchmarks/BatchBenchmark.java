@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.BatchResult;
+import io.github.graydavid.onemoretry.Try;
+
+/**
+ * Compares mapping a batch of records into a list with a Try per record against mapping them into a BatchResult with
+ * {@link Try#mapEach(java.util.Collection, Try.ThrowableFunction)}. One record in a thousand fails to parse. Check
+ * "gc.alloc.rate.norm" for the difference in allocation per batch. {@link #mapEachParallel()} shows what splitting the
+ * same batch across the common ForkJoinPool buys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+    @Param({"10000"})
+    private int size;
+
+    private List<String> records;
+
+    @Setup
+    public void setUp() {
+        records = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            records.add(i % 1000 == 999 ? "not a number" : Integer.toString(i));
+        }
+    }
+
+    @Benchmark
+    public List<Try<Integer>> listOfTrys() {
+        List<Try<Integer>> results = new ArrayList<>(records.size());
+        for (String record : records) {
+            results.add(Try.callCatchThrowable(() -> Integer.parseInt(record)));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public BatchResult<Integer> mapEach() {
+        return Try.mapEach(records, Integer::parseInt);
+    }
+
+    @Benchmark
+    public BatchResult<Integer> mapEachParallel() {
+        return Try.mapEachParallel(records, Integer::parseInt);
+    }
+}
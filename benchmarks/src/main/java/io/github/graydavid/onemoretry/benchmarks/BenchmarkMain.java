@@ -0,0 +1,29 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for benchmarks.jar. Accepts the same arguments as the standard JMH main class, except that the
+ * {@link GCProfiler} is always added, so that every run reports allocations (e.g. "gc.alloc.rate.norm", the number of
+ * bytes allocated per operation) alongside timings. That's usually the more interesting number for Try, since most of
+ * its cost is in what it allocates.
+ */
+public class BenchmarkMain {
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+}
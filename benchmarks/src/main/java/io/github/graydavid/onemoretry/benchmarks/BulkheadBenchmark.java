@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Bulkhead;
+import io.github.graydavid.onemoretry.Try;
+import io.github.graydavid.onemoretry.Try.RuntimeCallable;
+
+/**
+ * Measures a single Bulkhead shared by every benchmark thread, like {@link CircuitBreakerBenchmark}. The admitting
+ * bulkhead's limit is high enough that no call is rejected, so admittedSuccess shows the cost of the bookkeeping for
+ * each kind of limit. The full bulkhead has its only permit held for the whole benchmark, so fullRejection shows the
+ * cost of shedding a call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class BulkheadBenchmark {
+    private static final int HIGH_LIMIT = 100_000;
+
+    @Param({"FIXED", "AIMD", "VEGAS"})
+    private String limit;
+
+    private Bulkhead admittingBulkhead;
+    private Bulkhead fullBulkhead;
+    private final CountDownLatch releaseFullBulkhead = new CountDownLatch(1);
+
+    private final Integer value = 5;
+    private final RuntimeCallable<Integer> succeedingCallable = () -> value;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        Bulkhead.Builder builder = Bulkhead.builder();
+        if (limit.equals("FIXED")) {
+            builder.fixedLimit(HIGH_LIMIT);
+        } else if (limit.equals("AIMD")) {
+            builder.aimdLimit(HIGH_LIMIT, HIGH_LIMIT);
+        } else {
+            builder.vegasLimit(HIGH_LIMIT, HIGH_LIMIT);
+        }
+        admittingBulkhead = builder.build();
+
+        fullBulkhead = Bulkhead.builder().fixedLimit(1).build();
+        CountDownLatch permitHeld = new CountDownLatch(1);
+        Thread holder = new Thread(() -> fullBulkhead.callCatchException(() -> {
+            permitHeld.countDown();
+            releaseFullBulkhead.await();
+            return null;
+        }));
+        holder.setDaemon(true);
+        holder.start();
+        permitHeld.await();
+    }
+
+    @TearDown
+    public void tearDown() {
+        releaseFullBulkhead.countDown();
+    }
+
+    @Benchmark
+    public Try<Integer> admittedSuccess() {
+        return admittingBulkhead.callCatchRuntime(succeedingCallable);
+    }
+
+    @Benchmark
+    public Try<Integer> fullRejection() {
+        return fullBulkhead.callCatchRuntime(succeedingCallable);
+    }
+}
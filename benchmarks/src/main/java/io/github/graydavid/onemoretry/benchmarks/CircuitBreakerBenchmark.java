@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.CircuitBreaker;
+import io.github.graydavid.onemoretry.Try;
+import io.github.graydavid.onemoretry.Try.RuntimeCallable;
+
+/**
+ * Measures a single CircuitBreaker shared by every benchmark thread, which is how breakers are used in practice. By
+ * default, this runs with as many threads as there are processors; to check the breaker under heavier contention, pass
+ * a thread count explicitly (e.g. "-t 200"). Compare the results with
+ * {@link TryCallBenchmark#callCatchRuntimeSuccess()} to see the breaker's overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class CircuitBreakerBenchmark {
+    @Param({"COUNT", "TIME"})
+    private String window;
+
+    private CircuitBreaker closedBreaker;
+    private CircuitBreaker openBreaker;
+
+    private final Integer value = 5;
+    private final RuntimeException failure = new IllegalStateException();
+    private final RuntimeCallable<Integer> succeedingCallable = () -> value;
+    // Fails 1% of the time: not enough to open the breaker, but enough to exercise the failure bookkeeping
+    private final RuntimeCallable<Integer> mostlySucceedingCallable = () -> {
+        if (ThreadLocalRandom.current().nextInt(100) == 0) {
+            throw failure;
+        }
+        return value;
+    };
+
+    @Setup
+    public void setUp() {
+        closedBreaker = newBuilder().build();
+        openBreaker = newBuilder().minimumCalls(1).openDuration(Duration.ofDays(1)).build();
+        openBreaker.callCatchRuntime(() -> {
+            throw failure;
+        });
+    }
+
+    private CircuitBreaker.Builder newBuilder() {
+        CircuitBreaker.Builder builder = CircuitBreaker.builder();
+        return window.equals("COUNT") ? builder.countBasedWindow(100)
+                : builder.timeBasedWindow(Duration.ofSeconds(10), 10);
+    }
+
+    @Benchmark
+    public Try<Integer> closedSuccess() {
+        return closedBreaker.callCatchRuntime(succeedingCallable);
+    }
+
+    @Benchmark
+    public Try<Integer> closedMostlySuccess() {
+        return closedBreaker.callCatchRuntime(mostlySucceedingCallable);
+    }
+
+    @Benchmark
+    public Try<Integer> openRejection() {
+        return openBreaker.callCatchRuntime(succeedingCallable);
+    }
+}
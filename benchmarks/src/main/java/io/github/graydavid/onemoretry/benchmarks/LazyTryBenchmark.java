@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.graydavid.onemoretry.LazyTry;
+import io.github.graydavid.onemoretry.Try;
+
+/**
+ * Compares computing an optional value eagerly with {@link Try#callCatchThrowable(Try.ThrowableCallable)} against
+ * wrapping it in a {@link LazyTry} that's never read, plus the cost of reading an already-computed LazyTry in both
+ * modes. The value stands in for an enrichment that takes a little while to compute.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LazyTryBenchmark {
+    private final LazyTry<Integer> evaluatedOnce = Try.lazy(LazyTryBenchmark::compute);
+    private final LazyTry<Integer> evaluatedRacy = Try.lazyRacy(LazyTryBenchmark::compute);
+
+    @Setup
+    public void setUp() {
+        evaluatedOnce.get();
+        evaluatedRacy.get();
+    }
+
+    private static Integer compute() {
+        Blackhole.consumeCPU(100);
+        return 5;
+    }
+
+    @Benchmark
+    public Try<Integer> eagerUnread() {
+        return Try.callCatchThrowable(LazyTryBenchmark::compute);
+    }
+
+    @Benchmark
+    public LazyTry<Integer> lazyUnread() {
+        return Try.lazy(LazyTryBenchmark::compute);
+    }
+
+    @Benchmark
+    public Integer lazyReadEvaluated() {
+        return evaluatedOnce.getNullableSuccess();
+    }
+
+    @Benchmark
+    public Integer lazyRacyReadEvaluated() {
+        return evaluatedRacy.getNullableSuccess();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.LongTry;
+import io.github.graydavid.onemoretry.Try;
+
+/**
+ * Compares parsing a long through Try, which boxes the result, with parsing it through LongTry, which doesn't, and
+ * through LongTry's OrDefault method, which doesn't create a LongTry either, with a plain try-catch block as the
+ * baseline. The parsed value is outside of Long's cache of small values, so every boxing allocates. Check
+ * "gc.alloc.rate.norm" to see which allocations escape analysis manages to remove.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveTryBenchmark {
+    private final String number = "1234567890";
+
+    @Benchmark
+    public long tryParse() {
+        return Try.callCatchRuntime(() -> Long.parseLong(number)).getOrRecover(failure -> -1L);
+    }
+
+    @Benchmark
+    public long longTryParse() {
+        return LongTry.callCatchRuntime(() -> Long.parseLong(number)).getOrRecover(failure -> -1L);
+    }
+
+    @Benchmark
+    public long longTryParseOrDefault() {
+        return LongTry.callCatchRuntimeOrDefault(() -> Long.parseLong(number), -1L, failure -> {});
+    }
+
+    @Benchmark
+    public long plainTryCatchParse() {
+        try {
+            return Long.parseLong(number);
+        } catch (RuntimeException e) {
+            return -1L;
+        }
+    }
+
+    @Benchmark
+    public Try<Long> tryParseEscaping() {
+        return Try.callCatchRuntime(() -> Long.parseLong(number));
+    }
+
+    @Benchmark
+    public LongTry longTryParseEscaping() {
+        return LongTry.callCatchRuntime(() -> Long.parseLong(number));
+    }
+}
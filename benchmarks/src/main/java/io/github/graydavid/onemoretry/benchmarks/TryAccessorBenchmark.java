@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Try;
+import io.github.graydavid.onemoretry.Try.ExceptionFunction;
+
+/**
+ * Measures the accessors, combinators and Object methods on already-created Trys, for both successes and failures. The
+ * failure is a checked exception, so that getOrThrowUnchecked includes the cost of wrapping it, which is what callers
+ * pay in practice. The mapThroughConvert benchmarks show the old way of mapping a Try, for comparison with map.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryAccessorBenchmark {
+    private final Exception failure = new Exception();
+    private final Try<Integer> success = Try.ofSuccess(5);
+    private final Try<Integer> equalSuccess = Try.ofSuccess(5);
+    private final Try<Integer> failed = Try.ofFailureSwallowingInterrupt(failure);
+    private final Try<Integer> equalFailed = Try.ofFailureSwallowingInterrupt(failure);
+    private final Function<Throwable, Integer> recovery = throwable -> 10;
+    private final BiFunction<Integer, Throwable, Boolean> converter = (value, throwable) -> throwable == null;
+    private final ExceptionFunction<Integer, Integer> mapper = value -> value + 1;
+    private final ExceptionFunction<Throwable, Integer> tryRecovery = throwable -> 10;
+    private final BiFunction<Integer, Throwable, Try<Integer>> mappingConverter = (value,
+            throwable) -> throwable == null ? Try.callCatchException(() -> mapper.apply(value))
+                    : Try.ofFailureSwallowingInterrupt(throwable);
+
+    @Benchmark
+    public Integer getOrThrowUncheckedSuccess() {
+        return success.getOrThrowUnchecked();
+    }
+
+    @Benchmark
+    public Object getOrThrowUncheckedFailure() {
+        try {
+            return failed.getOrThrowUnchecked();
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Integer getOrRecoverSuccess() {
+        return success.getOrRecover(recovery);
+    }
+
+    @Benchmark
+    public Integer getOrRecoverFailure() {
+        return failed.getOrRecover(recovery);
+    }
+
+    @Benchmark
+    public Boolean convertSuccess() {
+        return success.convert(converter);
+    }
+
+    @Benchmark
+    public Boolean convertFailure() {
+        return failed.convert(converter);
+    }
+
+    @Benchmark
+    public Try<Integer> mapSuccess() {
+        return success.map(mapper);
+    }
+
+    @Benchmark
+    public Try<Integer> mapFailure() {
+        return failed.map(mapper);
+    }
+
+    @Benchmark
+    public Try<Integer> mapThroughConvertSuccess() {
+        return success.convert(mappingConverter);
+    }
+
+    @Benchmark
+    public Try<Integer> mapThroughConvertFailure() {
+        return failed.convert(mappingConverter);
+    }
+
+    @Benchmark
+    public Try<Integer> recoverFailure() {
+        return failed.recover(tryRecovery);
+    }
+
+    @Benchmark
+    public boolean equalsSuccess() {
+        return success.equals(equalSuccess);
+    }
+
+    @Benchmark
+    public boolean equalsFailure() {
+        return failed.equals(equalFailed);
+    }
+
+    @Benchmark
+    public int hashCodeSuccess() {
+        return success.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeFailure() {
+        return failed.hashCode();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Try;
+
+/**
+ * Checks what the successful call*, run*, and *Unchecked paths allocate when the lambda is written at the call site,
+ * the way callers usually write it. Each method and its catch block is small enough to be inlined into the caller, so
+ * escape analysis can remove the capturing lambda. Read "gc.alloc.rate.norm" for each benchmark, which should be:
+ * <ul>
+ * <li>0 bytes/op for every run* method, for call* methods returning null, and for callUnchecked/runUnchecked, same as
+ * the plain try-catch baselines.
+ * <li>The size of a single Try (typically 16 or 24 bytes, depending on compressed oops) for call* methods returning a
+ * non-null value. The returned value itself is preallocated.
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryAllocationBenchmark {
+    private final Integer value = 5;
+    private int counter;
+
+    @Benchmark
+    public int plainTryCatchRun() {
+        try {
+            counter++;
+        } catch (RuntimeException e) {
+            counter--;
+        }
+        return counter;
+    }
+
+    @Benchmark
+    public Integer plainTryCatchCall() {
+        try {
+            return value;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Try<Void> runCatchRuntime() {
+        return Try.runCatchRuntime(() -> counter++);
+    }
+
+    @Benchmark
+    public Try<Void> runCatchException() {
+        return Try.runCatchException(() -> counter++);
+    }
+
+    @Benchmark
+    public Try<Void> runCatchThrowable() {
+        return Try.runCatchThrowable(() -> counter++);
+    }
+
+    @Benchmark
+    public int runUnchecked() {
+        Try.runUnchecked(() -> counter++);
+        return counter;
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchRuntime() {
+        return Try.callCatchRuntime(() -> value);
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchException() {
+        return Try.callCatchException(() -> value);
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchThrowable() {
+        return Try.callCatchThrowable(() -> value);
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchThrowableNull() {
+        return Try.callCatchThrowable(() -> null);
+    }
+
+    @Benchmark
+    public Integer callUnchecked() {
+        return Try.callUnchecked(() -> value);
+    }
+}
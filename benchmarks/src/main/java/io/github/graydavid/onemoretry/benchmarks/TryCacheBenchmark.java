@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Try;
+import io.github.graydavid.onemoretry.TryCache;
+
+/**
+ * Measures cache hits on a single TryCache shared by every benchmark thread, for both a cached success and a cached
+ * failure. Every thread reads the same keys, so this also shows that reads don't contend with each other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class TryCacheBenchmark {
+    private static final Integer SUCCEEDING_KEY = 1;
+    private static final Integer FAILING_KEY = 2;
+
+    private TryCache<Integer, Integer> cache;
+
+    @Setup
+    public void setUp() {
+        Exception failure = new Exception();
+        cache = TryCache.builder().successTtl(Duration.ofHours(1)).failureTtl(Duration.ofHours(1)).build(key -> {
+            if (key.equals(FAILING_KEY)) {
+                throw failure;
+            }
+            return key;
+        });
+        cache.get(SUCCEEDING_KEY);
+        cache.get(FAILING_KEY);
+    }
+
+    @Benchmark
+    public Try<Integer> hitSuccess() {
+        return cache.get(SUCCEEDING_KEY);
+    }
+
+    @Benchmark
+    public Try<Integer> hitFailure() {
+        return cache.get(FAILING_KEY);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Try;
+import io.github.graydavid.onemoretry.Try.ExceptionRunnable;
+import io.github.graydavid.onemoretry.Try.RuntimeCallable;
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+import io.github.graydavid.onemoretry.Try.ThrowableRunnable;
+
+/**
+ * Measures the call* and run* families against a plain try-catch block doing the same work, for both the success and
+ * failure paths. The callables and runnables are created once up front, so that the numbers don't include allocating a
+ * capturing lambda per call (which the caller may or may not be doing). Failures throw a preallocated exception, so
+ * that the numbers don't include filling in a stack trace.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryCallBenchmark {
+    private final Integer value = 5;
+    private final RuntimeException failure = new IllegalStateException();
+    private int counter;
+
+    private final RuntimeCallable<Integer> succeedingRuntimeCallable = () -> value;
+    private final Callable<Integer> succeedingCallable = () -> value;
+    private final ThrowableCallable<Integer> succeedingThrowableCallable = () -> value;
+    private final Runnable succeedingRunnable = () -> counter++;
+    private final ExceptionRunnable succeedingExceptionRunnable = () -> counter++;
+    private final ThrowableRunnable succeedingThrowableRunnable = () -> counter++;
+
+    private final RuntimeCallable<Integer> failingRuntimeCallable = () -> {
+        throw failure;
+    };
+    private final Callable<Integer> failingCallable = () -> {
+        throw failure;
+    };
+    private final ThrowableCallable<Integer> failingThrowableCallable = () -> {
+        throw failure;
+    };
+    private final Runnable failingRunnable = () -> {
+        throw failure;
+    };
+    private final ExceptionRunnable failingExceptionRunnable = () -> {
+        throw failure;
+    };
+    private final ThrowableRunnable failingThrowableRunnable = () -> {
+        throw failure;
+    };
+
+    @Benchmark
+    public Integer plainTryCatchSuccess() {
+        try {
+            return succeedingCallable.call();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Integer plainTryCatchFailure() {
+        try {
+            return failingCallable.call();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchRuntimeSuccess() {
+        return Try.callCatchRuntime(succeedingRuntimeCallable);
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchRuntimeFailure() {
+        return Try.callCatchRuntime(failingRuntimeCallable);
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchExceptionSuccess() {
+        return Try.callCatchException(succeedingCallable);
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchExceptionFailure() {
+        return Try.callCatchException(failingCallable);
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchThrowableSuccess() {
+        return Try.callCatchThrowable(succeedingThrowableCallable);
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchThrowableFailure() {
+        return Try.callCatchThrowable(failingThrowableCallable);
+    }
+
+    @Benchmark
+    public Try<Void> runCatchRuntimeSuccess() {
+        return Try.runCatchRuntime(succeedingRunnable);
+    }
+
+    @Benchmark
+    public Try<Void> runCatchRuntimeFailure() {
+        return Try.runCatchRuntime(failingRunnable);
+    }
+
+    @Benchmark
+    public Try<Void> runCatchExceptionSuccess() {
+        return Try.runCatchException(succeedingExceptionRunnable);
+    }
+
+    @Benchmark
+    public Try<Void> runCatchExceptionFailure() {
+        return Try.runCatchException(failingExceptionRunnable);
+    }
+
+    @Benchmark
+    public Try<Void> runCatchThrowableSuccess() {
+        return Try.runCatchThrowable(succeedingThrowableRunnable);
+    }
+
+    @Benchmark
+    public Try<Void> runCatchThrowableFailure() {
+        return Try.runCatchThrowable(failingThrowableRunnable);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Try;
+import io.github.graydavid.onemoretry.TryCollectors;
+
+/**
+ * Compares partitioning a list of Trys the way callers used to (through the Optionals from {@link Try#getSuccess()} and
+ * {@link Try#getFailure()}) against {@link TryCollectors#partitioning()}. One Try in ten is a failure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryCollectorsBenchmark {
+    @Param({"10000"})
+    private int size;
+
+    private List<Try<Integer>> trys;
+
+    @Setup
+    public void setUp() {
+        Exception failure = new Exception();
+        trys = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            trys.add(i % 10 == 9 ? Try.ofFailureSwallowingInterrupt(failure) : Try.ofSuccess(i));
+        }
+    }
+
+    @Benchmark
+    public Object partitionThroughOptionals() {
+        List<Integer> successes = trys.stream().filter(Try::isSuccess).map(t -> t.getSuccess().orElse(null))
+                .collect(Collectors.toList());
+        List<Throwable> failures = trys.stream().map(Try::getFailure).flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        return List.of(successes, failures);
+    }
+
+    @Benchmark
+    public Object partitioning() {
+        return trys.stream().collect(TryCollectors.partitioning());
+    }
+
+    @Benchmark
+    public Object countingFailuresByClass() {
+        return trys.stream().collect(TryCollectors.countingFailuresByClass());
+    }
+}
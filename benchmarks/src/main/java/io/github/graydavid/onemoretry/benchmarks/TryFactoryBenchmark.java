@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Try;
+
+/**
+ * Measures the cost of creating Trys directly through the static factory methods. Failures are created from a
+ * preallocated exception, so that the numbers reflect the cost of Try itself, except for
+ * {@link #ofFailurePreservingInterruptWithNewException()}, which shows what the typical caller pays once the exception
+ * has to be created, too. Compare ofFailureSwallowingInterruptWithNewException with the two stackless benchmarks to see
+ * how much of that cost is capturing the stack trace. Note that the stack here is shallow: the deeper the stack at the
+ * point of failure, the more a stackless failure saves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryFactoryBenchmark {
+    private final Integer value = 5;
+    private final RuntimeException failure = new IllegalStateException();
+    private final RuntimeException stacklessFailure = new Try.StacklessException("reason");
+
+    @Benchmark
+    public Try<Integer> ofSuccess() {
+        return Try.ofSuccess(value);
+    }
+
+    @Benchmark
+    public Try<Integer> ofSuccessNull() {
+        return Try.ofSuccess(null);
+    }
+
+    @Benchmark
+    public Try<Integer> ofFailureSwallowingInterrupt() {
+        return Try.ofFailureSwallowingInterrupt(failure);
+    }
+
+    @Benchmark
+    public Try<Integer> ofFailurePreservingInterrupt() {
+        return Try.ofFailurePreservingInterrupt(failure);
+    }
+
+    @Benchmark
+    public Try<Integer> ofFailurePreservingInterruptWithNewException() {
+        return Try.ofFailurePreservingInterrupt(new IllegalStateException());
+    }
+
+    @Benchmark
+    public Try<Integer> ofFailureSwallowingInterruptWithNewException() {
+        return Try.ofFailureSwallowingInterrupt(new IllegalStateException("reason"));
+    }
+
+    @Benchmark
+    public Try<Integer> ofStacklessFailure() {
+        return Try.ofStacklessFailure("reason");
+    }
+
+    @Benchmark
+    public Try<Integer> ofFailureSwallowingInterruptWithPreallocatedStacklessException() {
+        return Try.ofFailureSwallowingInterrupt(stacklessFailure);
+    }
+
+    @Benchmark
+    public Try<Integer> ofSwallowingInterruptSuccess() {
+        return Try.ofSwallowingInterrupt(value, null);
+    }
+
+    @Benchmark
+    public Try<Integer> ofSwallowingInterruptFailure() {
+        return Try.ofSwallowingInterrupt(null, failure);
+    }
+}
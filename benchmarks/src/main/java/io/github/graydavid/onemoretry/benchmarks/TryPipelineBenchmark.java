@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Try;
+import io.github.graydavid.onemoretry.TryPipeline;
+
+/**
+ * Compares running a record through four stages (decode, validate, enrich, persist) with a callCatchException per stage
+ * against running it through a {@link TryPipeline}, both to a Try and to a plain value with applyOrRecover. Check
+ * "gc.alloc.rate.norm" for the Trys saved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryPipelineBenchmark {
+    private final String record = "12345";
+    private final TryPipeline<String, Integer> pipeline = TryPipeline.<String>builder()
+            .then("decode", TryPipelineBenchmark::decode)
+            .then("validate", TryPipelineBenchmark::validate)
+            .then("enrich", TryPipelineBenchmark::enrich)
+            .then("persist", this::persist)
+            .build();
+    private int persisted;
+
+    private static Integer decode(String record) {
+        return Integer.parseInt(record);
+    }
+
+    private static Integer validate(Integer value) throws Exception {
+        if (value < 0) {
+            throw new Exception("Negative value: " + value);
+        }
+        return value;
+    }
+
+    private static Integer enrich(Integer value) {
+        return value * 2;
+    }
+
+    private Integer persist(Integer value) {
+        persisted = value;
+        return value;
+    }
+
+    @Benchmark
+    public Try<Integer> callCatchExceptionPerStage() {
+        Try<Integer> decoded = Try.callCatchException(() -> decode(record));
+        if (decoded.isFailure()) {
+            return decoded;
+        }
+        Try<Integer> validated = Try.callCatchException(() -> validate(decoded.getNullableSuccess()));
+        if (validated.isFailure()) {
+            return validated;
+        }
+        Try<Integer> enriched = Try.callCatchException(() -> enrich(validated.getNullableSuccess()));
+        if (enriched.isFailure()) {
+            return enriched;
+        }
+        return Try.callCatchException(() -> persist(enriched.getNullableSuccess()));
+    }
+
+    @Benchmark
+    public Try<Integer> pipelineApply() {
+        return pipeline.apply(record);
+    }
+
+    @Benchmark
+    public Integer pipelineApplyOrRecover() {
+        return pipeline.applyOrRecover(record, (stage, failure) -> -1);
+    }
+}
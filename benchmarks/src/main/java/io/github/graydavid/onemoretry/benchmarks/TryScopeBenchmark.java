@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.graydavid.onemoretry.Try;
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+import io.github.graydavid.onemoretry.TryScope;
+import io.github.graydavid.onemoretry.TryScope.Policy;
+
+/**
+ * Measures fanning out to a number of simulated IO calls (each a 1 ms sleep) with {@link TryScope}: once on its
+ * default executor (a virtual thread per subtask on JDK 21+) and once on a fixed pool sized for the available
+ * processors, which is what callers had to size by hand before. Run on JDK 11 and 21+ to compare the fallback with
+ * virtual threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TryScopeBenchmark {
+    @Param({"100", "1000"})
+    private int subtaskCount;
+
+    private List<ThrowableCallable<Integer>> callables;
+    private ExecutorService fixedPool;
+
+    @Setup
+    public void setUp() {
+        callables = new ArrayList<>(subtaskCount);
+        for (int i = 0; i < subtaskCount; ++i) {
+            int value = i;
+            callables.add(() -> {
+                TimeUnit.MILLISECONDS.sleep(1);
+                return value;
+            });
+        }
+        fixedPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixedPool.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Try<Integer>> defaultExecutor() {
+        return TryScope.callAll(callables, Policy.SHUTDOWN_ON_FAILURE);
+    }
+
+    @Benchmark
+    public List<Try<Integer>> fixedPool() {
+        return TryScope.callAll(callables, Policy.SHUTDOWN_ON_FAILURE, fixedPool);
+    }
+}
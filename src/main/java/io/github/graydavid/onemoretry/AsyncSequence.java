@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.graydavid.onemoretry.Try.ThrowableFunction;
+
+/**
+ * Implements the fail-fast async methods on Try (e.g. {@link Try#sequenceAsync(List)}): collects the results of a
+ * number of futures into a single future of a Try of a List, completing it with the first failure as soon as that
+ * happens and then cancelling every future that's still outstanding.
+ */
+final class AsyncSequence<T> {
+    // Replaces a future once it's complete, so that cancelling everything never interrupts a task that's finishing up
+    private static final Future<?> COMPLETED = CompletableFuture.completedFuture(null);
+
+    private final Object[] successes;
+    private final AtomicReferenceArray<Future<?>> futures;
+    private final AtomicInteger remaining;
+    private final CompletableFuture<Try<List<T>>> result = new CompletableFuture<>();
+
+    private AsyncSequence(int size) {
+        this.successes = new Object[size];
+        this.futures = new AtomicReferenceArray<>(size);
+        this.remaining = new AtomicInteger(size);
+        if (size == 0) {
+            result.complete(Try.ofSuccess(List.of()));
+        }
+        result.whenComplete((ignoreSequenced, ignoreFailure) -> {
+            if (isFailed()) {
+                cancelAll();
+            }
+        });
+    }
+
+    static <T> CompletableFuture<Try<List<T>>> sequence(
+            List<? extends CompletableFuture<? extends Try<? extends T>>> futures) {
+        AsyncSequence<T> sequence = new AsyncSequence<>(futures.size());
+        int index = 0;
+        for (CompletableFuture<? extends Try<? extends T>> future : futures) {
+            int futureIndex = index++;
+            sequence.record(futureIndex, future);
+            future.whenComplete((element, failure) -> sequence.complete(futureIndex,
+                    failure == null ? element : Try.ofFailureSwallowingInterrupt(Try.unwrapCompletion(failure))));
+        }
+        return sequence.result;
+    }
+
+    static <A, T> CompletableFuture<Try<List<T>>> traverse(Collection<? extends A> inputs,
+            ThrowableFunction<? super A, ? extends T> function, ExecutorService executor) {
+        AsyncSequence<T> sequence = new AsyncSequence<>(inputs.size());
+        int index = 0;
+        for (A input : inputs) {
+            // Once something has failed, the remaining inputs don't need to be started at all
+            if (sequence.result.isDone()) {
+                break;
+            }
+            int inputIndex = index++;
+            try {
+                Future<?> future = executor
+                        .submit(() -> sequence.complete(inputIndex, Try.applyCatchThrowable(function, input)));
+                sequence.record(inputIndex, future);
+            } catch (RejectedExecutionException e) {
+                sequence.complete(inputIndex, Try.ofFailureSwallowingInterrupt(e));
+            }
+        }
+        return sequence.result;
+    }
+
+    private void record(int index, Future<?> future) {
+        // Catch failures that happened before the future was recorded, unless this future is the one that completed
+        if (futures.compareAndSet(index, null, future) && isFailed()) {
+            future.cancel(true);
+        }
+    }
+
+    /** Returns whether the result is complete with a failure or was cancelled: i.e. whether to cancel the futures. */
+    private boolean isFailed() {
+        return result.isDone() && (result.isCompletedExceptionally() || result.join().isFailure());
+    }
+
+    private void complete(int index, Try<? extends T> element) {
+        futures.set(index, COMPLETED);
+        // Throwing here would just be swallowed by whenComplete, leaving the result to hang forever
+        Throwable failure = element == null
+                ? new NullPointerException("future at index " + index + " completed with a null Try")
+                : element.getNullableFailure();
+        if (failure != null) {
+            result.complete(Try.ofFailureSwallowingInterrupt(failure));
+            return;
+        }
+        successes[index] = element.getNullableSuccess();
+        // The atomic decrement also publishes every other thread's writes to successes to the last thread
+        if (remaining.decrementAndGet() == 0) {
+            result.complete(Try.ofSuccess(successList()));
+        }
+    }
+
+    // Suppress justify: successes only ever contains Ts (or nulls)
+    @SuppressWarnings("unchecked")
+    private List<T> successList() {
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(successes));
+    }
+
+    private void cancelAll() {
+        for (int i = 0; i < futures.length(); ++i) {
+            Future<?> future = futures.get(i);
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The compact result of running a batch of calls, as returned by {@link Try#callAll(List)} and
+ * {@link Try#mapEach(java.util.Collection, Try.ThrowableFunction)}. Logically, it's a list of Trys, one per call, in
+ * the same order as the calls. Physically, it's a single array of successes, a BitSet of which indices succeeded, and a
+ * map of failures keyed by index that's only populated for the calls that failed. Batches where nearly every call
+ * succeeds therefore cost little more than the array of successes, rather than a Try per call.
+ *
+ * Use the index-based accessors to avoid creating Trys; {@link #get(int)} and {@link #toList()} create them on demand.
+ */
+public final class BatchResult<T> {
+    private final Object[] successes;
+    private final Map<Integer, Throwable> failures;
+    private final BitSet successIndices;
+
+    /**
+     * @param successes the successes, indexed by call. Failed calls' entries must be null. This array is not copied,
+     *        so the caller must not modify it afterwards.
+     * @param failures the failures, keyed by index, or null if there were none. Not copied either.
+     */
+    BatchResult(Object[] successes, Map<Integer, Throwable> failures) {
+        this.successes = successes;
+        this.failures = failures == null ? Map.of() : Collections.unmodifiableMap(failures);
+        this.successIndices = new BitSet(successes.length);
+        successIndices.set(0, successes.length);
+        this.failures.keySet().forEach(successIndices::clear);
+    }
+
+    /** Records failure at index in failures, creating failures first if it's null. Returns the failures. */
+    static Map<Integer, Throwable> addFailure(Map<Integer, Throwable> failures, int index, Throwable failure) {
+        // Most batches have no failures, so only pay for a map once there's something to put in it
+        Map<Integer, Throwable> addable = failures == null ? new HashMap<>() : failures;
+        addable.put(index, failure);
+        return addable;
+    }
+
+    /** Returns the number of calls in the batch. */
+    public int size() {
+        return successes.length;
+    }
+
+    /** Returns the number of calls that succeeded. */
+    public int getSuccessCount() {
+        return successes.length - failures.size();
+    }
+
+    /** Returns the number of calls that failed. */
+    public int getFailureCount() {
+        return failures.size();
+    }
+
+    /** Returns whether every call succeeded. */
+    public boolean isAllSuccess() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Returns whether the call at index succeeded.
+     *
+     * @throws IndexOutOfBoundsException if index is negative or at least {@link #size()}.
+     */
+    public boolean isSuccess(int index) {
+        Objects.checkIndex(index, successes.length);
+        return successIndices.get(index);
+    }
+
+    /**
+     * Returns the success of the call at index, or null if it failed. Same as {@link Try#getNullableSuccess()}.
+     *
+     * @throws IndexOutOfBoundsException if index is negative or at least {@link #size()}.
+     */
+    // Suppress justify: only Ts (or nulls) are ever stored in successes
+    @SuppressWarnings("unchecked")
+    public T getNullableSuccess(int index) {
+        return (T) successes[index];
+    }
+
+    /**
+     * Returns the failure of the call at index, or null if it succeeded. Same as {@link Try#getNullableFailure()}.
+     *
+     * @throws IndexOutOfBoundsException if index is negative or at least {@link #size()}.
+     */
+    public Throwable getNullableFailure(int index) {
+        Objects.checkIndex(index, successes.length);
+        return failures.get(index);
+    }
+
+    /** Returns an unmodifiable map of every failure, keyed by the index of the call that failed. */
+    public Map<Integer, Throwable> getFailures() {
+        return failures;
+    }
+
+    /** Returns a new BitSet with the indices of the calls that succeeded set. */
+    public BitSet getSuccessIndices() {
+        return (BitSet) successIndices.clone();
+    }
+
+    /**
+     * Creates a Try for the call at index. The Try is created as per
+     * {@link Try#ofSwallowingInterrupt(Object, Throwable)}, since any interrupt was already handled when the call was
+     * made.
+     *
+     * @throws IndexOutOfBoundsException if index is negative or at least {@link #size()}.
+     */
+    public Try<T> get(int index) {
+        return Try.ofSwallowingInterrupt(getNullableSuccess(index), getNullableFailure(index));
+    }
+
+    /** Creates a list with a Try for each call, as per {@link #get(int)}. */
+    public List<Try<T>> toList() {
+        List<Try<T>> list = new ArrayList<>(successes.length);
+        for (int i = 0; i < successes.length; ++i) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult[size=%s,successCount=%s,failures=%s]", size(), getSuccessCount(), failures);
+    }
+}
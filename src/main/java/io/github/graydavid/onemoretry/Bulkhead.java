@@ -0,0 +1,426 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import io.github.graydavid.onemoretry.Try.RuntimeCallable;
+import io.github.graydavid.onemoretry.Try.StacklessException;
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+
+/**
+ * Caps the number of calls to a dependency that can be in flight at once, so that a slow dependency can't tie up every
+ * thread that calls it. A Bulkhead wraps the call* methods on Try. When the cap is reached, calls are rejected without
+ * being made: they return a preallocated failed Try whose failure is a {@link FullException}, either immediately or
+ * after waiting a bounded amount of time for a call to finish. Create instances with {@link #builder()}.
+ *
+ * The cap (the limit) is either fixed or adaptive. Adaptive limits adjust themselves based on each call's outcome
+ * (according to {@link Try#isSuccess()}) and latency, finding the concurrency a dependency can handle without queuing
+ * and shrinking as soon as it starts to struggle. See {@link Builder#aimdLimit(int, int)} and
+ * {@link Builder#vegasLimit(int, int)}.
+ *
+ * Any Throwable that a call* method propagates (e.g. an Error from {@link #callCatchException(Callable)}) is recorded
+ * as a failure before being propagated.
+ */
+public final class Bulkhead {
+    private final AdjustableSemaphore permits;
+    private final AtomicInteger limit;
+    private final Limit limitAlgorithm;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final Try<?> rejection;
+
+    private Bulkhead(Builder builder) {
+        this.limitAlgorithm = builder.limitFactory.get();
+        this.permits = new AdjustableSemaphore(builder.initialLimit);
+        this.limit = new AtomicInteger(builder.initialLimit);
+        this.maxWaitNanos = builder.maxWait.toNanos();
+        this.nanoClock = builder.nanoClock;
+        this.rejection = Try.ofFailureSwallowingInterrupt(new FullException(builder.name + " is full"));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Returns the current limit on the number of calls in flight. */
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /**
+     * Returns the approximate number of calls in flight. It's approximate because it can briefly be off while an
+     * adaptive limit is adjusted.
+     */
+    public int getInFlight() {
+        return Math.max(limit.get() - permits.availablePermits(), 0);
+    }
+
+    /**
+     * Same as {@link Try#callCatchRuntime(RuntimeCallable)}, except that callable is only called if this bulkhead has
+     * room for it; otherwise, the preallocated rejection Try is returned. If the current Thread is interrupted while
+     * waiting for room, callable isn't called, and the returned Try is a failure with the InterruptedException, with
+     * the interrupt status set again, as per {@link Try#ofFailurePreservingInterrupt(Throwable)}.
+     */
+    public <T> Try<T> callCatchRuntime(RuntimeCallable<T> callable) {
+        Try<T> refusal = acquirePermit();
+        if (refusal != null) {
+            return refusal;
+        }
+        long startNanos = startNanos();
+        boolean success = false;
+        try {
+            Try<T> result = Try.callCatchRuntime(callable);
+            success = result.isSuccess();
+            return result;
+        } finally {
+            releasePermit(startNanos, success);
+        }
+    }
+
+    /** The {@link Try#callCatchException(Callable)} version of {@link #callCatchRuntime(RuntimeCallable)}. */
+    public <T> Try<T> callCatchException(Callable<T> callable) {
+        Try<T> refusal = acquirePermit();
+        if (refusal != null) {
+            return refusal;
+        }
+        long startNanos = startNanos();
+        boolean success = false;
+        try {
+            Try<T> result = Try.callCatchException(callable);
+            success = result.isSuccess();
+            return result;
+        } finally {
+            releasePermit(startNanos, success);
+        }
+    }
+
+    /** The {@link Try#callCatchThrowable(ThrowableCallable)} version of {@link #callCatchRuntime(RuntimeCallable)}. */
+    public <T> Try<T> callCatchThrowable(ThrowableCallable<T> callable) {
+        Try<T> refusal = acquirePermit();
+        if (refusal != null) {
+            return refusal;
+        }
+        long startNanos = startNanos();
+        boolean success = false;
+        try {
+            Try<T> result = Try.callCatchThrowable(callable);
+            success = result.isSuccess();
+            return result;
+        } finally {
+            releasePermit(startNanos, success);
+        }
+    }
+
+    /** Returns null if a permit was acquired; otherwise, the Try to return instead of making the call. */
+    private <T> Try<T> acquirePermit() {
+        if (permits.tryAcquire()) {
+            return null;
+        }
+        if (maxWaitNanos == 0) {
+            return rejection();
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS) ? null : rejection();
+        } catch (InterruptedException e) {
+            return Try.ofFailurePreservingInterrupt(e);
+        }
+    }
+
+    // Suppress justify: the rejection has no success part, so it's a valid Try<T> for every T
+    @SuppressWarnings("unchecked")
+    private <T> Try<T> rejection() {
+        return (Try<T>) rejection;
+    }
+
+    private long startNanos() {
+        // Fixed limits don't need latencies, so save them the cost of reading the clock
+        return limitAlgorithm.usesLatency() ? nanoClock.getAsLong() : 0;
+    }
+
+    private void releasePermit(long startNanos, boolean success) {
+        if (limitAlgorithm.isAdaptive()) {
+            long latencyNanos = limitAlgorithm.usesLatency() ? nanoClock.getAsLong() - startNanos : 0;
+            adjustLimit(latencyNanos, success);
+        }
+        permits.release();
+    }
+
+    private void adjustLimit(long latencyNanos, boolean success) {
+        limitAlgorithm.observe(latencyNanos);
+        while (true) {
+            int currentLimit = limit.get();
+            int inFlight = currentLimit - permits.availablePermits();
+            int newLimit = limitAlgorithm.next(currentLimit, inFlight, latencyNanos, success);
+            if (newLimit == currentLimit) {
+                return;
+            }
+            if (limit.compareAndSet(currentLimit, newLimit)) {
+                permits.adjust(newLimit - currentLimit);
+                return;
+            }
+        }
+    }
+
+    /** A Semaphore whose number of permits can be adjusted in either direction, even while permits are held. */
+    private static final class AdjustableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        private AdjustableSemaphore(int permits) {
+            super(permits);
+        }
+
+        private void adjust(int delta) {
+            if (delta > 0) {
+                release(delta);
+            } else {
+                // Available permits can go negative, in which case releases pay back the debt before admitting calls
+                reducePermits(-delta);
+            }
+        }
+    }
+
+    /**
+     * An algorithm for the limit on calls in flight. Implementations must be thread-safe. {@link #next} may be called
+     * multiple times per sample, so any state it depends on must be updated in {@link #observe} instead.
+     */
+    private interface Limit {
+        boolean isAdaptive();
+
+        boolean usesLatency();
+
+        void observe(long latencyNanos);
+
+        int next(int limit, int inFlight, long latencyNanos, boolean success);
+    }
+
+    private static final class FixedLimit implements Limit {
+        @Override
+        public boolean isAdaptive() {
+            return false;
+        }
+
+        @Override
+        public boolean usesLatency() {
+            return false;
+        }
+
+        @Override
+        public void observe(long latencyNanos) {}
+
+        @Override
+        public int next(int limit, int inFlight, long latencyNanos, boolean success) {
+            return limit;
+        }
+    }
+
+    /**
+     * Additive-increase, multiplicative-decrease: each success while the limit is being used grows it by 1, and each
+     * failure shrinks it by a constant factor. Only outcomes matter; latency is ignored.
+     */
+    private static final class AimdLimit implements Limit {
+        private static final double BACKOFF_RATIO = 0.9;
+
+        private final int maxLimit;
+
+        private AimdLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        @Override
+        public boolean isAdaptive() {
+            return true;
+        }
+
+        @Override
+        public boolean usesLatency() {
+            return false;
+        }
+
+        @Override
+        public void observe(long latencyNanos) {}
+
+        @Override
+        public int next(int limit, int inFlight, long latencyNanos, boolean success) {
+            if (!success) {
+                return Math.max(1, (int) (limit * BACKOFF_RATIO));
+            }
+            return isUtilized(limit, inFlight) ? Math.min(limit + 1, maxLimit) : limit;
+        }
+    }
+
+    /**
+     * A limit's only worth growing if calls are actually using it. Otherwise, a lightly loaded bulkhead would grow its
+     * limit without bound, and it would take a long time to shrink again once the load arrived.
+     */
+    private static boolean isUtilized(int limit, int inFlight) {
+        return inFlight * 2 >= limit;
+    }
+
+    /**
+     * Based on TCP Vegas: estimates how many calls are queued inside the dependency by comparing each call's latency
+     * with the lowest latency seen (the latency without any queuing). The limit grows while the estimated queue is
+     * small and shrinks once it gets large, or when calls fail. The lowest latency is re-measured every so often, so
+     * that the limit can recover if the dependency gets permanently slower.
+     */
+    private static final class VegasLimit implements Limit {
+        private static final int SAMPLES_PER_PROBE = 1000;
+
+        private final int maxLimit;
+        private final AtomicLong noLoadLatencyNanos = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong samples = new AtomicLong();
+
+        private VegasLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        @Override
+        public boolean isAdaptive() {
+            return true;
+        }
+
+        @Override
+        public boolean usesLatency() {
+            return true;
+        }
+
+        @Override
+        public void observe(long latencyNanos) {
+            if (samples.incrementAndGet() % SAMPLES_PER_PROBE == 0) {
+                noLoadLatencyNanos.set(latencyNanos);
+            } else {
+                noLoadLatencyNanos.accumulateAndGet(latencyNanos, Math::min);
+            }
+        }
+
+        @Override
+        public int next(int limit, int inFlight, long latencyNanos, boolean success) {
+            // Thresholds grow slowly with the limit, so that large limits aren't adjusted in tiny, noisy steps
+            int step = Math.max(1, (int) Math.log10(limit));
+            if (!success) {
+                return Math.max(1, limit - step);
+            }
+            if (latencyNanos <= 0) {
+                return limit;
+            }
+            double queued = Math.ceil(limit * (1 - (double) noLoadLatencyNanos.get() / latencyNanos));
+            if (queued < 3 * step) {
+                return isUtilized(limit, inFlight) ? Math.min(limit + step, maxLimit) : limit;
+            }
+            if (queued > 6 * step) {
+                return Math.max(1, limit - step);
+            }
+            return limit;
+        }
+    }
+
+    /**
+     * The failure for calls rejected by a full Bulkhead. Each bulkhead preallocates a single instance and a single
+     * failed Try containing it, so rejecting a call doesn't allocate anything.
+     */
+    public static class FullException extends StacklessException {
+        private static final long serialVersionUID = 1L;
+
+        private FullException(String reason) {
+            super(reason);
+        }
+    }
+
+    /** A builder of Bulkhead. All settings are optional and have the defaults documented on their setters. */
+    public static final class Builder {
+        private String name = "Bulkhead";
+        private Duration maxWait = Duration.ZERO;
+        private int initialLimit = 20;
+        private Supplier<Limit> limitFactory = FixedLimit::new;
+        private LongSupplier nanoClock = System::nanoTime;
+
+        private Builder() {}
+
+        /** A name identifying the bulkhead in the message of its FullException. Defaults to "Bulkhead". */
+        public Builder name(String name) {
+            this.name = Objects.requireNonNull(name, "name");
+            return this;
+        }
+
+        /**
+         * How long a call waits for room before being rejected. Must not be negative. Defaults to zero, which rejects
+         * calls immediately, shedding load before queues build up.
+         */
+        public Builder maxWait(Duration maxWait) {
+            Objects.requireNonNull(maxWait, "maxWait");
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait must not be negative: " + maxWait);
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /** Makes the limit fixed. This is the default, with a limit of 20. Must be at least 1. */
+        public Builder fixedLimit(int limit) {
+            this.initialLimit = requirePositive(limit, "limit");
+            this.limitFactory = FixedLimit::new;
+            return this;
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be at least 1: " + value);
+            }
+            return value;
+        }
+
+        /**
+         * Makes the limit adapt based on outcomes alone, using additive-increase, multiplicative-decrease (AIMD): each
+         * successful call grows the limit by 1, while each failure shrinks it by 10%. The limit starts at initialLimit
+         * and never exceeds maxLimit. Choose this when failures (e.g. timeouts or rejections from the dependency) are
+         * the best signal of overload.
+         */
+        public Builder aimdLimit(int initialLimit, int maxLimit) {
+            setAdaptiveLimits(initialLimit, maxLimit);
+            this.limitFactory = () -> new AimdLimit(maxLimit);
+            return this;
+        }
+
+        private void setAdaptiveLimits(int initialLimit, int maxLimit) {
+            requirePositive(initialLimit, "initialLimit");
+            if (maxLimit < initialLimit) {
+                throw new IllegalArgumentException(
+                        "maxLimit must be at least initialLimit (" + initialLimit + "): " + maxLimit);
+            }
+            this.initialLimit = initialLimit;
+        }
+
+        /**
+         * Makes the limit adapt based on latency as well as outcomes, in the style of TCP Vegas: the limit grows while
+         * call latencies stay close to the lowest latency seen, and shrinks once latencies rise, which indicates that
+         * calls are queuing inside the dependency. Failures shrink the limit, too. The limit starts at initialLimit
+         * and never exceeds maxLimit. Choose this to find a dependency's capacity before it starts failing.
+         */
+        public Builder vegasLimit(int initialLimit, int maxLimit) {
+            setAdaptiveLimits(initialLimit, maxLimit);
+            this.limitFactory = () -> new VegasLimit(maxLimit);
+            return this;
+        }
+
+        Builder nanoClock(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        public Bulkhead build() {
+            return new Bulkhead(this);
+        }
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import io.github.graydavid.onemoretry.Try.RuntimeCallable;
+import io.github.graydavid.onemoretry.Try.StacklessException;
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+
+/**
+ * Stops calling a dependency that keeps failing. A CircuitBreaker wraps the call* methods on Try and records whether
+ * each resulting Try is a success in a sliding window. While the breaker is closed, calls go through as normal. Once
+ * the failure rate in the window reaches a threshold, the breaker opens, and calls are rejected without being made:
+ * they immediately return a preallocated failed Try whose failure is an {@link OpenException}. After a while, the
+ * breaker lets a few trial calls through (half-open): if they all succeed, it closes again; if any fail, it reopens.
+ * If the trial calls haven't all finished by the half-open timeout (e.g. because one of them is stuck), it reopens too.
+ * Create instances with {@link #builder()}.
+ *
+ * The breaker is designed to be shared by every thread calling the same dependency. Its state is held in atomic
+ * variables rather than behind locks, and the sliding windows are lock-free ring buffers. With the count-based window,
+ * a closed breaker that sees a successful call does a volatile read and two atomic operations: an increment of the
+ * window's shared index, which every recording thread contends on, and a swap of the ring slot that index picks, which
+ * concurrent threads rarely share. For the highest contention, prefer the time-based window, which counts outcomes with
+ * LongAdders instead of a shared index.
+ *
+ * Any Throwable that a call* method propagates (e.g. an Error from {@link #callCatchException(Callable)}) is recorded
+ * as a failure before being propagated.
+ */
+public final class CircuitBreaker {
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final long halfOpenTimeoutNanos;
+    private final Supplier<OutcomeWindow> windowFactory;
+    private final LongSupplier nanoClock;
+    private final Try<?> rejection;
+    private final AtomicReference<Phase> phase;
+
+    private CircuitBreaker(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.minimumCalls = builder.minimumCalls;
+        this.openNanos = builder.openDuration.toNanos();
+        this.halfOpenCalls = builder.halfOpenCalls;
+        this.halfOpenTimeoutNanos = Deadline.cappedNanos(builder.halfOpenTimeout);
+        this.windowFactory = builder.windowFactory;
+        this.nanoClock = builder.nanoClock;
+        this.rejection = Try.ofFailureSwallowingInterrupt(new OpenException(builder.name + " is open"));
+        this.phase = new AtomicReference<>(Phase.closed(windowFactory.get()));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** The states that a CircuitBreaker can be in. */
+    public enum State {
+        /** Calls are made and their outcomes recorded. */
+        CLOSED,
+        /** Calls are rejected without being made. */
+        OPEN,
+        /** A limited number of trial calls are made to decide whether to close or reopen; the rest are rejected. */
+        HALF_OPEN
+    }
+
+    /**
+     * Returns the current state. Note: an open breaker only becomes half-open when the first call after its open
+     * duration is made, so it can report being open for a while after that duration.
+     */
+    public State getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * Same as {@link Try#callCatchRuntime(RuntimeCallable)}, except that callable is only called if this breaker
+     * permits it; otherwise, the preallocated rejection Try is returned.
+     */
+    public <T> Try<T> callCatchRuntime(RuntimeCallable<T> callable) {
+        Phase permittingPhase = acquirePermission();
+        if (permittingPhase == null) {
+            return rejection();
+        }
+        boolean success = false;
+        try {
+            Try<T> result = Try.callCatchRuntime(callable);
+            success = result.isSuccess();
+            return result;
+        } finally {
+            record(permittingPhase, success);
+        }
+    }
+
+    /** The {@link Try#callCatchException(Callable)} version of {@link #callCatchRuntime(RuntimeCallable)}. */
+    public <T> Try<T> callCatchException(Callable<T> callable) {
+        Phase permittingPhase = acquirePermission();
+        if (permittingPhase == null) {
+            return rejection();
+        }
+        boolean success = false;
+        try {
+            Try<T> result = Try.callCatchException(callable);
+            success = result.isSuccess();
+            return result;
+        } finally {
+            record(permittingPhase, success);
+        }
+    }
+
+    /** The {@link Try#callCatchThrowable(ThrowableCallable)} version of {@link #callCatchRuntime(RuntimeCallable)}. */
+    public <T> Try<T> callCatchThrowable(ThrowableCallable<T> callable) {
+        Phase permittingPhase = acquirePermission();
+        if (permittingPhase == null) {
+            return rejection();
+        }
+        boolean success = false;
+        try {
+            Try<T> result = Try.callCatchThrowable(callable);
+            success = result.isSuccess();
+            return result;
+        } finally {
+            record(permittingPhase, success);
+        }
+    }
+
+    // Suppress justify: the rejection has no success part, so it's a valid Try<T> for every T
+    @SuppressWarnings("unchecked")
+    private <T> Try<T> rejection() {
+        return (Try<T>) rejection;
+    }
+
+    /** Returns the phase that permitted a call to be made, or null if the call should be rejected. */
+    private Phase acquirePermission() {
+        Phase current = phase.get();
+        if (current.state == State.OPEN) {
+            long nowNanos = nanoClock.getAsLong();
+            if (nowNanos - current.sinceNanos < openNanos) {
+                return null;
+            }
+            Phase halfOpen = Phase.halfOpen(halfOpenCalls, nowNanos);
+            current = phase.compareAndSet(current, halfOpen) ? halfOpen : phase.get();
+        }
+
+        switch (current.state) {
+            case CLOSED:
+                return current;
+            case HALF_OPEN:
+                if (acquireHalfOpenPermit(current)) {
+                    return current;
+                }
+                long nowNanos = nanoClock.getAsLong();
+                if (nowNanos - current.sinceNanos >= halfOpenTimeoutNanos) {
+                    phase.compareAndSet(current, Phase.open(nowNanos));
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Takes one of halfOpen's permits if there are any left. Decrements only while the count is positive, so that the
+     * calls rejected while the trial calls are in progress can't drive the count down until it wraps around.
+     */
+    private static boolean acquireHalfOpenPermit(Phase halfOpen) {
+        while (true) {
+            int permits = halfOpen.halfOpenPermits.get();
+            if (permits <= 0) {
+                return false;
+            }
+            if (halfOpen.halfOpenPermits.compareAndSet(permits, permits - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Returns the number of trial calls that the breaker would still permit, or -1 if it isn't half-open. */
+    int remainingHalfOpenPermits() {
+        Phase current = phase.get();
+        return current.state == State.HALF_OPEN ? current.halfOpenPermits.get() : -1;
+    }
+
+    private void record(Phase permittingPhase, boolean success) {
+        // Outcomes from calls permitted by an earlier phase are ignored: they no longer say anything about the current
+        if (permittingPhase.state == State.CLOSED) {
+            permittingPhase.window.record(success);
+            if (!success && permittingPhase.window.hasFailureRateOfAtLeast(failureRateThreshold, minimumCalls)) {
+                phase.compareAndSet(permittingPhase, Phase.open(nanoClock.getAsLong()));
+            }
+        } else if (!success) {
+            phase.compareAndSet(permittingPhase, Phase.open(nanoClock.getAsLong()));
+        } else if (permittingPhase.halfOpenSuccesses.incrementAndGet() >= halfOpenCalls) {
+            phase.compareAndSet(permittingPhase, Phase.closed(windowFactory.get()));
+        }
+    }
+
+    /**
+     * An immutable snapshot of which state the breaker is in, along with the bookkeeping specific to that state. Each
+     * state transition replaces the whole phase, which lets transitions be atomic without locking.
+     */
+    private static final class Phase {
+        private final State state;
+        private final OutcomeWindow window;
+        private final long sinceNanos;
+        private final AtomicInteger halfOpenPermits;
+        private final AtomicInteger halfOpenSuccesses;
+
+        private Phase(State state, OutcomeWindow window, long sinceNanos, AtomicInteger halfOpenPermits,
+                AtomicInteger halfOpenSuccesses) {
+            this.state = state;
+            this.window = window;
+            this.sinceNanos = sinceNanos;
+            this.halfOpenPermits = halfOpenPermits;
+            this.halfOpenSuccesses = halfOpenSuccesses;
+        }
+
+        private static Phase closed(OutcomeWindow window) {
+            return new Phase(State.CLOSED, window, 0, null, null);
+        }
+
+        private static Phase open(long openedAtNanos) {
+            return new Phase(State.OPEN, null, openedAtNanos, null, null);
+        }
+
+        private static Phase halfOpen(int permits, long sinceNanos) {
+            return new Phase(State.HALF_OPEN, null, sinceNanos, new AtomicInteger(permits), new AtomicInteger());
+        }
+    }
+
+    /** Records the outcomes of calls and answers whether enough of them failed. Implementations must be lock-free. */
+    private interface OutcomeWindow {
+        void record(boolean success);
+
+        boolean hasFailureRateOfAtLeast(double threshold, int minimumCalls);
+    }
+
+    /** A window of the last N outcomes, stored in a ring buffer that's indexed by a single shared counter. */
+    private static final class CountWindow implements OutcomeWindow {
+        private static final int EMPTY = 0;
+        private static final int SUCCESS = 1;
+        private static final int FAILURE = 2;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong recorded = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private CountWindow(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        @Override
+        public void record(boolean success) {
+            int slot = (int) (recorded.getAndIncrement() % outcomes.length());
+            int outcome = success ? SUCCESS : FAILURE;
+            int replaced = outcomes.getAndSet(slot, outcome);
+            // Only touch the shared failure count when it actually changes, which is rare when most calls succeed
+            if (outcome == FAILURE && replaced != FAILURE) {
+                failures.incrementAndGet();
+            } else if (outcome != FAILURE && replaced == FAILURE) {
+                failures.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean hasFailureRateOfAtLeast(double threshold, int minimumCalls) {
+            long calls = Math.min(recorded.get(), outcomes.length());
+            return calls >= minimumCalls && failures.get() >= threshold * calls;
+        }
+    }
+
+    /**
+     * A window of the outcomes within the last duration, split into buckets. Each bucket covers a fixed slice of time
+     * and counts its outcomes with LongAdders, so concurrent recorders rarely contend. When a bucket's slot comes
+     * around again, the stale bucket is replaced with a fresh one. An outcome recorded concurrently with that
+     * replacement may be lost, which is an acceptable inaccuracy for deciding whether to open a breaker.
+     */
+    private static final class TimeWindow implements OutcomeWindow {
+        private final AtomicReferenceArray<Bucket> buckets;
+        private final long bucketNanos;
+        private final LongSupplier nanoClock;
+
+        private TimeWindow(long windowNanos, int bucketCount, LongSupplier nanoClock) {
+            this.buckets = new AtomicReferenceArray<>(bucketCount);
+            this.bucketNanos = Math.max(1, windowNanos / bucketCount);
+            this.nanoClock = nanoClock;
+        }
+
+        @Override
+        public void record(boolean success) {
+            Bucket bucket = currentBucket(Math.floorDiv(nanoClock.getAsLong(), bucketNanos));
+            (success ? bucket.successes : bucket.failures).increment();
+        }
+
+        private Bucket currentBucket(long epoch) {
+            int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.epoch == epoch) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(epoch);
+            return buckets.compareAndSet(slot, bucket, fresh) ? fresh : buckets.get(slot);
+        }
+
+        @Override
+        public boolean hasFailureRateOfAtLeast(double threshold, int minimumCalls) {
+            long currentEpoch = Math.floorDiv(nanoClock.getAsLong(), bucketNanos);
+            long successes = 0;
+            long failures = 0;
+            for (int i = 0; i < buckets.length(); ++i) {
+                Bucket bucket = buckets.get(i);
+                if (bucket != null && currentEpoch - bucket.epoch < buckets.length()) {
+                    successes += bucket.successes.sum();
+                    failures += bucket.failures.sum();
+                }
+            }
+            long calls = successes + failures;
+            return calls >= minimumCalls && failures >= threshold * calls;
+        }
+
+        private static final class Bucket {
+            private final long epoch;
+            private final LongAdder successes = new LongAdder();
+            private final LongAdder failures = new LongAdder();
+
+            private Bucket(long epoch) {
+                this.epoch = epoch;
+            }
+        }
+    }
+
+    /**
+     * The failure for calls rejected by an open (or half-open) CircuitBreaker. Each breaker preallocates a single
+     * instance and a single failed Try containing it, so rejecting a call doesn't allocate anything.
+     */
+    public static class OpenException extends StacklessException {
+        private static final long serialVersionUID = 1L;
+
+        private OpenException(String reason) {
+            super(reason);
+        }
+    }
+
+    /** A builder of CircuitBreaker. All settings are optional and have the defaults documented on their setters. */
+    public static final class Builder {
+        private String name = "CircuitBreaker";
+        private double failureRateThreshold = 0.5;
+        private int minimumCalls = 20;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 5;
+        private Duration halfOpenTimeout = Duration.ofMinutes(1);
+        private LongSupplier nanoClock = System::nanoTime;
+        private Supplier<OutcomeWindow> windowFactory = () -> new CountWindow(100);
+
+        private Builder() {}
+
+        /** A name identifying the breaker in the message of its OpenException. Defaults to "CircuitBreaker". */
+        public Builder name(String name) {
+            this.name = Objects.requireNonNull(name, "name");
+            return this;
+        }
+
+        /**
+         * The fraction of calls in the window that must fail for the breaker to open. Must be greater than 0.0 and at
+         * most 1.0. Defaults to 0.5.
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (!(failureRateThreshold > 0.0 && failureRateThreshold <= 1.0)) {
+                throw new IllegalArgumentException(
+                        "failureRateThreshold must be greater than 0.0 and at most 1.0: " + failureRateThreshold);
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * The minimum number of calls that must be in the window before the failure rate is considered, so that a few
+         * early failures don't open the breaker. Must be at least 1. Defaults to 20.
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = requirePositive(minimumCalls, "minimumCalls");
+            return this;
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be at least 1: " + value);
+            }
+            return value;
+        }
+
+        /**
+         * How long the breaker stays open before allowing trial calls. Must not be negative. Defaults to 30 seconds.
+         */
+        public Builder openDuration(Duration openDuration) {
+            Objects.requireNonNull(openDuration, "openDuration");
+            if (openDuration.isNegative()) {
+                throw new IllegalArgumentException("openDuration must not be negative: " + openDuration);
+            }
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * The number of trial calls permitted while half-open. All of them must succeed for the breaker to close. Must
+         * be at least 1. Defaults to 5.
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = requirePositive(halfOpenCalls, "halfOpenCalls");
+            return this;
+        }
+
+        /**
+         * How long the breaker stays half-open waiting for its trial calls to finish. Once the timeout passes, the next
+         * call that's rejected for lack of a trial permit reopens the breaker, so that a stuck trial call can't keep it
+         * half-open (and rejecting everything) forever. Must be positive. Defaults to 1 minute.
+         */
+        public Builder halfOpenTimeout(Duration halfOpenTimeout) {
+            Objects.requireNonNull(halfOpenTimeout, "halfOpenTimeout");
+            if (halfOpenTimeout.isNegative() || halfOpenTimeout.isZero()) {
+                throw new IllegalArgumentException("halfOpenTimeout must be positive: " + halfOpenTimeout);
+            }
+            this.halfOpenTimeout = halfOpenTimeout;
+            return this;
+        }
+
+        /** Makes the window the outcomes of the last size calls. This is the default, with a size of 100. */
+        public Builder countBasedWindow(int size) {
+            requirePositive(size, "size");
+            this.windowFactory = () -> new CountWindow(size);
+            return this;
+        }
+
+        /**
+         * Makes the window the outcomes of the calls in the last length of time, tracked in the given number of
+         * buckets. Outcomes age out of the window a whole bucket at a time, so more buckets make the window slide more
+         * smoothly, at the cost of a little more work when a failure is recorded.
+         */
+        public Builder timeBasedWindow(Duration length, int buckets) {
+            Objects.requireNonNull(length, "length");
+            if (length.isNegative() || length.isZero()) {
+                throw new IllegalArgumentException("length must be positive: " + length);
+            }
+            requirePositive(buckets, "buckets");
+            long lengthNanos = length.toNanos();
+            this.windowFactory = () -> new TimeWindow(lengthNanos, buckets, nanoClock);
+            return this;
+        }
+
+        Builder nanoClock(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A point in time by which something must finish, measured with {@link System#nanoTime()}, so that it's unaffected by
+ * changes to the wall clock. Create instances with {@link #after(Duration)}.
+ *
+ * While a call made by {@link Try#callCatchThrowable(Try.ThrowableCallable, Deadline)} is running, its deadline is the
+ * {@link #current()} deadline of the thread running it. That's how deadlines are inherited: a nested call with a
+ * timeout of its own is bounded by whichever of the two deadlines is earlier, so it only gets the remaining budget of
+ * the call it's nested in.
+ */
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    // nanoTime values can only be compared by subtraction, which overflows for differences beyond Long.MAX_VALUE
+    private static final long MAX_TIMEOUT_NANOS = Long.MAX_VALUE / 2;
+    private static final Duration MAX_TIMEOUT = Duration.ofNanos(MAX_TIMEOUT_NANOS);
+
+    private final long nanoTime;
+
+    private Deadline(long nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Creates a deadline that expires timeout from now. Negative timeouts create already-expired deadlines. Timeouts
+     * beyond roughly 146 years are capped there.
+     */
+    public static Deadline after(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        return new Deadline(System.nanoTime() + cappedNanos(timeout));
+    }
+
+    /** Converts timeout to nanoseconds, capped to a magnitude that can safely be added to a nanoTime value. */
+    static long cappedNanos(Duration timeout) {
+        if (timeout.compareTo(MAX_TIMEOUT) > 0) {
+            return MAX_TIMEOUT_NANOS;
+        }
+        if (timeout.compareTo(MAX_TIMEOUT.negated()) < 0) {
+            return -MAX_TIMEOUT_NANOS;
+        }
+        return timeout.toNanos();
+    }
+
+    /**
+     * Returns the deadline of the call the current thread is running on behalf of, if any. Code that makes its own
+     * blocking calls can use this to bound them by the remaining budget.
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /** Returns the earlier of this deadline and the current thread's {@link #current()} deadline, if any. */
+    Deadline inheriting() {
+        Deadline current = CURRENT.get();
+        return current == null ? this : earlierOf(current);
+    }
+
+    /** Returns whichever of this deadline and other expires first. */
+    public Deadline earlierOf(Deadline other) {
+        return nanoTime - other.nanoTime <= 0 ? this : other;
+    }
+
+    /** Returns how long is left before this deadline expires, or zero if it already has. */
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    long remainingNanos() {
+        return Math.max(nanoTime - System.nanoTime(), 0);
+    }
+
+    /** Returns whether this deadline has expired. */
+    public boolean isExpired() {
+        return remainingNanos() == 0;
+    }
+
+    /** Gets supplier's result with this deadline as the current thread's {@link #current()} deadline. */
+    <T> T getAsCurrent(Supplier<T> supplier) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remaining() + "]";
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the executor used by methods that run code asynchronously when callers don't supply an executor themselves.
+ * Most of that code is expected to block (that's usually why it's being run asynchronously), so the executor creates a
+ * thread per task rather than sharing a small, fixed pool: a virtual thread per task when running on a JDK that
+ * supports them (21+); otherwise, a cached pool of daemon platform threads.
+ */
+final class DefaultExecutors {
+    private static final ExecutorService ASYNC = createAsync();
+
+    private DefaultExecutors() {}
+
+    static ExecutorService async() {
+        return ASYNC;
+    }
+
+    private static ExecutorService createAsync() {
+        // This library targets JDK 11, so virtual threads can only be accessed reflectively. On JDK 21+, the
+        // multi-release jar's META-INF/versions/21 copy of this class (from src/main/java21) is loaded instead, so
+        // this only runs there when the classes are used outside of the jar (e.g. in this project's own tests).
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "one-more-try-async-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
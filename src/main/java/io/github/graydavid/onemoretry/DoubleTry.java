@@ -0,0 +1,265 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The double-specialized version of {@link Try}: a success holds a primitive double rather than a boxed Double, so code
+ * that produces doubles in a tight loop (e.g. parsing) doesn't box every value. Otherwise, DoubleTry follows the same
+ * rules as Try, including which Throwables each call* method catches and how InterruptedExceptions affect the Thread's
+ * interrupt status. Use {@link #toTry()} to pass a DoubleTry to code that expects a Try.
+ */
+public final class DoubleTry {
+    private final double success;
+    private final Throwable failure;
+
+    private DoubleTry(double success, Throwable failure) {
+        this.success = success;
+        this.failure = failure;
+    }
+
+    /** The double version of {@link Try#ofSuccess(Object)}. */
+    public static DoubleTry ofSuccess(double success) {
+        return new DoubleTry(success, null);
+    }
+
+    /** The double version of {@link Try#ofFailureSwallowingInterrupt(Throwable)}. */
+    public static DoubleTry ofFailureSwallowingInterrupt(Throwable failure) {
+        if (failure == null) {
+            throw new NullPointerException("failure must not be null");
+        }
+        return new DoubleTry(0, failure);
+    }
+
+    /** The double version of {@link Try#ofFailurePreservingInterrupt(Throwable)}. */
+    public static DoubleTry ofFailurePreservingInterrupt(Throwable failure) {
+        Try.preserveInterrupt(failure);
+        return ofFailureSwallowingInterrupt(failure);
+    }
+
+    /** The double version of {@link Try#callCatchRuntime(Try.RuntimeCallable)}. */
+    public static DoubleTry callCatchRuntime(RuntimeDoubleCallable callable) {
+        long start = TryEvents.start();
+        double success;
+        try {
+            success = callable.call();
+        } catch (RuntimeException e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailureSwallowingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The double version of {@link Try.RuntimeCallable}. */
+    @FunctionalInterface
+    public interface RuntimeDoubleCallable {
+        double call();
+    }
+
+    /** The double version of {@link Try#callCatchException(Callable)}. */
+    public static DoubleTry callCatchException(ExceptionDoubleCallable callable) {
+        long start = TryEvents.start();
+        double success;
+        try {
+            success = callable.call();
+        } catch (Exception e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The double version of {@link Callable}. */
+    @FunctionalInterface
+    public interface ExceptionDoubleCallable {
+        double call() throws Exception;
+    }
+
+    /** The double version of {@link Try#callCatchThrowable(Try.ThrowableCallable)}. */
+    public static DoubleTry callCatchThrowable(ThrowableDoubleCallable callable) {
+        long start = TryEvents.start();
+        double success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The double version of {@link Try.ThrowableCallable}. */
+    @FunctionalInterface
+    public interface ThrowableDoubleCallable {
+        double call() throws Throwable;
+    }
+
+    /**
+     * The double version of {@link Try#callCatchRuntimeOrDefault(Try.RuntimeCallable, Object, Consumer)}: neither
+     * creates a DoubleTry nor boxes anything, so the JIT can usually reduce it to the try-catch block it's made of.
+     */
+    public static double callCatchRuntimeOrDefault(RuntimeDoubleCallable callable, double defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        double success;
+        try {
+            success = callable.call();
+        } catch (RuntimeException e) {
+            TryEvents.failed(callable, e, start);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** The double version of {@link Try#callCatchExceptionOrDefault(Callable, Object, Consumer)}. */
+    public static double callCatchExceptionOrDefault(ExceptionDoubleCallable callable, double defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        double success;
+        try {
+            success = callable.call();
+        } catch (Exception e) {
+            TryEvents.failed(callable, e, start);
+            Try.preserveInterrupt(e);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** The double version of {@link Try#callCatchThrowableOrDefault(Try.ThrowableCallable, Object, Consumer)}. */
+    public static double callCatchThrowableOrDefault(ThrowableDoubleCallable callable, double defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        double success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            Try.preserveInterrupt(e);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** Gets the successful part of this DoubleTry, if present. Same as {@link Try#getSuccess()}. */
+    public OptionalDouble getSuccess() {
+        return isSuccess() ? OptionalDouble.of(success) : OptionalDouble.empty();
+    }
+
+    /** Same as {@link Try#getFailure()}. */
+    public Optional<Throwable> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    /** Same as {@link Try#getNullableFailure()}. */
+    public Throwable getNullableFailure() {
+        return failure;
+    }
+
+    /** Returns whether or not this DoubleTry was successful. */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /** Returns whether or not this DoubleTry was a failure. */
+    public boolean isFailure() {
+        return !isSuccess();
+    }
+
+    /** The double version of {@link Try#getOrThrowUnchecked()}. */
+    public double getOrThrowUnchecked() {
+        return getOrThrowUnchecked(Try.CheckedExceptionWrapper::new);
+    }
+
+    /** The double version of {@link Try#getOrThrowUnchecked(Function)}. */
+    public double getOrThrowUnchecked(Function<? super Throwable, ? extends Throwable> checkedTransformer) {
+        if (isSuccess()) {
+            return success;
+        }
+        throw Try.throwUnchecked(failure, checkedTransformer);
+    }
+
+    /** The double version of {@link Try#getOrThrowException()}. */
+    public double getOrThrowException() throws Exception {
+        return getOrThrowException(Try.CheckedExceptionWrapper::new);
+    }
+
+    /** The double version of {@link Try#getOrThrowException(Function)}. */
+    public double getOrThrowException(Function<? super Throwable, ? extends Throwable> throwableTransformer)
+            throws Exception {
+        if (isSuccess()) {
+            return success;
+        }
+        throw Try.throwException(failure, throwableTransformer);
+    }
+
+    /** The double version of {@link Try#getOrThrowThrowable()}. */
+    public double getOrThrowThrowable() throws Throwable {
+        if (isSuccess()) {
+            return success;
+        }
+
+        Try.clearInterruptStatusForInterruptedException(failure);
+        throw failure;
+    }
+
+    /** The double version of {@link Try#getOrRecover(Function)}. */
+    public double getOrRecover(ToDoubleFunction<? super Throwable> recovery) {
+        return isSuccess() ? success : recovery.applyAsDouble(failure);
+    }
+
+    /** Same as {@link Try#observeFailure(Consumer)}. */
+    public DoubleTry observeFailure(Consumer<? super Throwable> observer) {
+        if (isFailure()) {
+            observer.accept(failure);
+        }
+        return this;
+    }
+
+    /**
+     * Converts this DoubleTry into an equivalent Try, boxing the success. Failures keep the same failure instance, with
+     * no change to the Thread's interrupt status.
+     */
+    public Try<Double> toTry() {
+        return isSuccess() ? Try.ofSuccess(success) : Try.ofFailureSwallowingInterrupt(failure);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof DoubleTry) {
+            DoubleTry other = (DoubleTry) object;
+            return Double.compare(success, other.success) == 0 && Objects.equals(failure, other.failure);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(success) + Objects.hashCode(failure);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "DoubleTry[success=" + success + "]" : "DoubleTry[failure=" + failure + "]";
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+
+/**
+ * Reduces tail latency by hedging calls: if an attempt hasn't succeeded after a delay, a duplicate attempt is started,
+ * and so on, up to a maximum number of attempts. Whichever attempt succeeds first wins, and the others are cancelled.
+ * Instances are immutable and thread-safe, so a single Hedger can be shared by every call to the same dependency.
+ * Create instances with {@link #builder()}.
+ *
+ * The delay is typically set to around the dependency's p95 latency, so that only the slowest few percent of calls are
+ * duplicated. If an attempt fails before the delay is up, the next attempt starts right away rather than waiting.
+ * Since attempts run concurrently, only hedge calls that are safe to make more than once.
+ */
+public final class Hedger {
+    private final int maxAttempts;
+    private final long delayNanos;
+    private final ExecutorService executor;
+    private final Delayer delayer;
+
+    private Hedger(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.delayNanos = builder.delay.toNanos();
+        this.executor = builder.executor;
+        this.delayer = builder.delayer;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Hedges calls to callable, with each attempt made as per {@link Try#callCatchThrowable(ThrowableCallable)} on this
+     * Hedger's executor. The returned future completes with the first successful Try. Losing attempts that are still
+     * running are cancelled and interrupted; their results are ignored. If every attempt fails, the future completes
+     * with a failure that's a new {@link AllAttemptsFailedException}, whose cause is the first attempt's failure and
+     * whose suppressed exceptions are the other attempts' failures. The attempts' own failures are never modified, so
+     * callables can safely throw shared or preallocated exceptions. If the executor rejects an attempt, the
+     * RejectedExecutionException counts as that attempt's failure.
+     *
+     * The returned future never completes exceptionally, except by being cancelled, in which case every attempt is
+     * cancelled, too.
+     */
+    public <T> CompletableFuture<Try<T>> callCatchThrowableAsync(ThrowableCallable<T> callable) {
+        return new HedgedCall<>(callable).start();
+    }
+
+    /**
+     * The blocking version of {@link #callCatchThrowableAsync(ThrowableCallable)}: waits for and returns the Try. The
+     * current Thread doesn't make any of the attempts itself. If it's interrupted while waiting, every attempt is
+     * cancelled, and the returned Try is a failure with the InterruptedException, with the interrupt status set again,
+     * as per {@link Try#ofFailurePreservingInterrupt(Throwable)}.
+     */
+    public <T> Try<T> callCatchThrowable(ThrowableCallable<T> callable) {
+        CompletableFuture<Try<T>> future = callCatchThrowableAsync(callable);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            return Try.ofFailurePreservingInterrupt(e);
+        } catch (ExecutionException e) {
+            // Impossible: the future only ever completes exceptionally by being cancelled, which only this method does
+            throw new AssertionError(e);
+        }
+    }
+
+    /** Runs the attempts of a single hedged call. Attempts are numbered starting from 1. */
+    private final class HedgedCall<T> {
+        private final ThrowableCallable<T> callable;
+        private final CompletableFuture<Try<T>> result = new CompletableFuture<>();
+        private final AtomicInteger startedAttempts = new AtomicInteger();
+        private final AtomicInteger failedAttempts = new AtomicInteger();
+        private final AtomicReferenceArray<Future<?>> attemptFutures = new AtomicReferenceArray<>(maxAttempts);
+        private final AtomicReferenceArray<Try<T>> failures = new AtomicReferenceArray<>(maxAttempts);
+        private final AtomicInteger winner = new AtomicInteger();
+
+        private HedgedCall(ThrowableCallable<T> callable) {
+            this.callable = callable;
+        }
+
+        private CompletableFuture<Try<T>> start() {
+            result.whenComplete((ignoreResult, failure) -> {
+                if (failure != null) {
+                    cancelAttemptsExcept(0);
+                }
+            });
+            startAttemptAfter(0);
+            return result;
+        }
+
+        /**
+         * Starts the attempt after previousNumber, unless some other thread already has (or every attempt has been
+         * started, or the call is already complete).
+         */
+        private void startAttemptAfter(int previousNumber) {
+            if (previousNumber >= maxAttempts || result.isDone()
+                    || !startedAttempts.compareAndSet(previousNumber, previousNumber + 1)) {
+                return;
+            }
+
+            int number = previousNumber + 1;
+            Future<?> future;
+            try {
+                future = executor.submit(() -> attempt(number));
+            } catch (RejectedExecutionException e) {
+                recordFailure(number, Try.ofFailureSwallowingInterrupt(e));
+                return;
+            }
+            attemptFutures.set(number - 1, future);
+            // Catch completions that happened before the attempt was recorded
+            if (result.isDone() && winner.get() != number) {
+                future.cancel(true);
+            }
+            if (number < maxAttempts) {
+                delayer.runAfter(delayNanos, () -> startAttemptAfter(number));
+            }
+        }
+
+        private void attempt(int number) {
+            if (result.isDone()) {
+                return;
+            }
+
+            Try<T> attemptResult = Try.callCatchThrowable(callable);
+            if (attemptResult.isFailure()) {
+                recordFailure(number, attemptResult);
+                return;
+            }
+            // Claim the win before completing, so that no thread that sees the completion cancels this attempt
+            if (winner.compareAndSet(0, number) && result.complete(attemptResult)) {
+                cancelAttemptsExcept(number);
+            }
+        }
+
+        private void recordFailure(int number, Try<T> failure) {
+            failures.set(number - 1, failure);
+            if (failedAttempts.incrementAndGet() == maxAttempts) {
+                result.complete(combineFailures());
+            } else {
+                startAttemptAfter(startedAttempts.get());
+            }
+        }
+
+        private Try<T> combineFailures() {
+            Throwable first = failures.get(0).getNullableFailure();
+            AllAttemptsFailedException combined = new AllAttemptsFailedException(maxAttempts, first);
+            for (int i = 1; i < maxAttempts; ++i) {
+                Throwable other = failures.get(i).getNullableFailure();
+                // Attempts that throw a shared instance would otherwise add it many times
+                if (other != first && !List.of(combined.getSuppressed()).contains(other)) {
+                    combined.addSuppressed(other);
+                }
+            }
+            return Try.ofFailureSwallowingInterrupt(combined);
+        }
+
+        private void cancelAttemptsExcept(int number) {
+            for (int i = 0; i < maxAttempts; ++i) {
+                Future<?> future = attemptFutures.get(i);
+                if (future != null && i != number - 1) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * The failure of a hedged call whose every attempt failed. A new instance is created for each such call: its cause
+     * is the first attempt's failure, and its suppressed exceptions are the failures of the other attempts (each
+     * distinct instance once). It doesn't capture a stack trace of its own, since the attempts' are the ones that
+     * matter.
+     */
+    public static final class AllAttemptsFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private AllAttemptsFailedException(int attempts, Throwable first) {
+            super("All " + attempts + " hedged attempts failed", first, true, false);
+        }
+    }
+
+    /** Runs a task after the given number of nanoseconds without blocking. Allows tests to control time. */
+    @FunctionalInterface
+    interface Delayer {
+        void runAfter(long nanos, Runnable task);
+    }
+
+    /** A builder of Hedger. All settings are optional and have the defaults documented on their setters. */
+    public static final class Builder {
+        private int maxAttempts = 2;
+        private Duration delay = Duration.ofMillis(100);
+        private ExecutorService executor = DefaultExecutors.async();
+        // The task only starts an attempt on the executor, so it's cheap enough to run on the shared delay thread
+        private Delayer delayer = (nanos, task) -> CompletableFuture
+                .delayedExecutor(nanos, TimeUnit.NANOSECONDS, Runnable::run)
+                .execute(task);
+
+        private Builder() {}
+
+        /** The maximum number of attempts, including the first one. Must be at least 1. Defaults to 2. */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * How long to wait after starting each attempt before starting the next. Must not be negative. Defaults to 100
+         * milliseconds.
+         */
+        public Builder delay(Duration delay) {
+            Objects.requireNonNull(delay, "delay");
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("delay must not be negative: " + delay);
+            }
+            this.delay = delay;
+            return this;
+        }
+
+        /**
+         * The executor to make attempts on. Losing attempts are cancelled through the Futures this executor returns.
+         * Defaults to the same executor as the *Async methods on Try.
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        Builder delayer(Delayer delayer) {
+            this.delayer = delayer;
+            return this;
+        }
+
+        public Hedger build() {
+            return new Hedger(this);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The int-specialized version of {@link Try}: a success holds a primitive int rather than a boxed Integer, so code that
+ * produces ints in a tight loop (e.g. parsing) doesn't box every value. Otherwise, IntTry follows the same rules as
+ * Try, including which Throwables each call* method catches and how InterruptedExceptions affect the Thread's interrupt
+ * status. Use {@link #toTry()} to pass an IntTry to code that expects a Try.
+ */
+public final class IntTry {
+    private final int success;
+    private final Throwable failure;
+
+    private IntTry(int success, Throwable failure) {
+        this.success = success;
+        this.failure = failure;
+    }
+
+    /** The int version of {@link Try#ofSuccess(Object)}. */
+    public static IntTry ofSuccess(int success) {
+        return new IntTry(success, null);
+    }
+
+    /** The int version of {@link Try#ofFailureSwallowingInterrupt(Throwable)}. */
+    public static IntTry ofFailureSwallowingInterrupt(Throwable failure) {
+        if (failure == null) {
+            throw new NullPointerException("failure must not be null");
+        }
+        return new IntTry(0, failure);
+    }
+
+    /** The int version of {@link Try#ofFailurePreservingInterrupt(Throwable)}. */
+    public static IntTry ofFailurePreservingInterrupt(Throwable failure) {
+        Try.preserveInterrupt(failure);
+        return ofFailureSwallowingInterrupt(failure);
+    }
+
+    /** The int version of {@link Try#callCatchRuntime(Try.RuntimeCallable)}. */
+    public static IntTry callCatchRuntime(RuntimeIntCallable callable) {
+        long start = TryEvents.start();
+        int success;
+        try {
+            success = callable.call();
+        } catch (RuntimeException e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailureSwallowingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The int version of {@link Try.RuntimeCallable}. */
+    @FunctionalInterface
+    public interface RuntimeIntCallable {
+        int call();
+    }
+
+    /** The int version of {@link Try#callCatchException(Callable)}. */
+    public static IntTry callCatchException(ExceptionIntCallable callable) {
+        long start = TryEvents.start();
+        int success;
+        try {
+            success = callable.call();
+        } catch (Exception e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The int version of {@link Callable}. */
+    @FunctionalInterface
+    public interface ExceptionIntCallable {
+        int call() throws Exception;
+    }
+
+    /** The int version of {@link Try#callCatchThrowable(Try.ThrowableCallable)}. */
+    public static IntTry callCatchThrowable(ThrowableIntCallable callable) {
+        long start = TryEvents.start();
+        int success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The int version of {@link Try.ThrowableCallable}. */
+    @FunctionalInterface
+    public interface ThrowableIntCallable {
+        int call() throws Throwable;
+    }
+
+    /**
+     * The int version of {@link Try#callCatchRuntimeOrDefault(Try.RuntimeCallable, Object, Consumer)}: neither
+     * creates a IntTry nor boxes anything, so the JIT can usually reduce it to the try-catch block it's made of.
+     */
+    public static int callCatchRuntimeOrDefault(RuntimeIntCallable callable, int defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        int success;
+        try {
+            success = callable.call();
+        } catch (RuntimeException e) {
+            TryEvents.failed(callable, e, start);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** The int version of {@link Try#callCatchExceptionOrDefault(Callable, Object, Consumer)}. */
+    public static int callCatchExceptionOrDefault(ExceptionIntCallable callable, int defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        int success;
+        try {
+            success = callable.call();
+        } catch (Exception e) {
+            TryEvents.failed(callable, e, start);
+            Try.preserveInterrupt(e);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** The int version of {@link Try#callCatchThrowableOrDefault(Try.ThrowableCallable, Object, Consumer)}. */
+    public static int callCatchThrowableOrDefault(ThrowableIntCallable callable, int defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        int success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            Try.preserveInterrupt(e);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** Gets the successful part of this IntTry, if present. Same as {@link Try#getSuccess()}. */
+    public OptionalInt getSuccess() {
+        return isSuccess() ? OptionalInt.of(success) : OptionalInt.empty();
+    }
+
+    /** Same as {@link Try#getFailure()}. */
+    public Optional<Throwable> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    /** Same as {@link Try#getNullableFailure()}. */
+    public Throwable getNullableFailure() {
+        return failure;
+    }
+
+    /** Returns whether or not this IntTry was successful. */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /** Returns whether or not this IntTry was a failure. */
+    public boolean isFailure() {
+        return !isSuccess();
+    }
+
+    /** The int version of {@link Try#getOrThrowUnchecked()}. */
+    public int getOrThrowUnchecked() {
+        return getOrThrowUnchecked(Try.CheckedExceptionWrapper::new);
+    }
+
+    /** The int version of {@link Try#getOrThrowUnchecked(Function)}. */
+    public int getOrThrowUnchecked(Function<? super Throwable, ? extends Throwable> checkedTransformer) {
+        if (isSuccess()) {
+            return success;
+        }
+        throw Try.throwUnchecked(failure, checkedTransformer);
+    }
+
+    /** The int version of {@link Try#getOrThrowException()}. */
+    public int getOrThrowException() throws Exception {
+        return getOrThrowException(Try.CheckedExceptionWrapper::new);
+    }
+
+    /** The int version of {@link Try#getOrThrowException(Function)}. */
+    public int getOrThrowException(Function<? super Throwable, ? extends Throwable> throwableTransformer)
+            throws Exception {
+        if (isSuccess()) {
+            return success;
+        }
+        throw Try.throwException(failure, throwableTransformer);
+    }
+
+    /** The int version of {@link Try#getOrThrowThrowable()}. */
+    public int getOrThrowThrowable() throws Throwable {
+        if (isSuccess()) {
+            return success;
+        }
+
+        Try.clearInterruptStatusForInterruptedException(failure);
+        throw failure;
+    }
+
+    /** The int version of {@link Try#getOrRecover(Function)}. */
+    public int getOrRecover(ToIntFunction<? super Throwable> recovery) {
+        return isSuccess() ? success : recovery.applyAsInt(failure);
+    }
+
+    /** Same as {@link Try#observeFailure(Consumer)}. */
+    public IntTry observeFailure(Consumer<? super Throwable> observer) {
+        if (isFailure()) {
+            observer.accept(failure);
+        }
+        return this;
+    }
+
+    /**
+     * Converts this IntTry into an equivalent Try, boxing the success. Failures keep the same failure instance, with no
+     * change to the Thread's interrupt status.
+     */
+    public Try<Integer> toTry() {
+        return isSuccess() ? Try.ofSuccess(success) : Try.ofFailureSwallowingInterrupt(failure);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof IntTry) {
+            IntTry other = (IntTry) object;
+            return success == other.success && Objects.equals(failure, other.failure);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Integer.hashCode(success) + Objects.hashCode(failure);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "IntTry[success=" + success + "]" : "IntTry[failure=" + failure + "]";
+    }
+}
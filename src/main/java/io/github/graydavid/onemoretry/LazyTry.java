@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+
+/**
+ * A Try that isn't computed until something first asks for it. Create instances with
+ * {@link Try#lazy(ThrowableCallable)} or {@link Try#lazyRacy(ThrowableCallable)}. The first access to the result (e.g.
+ * {@link #isSuccess()}) calls the callable, as per {@link Try#callCatchThrowable(ThrowableCallable)}, and every access
+ * after that returns the same, cached Try. If nothing ever asks, the callable is never called, which makes LazyTry a
+ * good fit for optional values that are cheap to describe but expensive to compute and often go unread.
+ *
+ * Since the Try is computed on whichever thread first asks for it, that's the thread whose interrupt status is set if
+ * the callable throws an InterruptedException. The interrupt status of threads that merely read the cached result is
+ * never affected.
+ *
+ * Once the result is published, reading it costs a single volatile read. The two modes differ in what happens when
+ * multiple threads ask for an uncomputed result at the same time:<br>
+ * * {@link Try#lazy(ThrowableCallable)} calls the callable exactly once; the other threads wait for that call to
+ * finish. The call is made while holding this LazyTry's monitor, so on JDKs where virtual threads pin their carrier
+ * thread inside synchronized blocks (before JDK 24), a virtual thread that blocks in the callable also blocks its
+ * carrier thread for the duration.<br>
+ * * {@link Try#lazyRacy(ThrowableCallable)} never makes a thread wait: every racing thread calls the callable, and the
+ * first result to be published wins, so every thread still sees the same Try. That's only appropriate for callables
+ * that are idempotent and free of side effects.
+ */
+public final class LazyTry<T> {
+    private static final VarHandle RESULT;
+    static {
+        try {
+            RESULT = MethodHandles.lookup().findVarHandle(LazyTry.class, "result", Try.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final boolean racy;
+    // Cleared only after result is published, so that the callable's captured state can be garbage-collected
+    private volatile ThrowableCallable<T> callable;
+    private volatile Try<T> result;
+
+    LazyTry(ThrowableCallable<T> callable, boolean racy) {
+        this.racy = racy;
+        this.callable = callable;
+    }
+
+    /** Returns the result, computing it first if this is the first access. */
+    public Try<T> get() {
+        Try<T> current = result;
+        if (current != null) {
+            return current;
+        }
+        return racy ? computeRacy() : computeOnce();
+    }
+
+    private synchronized Try<T> computeOnce() {
+        Try<T> current = result;
+        if (current == null) {
+            current = Try.callCatchThrowable(callable);
+            result = current;
+            callable = null;
+        }
+        return current;
+    }
+
+    // Suppress justify: only Try<T>s are ever stored in result
+    @SuppressWarnings("unchecked")
+    private Try<T> computeRacy() {
+        ThrowableCallable<T> current = callable;
+        // The callable is only ever cleared after the winning result is published
+        if (current == null) {
+            return result;
+        }
+        Try<T> computed = Try.callCatchThrowable(current);
+        Try<T> witness = (Try<T>) RESULT.compareAndExchange(this, null, computed);
+        if (witness != null) {
+            return witness;
+        }
+        callable = null;
+        return computed;
+    }
+
+    /** Returns whether the result has been computed yet. Never computes the result itself. */
+    public boolean isEvaluated() {
+        return result != null;
+    }
+
+    /** Same as {@link Try#isSuccess()} on {@link #get()}. */
+    public boolean isSuccess() {
+        return get().isSuccess();
+    }
+
+    /** Same as {@link Try#isFailure()} on {@link #get()}. */
+    public boolean isFailure() {
+        return get().isFailure();
+    }
+
+    /** Same as {@link Try#getNullableSuccess()} on {@link #get()}. */
+    public T getNullableSuccess() {
+        return get().getNullableSuccess();
+    }
+
+    /** Same as {@link Try#getNullableFailure()} on {@link #get()}. */
+    public Throwable getNullableFailure() {
+        return get().getNullableFailure();
+    }
+
+    /** Same as {@link Try#getOrThrowUnchecked()} on {@link #get()}. */
+    public T getOrThrowUnchecked() {
+        return get().getOrThrowUnchecked();
+    }
+
+    /** Never computes the result: shows it only if it's already been computed. */
+    @Override
+    public String toString() {
+        Try<T> current = result;
+        return current == null ? "LazyTry[unevaluated]" : "LazyTry[" + current + "]";
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * The long-specialized version of {@link Try}: a success holds a primitive long rather than a boxed Long, so code that
+ * produces longs in a tight loop (e.g. parsing) doesn't box every value. Otherwise, LongTry follows the same rules as
+ * Try, including which Throwables each call* method catches and how InterruptedExceptions affect the Thread's interrupt
+ * status. Use {@link #toTry()} to pass a LongTry to code that expects a Try.
+ */
+public final class LongTry {
+    private final long success;
+    private final Throwable failure;
+
+    private LongTry(long success, Throwable failure) {
+        this.success = success;
+        this.failure = failure;
+    }
+
+    /** The long version of {@link Try#ofSuccess(Object)}. */
+    public static LongTry ofSuccess(long success) {
+        return new LongTry(success, null);
+    }
+
+    /** The long version of {@link Try#ofFailureSwallowingInterrupt(Throwable)}. */
+    public static LongTry ofFailureSwallowingInterrupt(Throwable failure) {
+        if (failure == null) {
+            throw new NullPointerException("failure must not be null");
+        }
+        return new LongTry(0, failure);
+    }
+
+    /** The long version of {@link Try#ofFailurePreservingInterrupt(Throwable)}. */
+    public static LongTry ofFailurePreservingInterrupt(Throwable failure) {
+        Try.preserveInterrupt(failure);
+        return ofFailureSwallowingInterrupt(failure);
+    }
+
+    /** The long version of {@link Try#callCatchRuntime(Try.RuntimeCallable)}. */
+    public static LongTry callCatchRuntime(RuntimeLongCallable callable) {
+        long start = TryEvents.start();
+        long success;
+        try {
+            success = callable.call();
+        } catch (RuntimeException e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailureSwallowingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The long version of {@link Try.RuntimeCallable}. */
+    @FunctionalInterface
+    public interface RuntimeLongCallable {
+        long call();
+    }
+
+    /** The long version of {@link Try#callCatchException(Callable)}. */
+    public static LongTry callCatchException(ExceptionLongCallable callable) {
+        long start = TryEvents.start();
+        long success;
+        try {
+            success = callable.call();
+        } catch (Exception e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The long version of {@link Callable}. */
+    @FunctionalInterface
+    public interface ExceptionLongCallable {
+        long call() throws Exception;
+    }
+
+    /** The long version of {@link Try#callCatchThrowable(Try.ThrowableCallable)}. */
+    public static LongTry callCatchThrowable(ThrowableLongCallable callable) {
+        long start = TryEvents.start();
+        long success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return ofSuccess(success);
+    }
+
+    /** The long version of {@link Try.ThrowableCallable}. */
+    @FunctionalInterface
+    public interface ThrowableLongCallable {
+        long call() throws Throwable;
+    }
+
+    /**
+     * The long version of {@link Try#callCatchRuntimeOrDefault(Try.RuntimeCallable, Object, Consumer)}: neither
+     * creates a LongTry nor boxes anything, so the JIT can usually reduce it to the try-catch block it's made of.
+     */
+    public static long callCatchRuntimeOrDefault(RuntimeLongCallable callable, long defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        long success;
+        try {
+            success = callable.call();
+        } catch (RuntimeException e) {
+            TryEvents.failed(callable, e, start);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** The long version of {@link Try#callCatchExceptionOrDefault(Callable, Object, Consumer)}. */
+    public static long callCatchExceptionOrDefault(ExceptionLongCallable callable, long defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        long success;
+        try {
+            success = callable.call();
+        } catch (Exception e) {
+            TryEvents.failed(callable, e, start);
+            Try.preserveInterrupt(e);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** The long version of {@link Try#callCatchThrowableOrDefault(Try.ThrowableCallable, Object, Consumer)}. */
+    public static long callCatchThrowableOrDefault(ThrowableLongCallable callable, long defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        long success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            Try.preserveInterrupt(e);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /** Gets the successful part of this LongTry, if present. Same as {@link Try#getSuccess()}. */
+    public OptionalLong getSuccess() {
+        return isSuccess() ? OptionalLong.of(success) : OptionalLong.empty();
+    }
+
+    /** Same as {@link Try#getFailure()}. */
+    public Optional<Throwable> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    /** Same as {@link Try#getNullableFailure()}. */
+    public Throwable getNullableFailure() {
+        return failure;
+    }
+
+    /** Returns whether or not this LongTry was successful. */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /** Returns whether or not this LongTry was a failure. */
+    public boolean isFailure() {
+        return !isSuccess();
+    }
+
+    /** The long version of {@link Try#getOrThrowUnchecked()}. */
+    public long getOrThrowUnchecked() {
+        return getOrThrowUnchecked(Try.CheckedExceptionWrapper::new);
+    }
+
+    /** The long version of {@link Try#getOrThrowUnchecked(Function)}. */
+    public long getOrThrowUnchecked(Function<? super Throwable, ? extends Throwable> checkedTransformer) {
+        if (isSuccess()) {
+            return success;
+        }
+        throw Try.throwUnchecked(failure, checkedTransformer);
+    }
+
+    /** The long version of {@link Try#getOrThrowException()}. */
+    public long getOrThrowException() throws Exception {
+        return getOrThrowException(Try.CheckedExceptionWrapper::new);
+    }
+
+    /** The long version of {@link Try#getOrThrowException(Function)}. */
+    public long getOrThrowException(Function<? super Throwable, ? extends Throwable> throwableTransformer)
+            throws Exception {
+        if (isSuccess()) {
+            return success;
+        }
+        throw Try.throwException(failure, throwableTransformer);
+    }
+
+    /** The long version of {@link Try#getOrThrowThrowable()}. */
+    public long getOrThrowThrowable() throws Throwable {
+        if (isSuccess()) {
+            return success;
+        }
+
+        Try.clearInterruptStatusForInterruptedException(failure);
+        throw failure;
+    }
+
+    /** The long version of {@link Try#getOrRecover(Function)}. */
+    public long getOrRecover(ToLongFunction<? super Throwable> recovery) {
+        return isSuccess() ? success : recovery.applyAsLong(failure);
+    }
+
+    /** Same as {@link Try#observeFailure(Consumer)}. */
+    public LongTry observeFailure(Consumer<? super Throwable> observer) {
+        if (isFailure()) {
+            observer.accept(failure);
+        }
+        return this;
+    }
+
+    /**
+     * Converts this LongTry into an equivalent Try, boxing the success. Failures keep the same failure instance, with
+     * no change to the Thread's interrupt status.
+     */
+    public Try<Long> toTry() {
+        return isSuccess() ? Try.ofSuccess(success) : Try.ofFailureSwallowingInterrupt(failure);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof LongTry) {
+            LongTry other = (LongTry) object;
+            return success == other.success && Objects.equals(failure, other.failure);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(success) + Objects.hashCode(failure);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "LongTry[success=" + success + "]" : "LongTry[failure=" + failure + "]";
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.graydavid.onemoretry.Try.ThrowableFunction;
+
+/**
+ * Implements the parallel batch methods on Try (e.g. {@link Try#mapEachParallel(java.util.Collection,
+ * ThrowableFunction, Executor)}): splits the inputs into contiguous chunks, runs each chunk as a single task on the
+ * executor, and merges the chunks' failures once every chunk is done.
+ *
+ * Interrupts need special care. An InterruptedException thrown on a worker thread belongs to the batch, not to the
+ * worker (which is usually a pool thread that will go on to run unrelated tasks), so workers never set their own
+ * interrupt status. Instead, the batch remembers that an InterruptedException happened and sets the interrupt status
+ * of the calling thread once the batch is done, exactly as if the caller had made every call itself.
+ */
+final class ParallelBatch<A, T> {
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Object[] inputs;
+    private final ThrowableFunction<? super A, ? extends T> function;
+    private final Object[] successes;
+    private final AtomicReferenceArray<Map<Integer, Throwable>> chunkFailures;
+    private final int chunkSize;
+    private final CountDownLatch remainingChunks;
+    private final AtomicBoolean interruptedExceptionThrown = new AtomicBoolean();
+    private volatile InterruptedException cancellation;
+
+    private ParallelBatch(Object[] inputs, ThrowableFunction<? super A, ? extends T> function, int parallelism) {
+        this.inputs = inputs;
+        this.function = function;
+        this.successes = new Object[inputs.length];
+        int maxChunks = Math.max(1, Math.min(inputs.length, parallelism * CHUNKS_PER_THREAD));
+        this.chunkSize = (inputs.length + maxChunks - 1) / maxChunks;
+        int chunkCount = chunkSize == 0 ? 0 : (inputs.length + chunkSize - 1) / chunkSize;
+        this.chunkFailures = new AtomicReferenceArray<>(chunkCount);
+        this.remainingChunks = new CountDownLatch(chunkCount);
+    }
+
+    /**
+     * Applies function to each of inputs on executor and returns the results in input order. If the calling thread is
+     * interrupted while waiting, inputs that haven't been started yet fail with the InterruptedException, the calls in
+     * progress are allowed to finish, and the calling thread's interrupt status is set again once they have.
+     */
+    static <A, T> BatchResult<T> mapEach(Object[] inputs, ThrowableFunction<? super A, ? extends T> function,
+            Executor executor) {
+        int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return new ParallelBatch<A, T>(inputs, function, parallelism).run(executor);
+    }
+
+    private BatchResult<T> run(Executor executor) {
+        for (int chunk = 0; chunk < chunkFailures.length(); ++chunk) {
+            int chunkIndex = chunk;
+            try {
+                executor.execute(() -> runChunk(chunkIndex));
+            } catch (RejectedExecutionException e) {
+                failChunk(chunkIndex, e);
+            }
+        }
+
+        boolean callerInterrupted = awaitChunks();
+        Map<Integer, Throwable> failures = null;
+        for (int chunk = 0; chunk < chunkFailures.length(); ++chunk) {
+            Map<Integer, Throwable> failuresInChunk = chunkFailures.get(chunk);
+            if (failuresInChunk != null) {
+                failures = failures == null ? failuresInChunk : merge(failures, failuresInChunk);
+            }
+        }
+        if (callerInterrupted || interruptedExceptionThrown.get()) {
+            Thread.currentThread().interrupt();
+        }
+        return new BatchResult<>(successes, failures);
+    }
+
+    private static Map<Integer, Throwable> merge(Map<Integer, Throwable> into, Map<Integer, Throwable> from) {
+        into.putAll(from);
+        return into;
+    }
+
+    /** Waits for every chunk to finish. Returns whether the calling thread was interrupted while waiting. */
+    private boolean awaitChunks() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                // Lets a ForkJoinPool compensate for the blocked thread if the caller is itself one of its workers
+                ForkJoinPool.managedBlock(new LatchBlocker(remainingChunks));
+                return interrupted;
+            } catch (InterruptedException e) {
+                interrupted = true;
+                if (cancellation == null) {
+                    cancellation = e;
+                }
+            }
+        }
+    }
+
+    private void runChunk(int chunkIndex) {
+        int start = chunkIndex * chunkSize;
+        int end = Math.min(start + chunkSize, inputs.length);
+        Map<Integer, Throwable> failures = null;
+        try {
+            for (int index = start; index < end; ++index) {
+                InterruptedException cancelled = cancellation;
+                if (cancelled != null) {
+                    failures = BatchResult.addFailure(failures, index, cancelled);
+                    continue;
+                }
+                A input = input(index);
+                long callStart = TryEvents.start();
+                try {
+                    successes[index] = function.apply(input);
+                } catch (Throwable e) {
+                    TryEvents.elementFailed(function, input, e, callStart);
+                    if (e instanceof InterruptedException) {
+                        interruptedExceptionThrown.set(true);
+                    }
+                    failures = BatchResult.addFailure(failures, index, e);
+                    continue;
+                }
+                TryEvents.elementSucceeded(function, input, callStart);
+            }
+        } finally {
+            chunkFailures.set(chunkIndex, failures);
+            remainingChunks.countDown();
+        }
+    }
+
+    // Suppress justify: inputs only ever contains As
+    @SuppressWarnings("unchecked")
+    private A input(int index) {
+        return (A) inputs[index];
+    }
+
+    private void failChunk(int chunkIndex, Throwable failure) {
+        int start = chunkIndex * chunkSize;
+        int end = Math.min(start + chunkSize, inputs.length);
+        Map<Integer, Throwable> failures = new HashMap<>();
+        for (int index = start; index < end; ++index) {
+            failures.put(index, failure);
+        }
+        chunkFailures.set(chunkIndex, failures);
+        remainingChunks.countDown();
+    }
+
+    private static final class LatchBlocker implements ForkJoinPool.ManagedBlocker {
+        private final CountDownLatch latch;
+
+        private LatchBlocker(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            latch.await();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return latch.getCount() == 0;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+
+/**
+ * Describes how to retry a call that fails: how many attempts to make, how long to back off between attempts, which
+ * failures are worth retrying, and how long to keep trying overall. Instances are immutable and thread-safe, so a
+ * single policy can be shared by every call to the same dependency. Create instances with {@link #builder()}.
+ *
+ * Backoff is exponential with jitter: before retry number n (starting at 1), the base backoff is
+ * initialBackoff*multiplier^(n-1), capped at maxBackoff. Jitter then subtracts a random amount up to jitter*base, so
+ * that clients that failed at the same time don't all retry at the same time as well. The default jitter of 1.0 (i.e.
+ * "full jitter": a backoff chosen uniformly between 0 and the base) is the best choice for spreading out retries after
+ * a dependency brownout.
+ *
+ * A call is never retried after it fails with an InterruptedException or while the current Thread's interrupt status is
+ * set. If the Thread is interrupted while backing off, retrying stops and the final Try is a failure with the
+ * InterruptedException, with the interrupt status set again, as per
+ * {@link Try#ofFailurePreservingInterrupt(Throwable)}.
+ */
+public final class RetryPolicy {
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final double backoffMultiplier;
+    private final long maxBackoffNanos;
+    private final double jitter;
+    private final Predicate<? super Throwable> retryPredicate;
+    private final long totalTimeoutNanos;
+    private final Sleeper sleeper;
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier random;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        // Capped, since toNanos overflows for durations like ChronoUnit.FOREVER's
+        this.initialBackoffNanos = Deadline.cappedNanos(builder.initialBackoff);
+        this.backoffMultiplier = builder.backoffMultiplier;
+        this.maxBackoffNanos = Deadline.cappedNanos(builder.maxBackoff);
+        this.jitter = builder.jitter;
+        this.retryPredicate = builder.retryPredicate;
+        this.totalTimeoutNanos = builder.totalTimeout == null ? Long.MAX_VALUE
+                : Deadline.cappedNanos(builder.totalTimeout);
+        this.sleeper = builder.sleeper;
+        this.nanoClock = builder.nanoClock;
+        this.random = builder.random;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Calls callable, as per {@link Try#callCatchException(Callable)}, retrying failures as per this policy. Errors and
+     * Throwables are propagated as is, without being retried.
+     */
+    public <T> RetryResult<T> callCatchException(Callable<T> callable) {
+        return call(() -> Try.callCatchException(callable));
+    }
+
+    /**
+     * Calls callable, as per {@link Try#callCatchThrowable(ThrowableCallable)}, retrying failures as per this policy.
+     * Which failures are retried is still up to the retry predicate, which by default doesn't retry Errors or
+     * Throwables.
+     */
+    public <T> RetryResult<T> callCatchThrowable(ThrowableCallable<T> callable) {
+        return call(() -> Try.callCatchThrowable(callable));
+    }
+
+    /**
+     * The asynchronous version of {@link #callCatchException(Callable)}: instead of blocking the current Thread while
+     * backing off, every attempt (including the first) is run on scheduler, with each retry scheduled for when its
+     * backoff ends. The returned future completes with the final Try. Failures are classified exactly as in the
+     * synchronous version, including propagating Errors and Throwables, which complete the returned future
+     * exceptionally.
+     * 
+     * Cancelling the returned future cancels any pending retry. An attempt that's already running is allowed to finish,
+     * but its result is ignored. If scheduler rejects an attempt, the returned future completes with the result of the
+     * previous attempt or, if there was none, a failure with the RejectedExecutionException.
+     */
+    public <T> CompletableFuture<Try<T>> callCatchExceptionAsync(Callable<T> callable,
+            ScheduledExecutorService scheduler) {
+        return new AsyncRetry<>(() -> Try.callCatchException(callable), scheduler).start();
+    }
+
+    /**
+     * The asynchronous version of {@link #callCatchThrowable(ThrowableCallable)}. Otherwise, same as
+     * {@link #callCatchExceptionAsync(Callable, ScheduledExecutorService)}, except that, since every failure is
+     * caught, the returned future never completes exceptionally (except by being cancelled).
+     */
+    public <T> CompletableFuture<Try<T>> callCatchThrowableAsync(ThrowableCallable<T> callable,
+            ScheduledExecutorService scheduler) {
+        return new AsyncRetry<>(() -> Try.callCatchThrowable(callable), scheduler).start();
+    }
+
+    /** Runs a single asynchronous retry sequence: each attempt is run on the scheduler and schedules the next. */
+    private final class AsyncRetry<T> implements Runnable {
+        private final Supplier<Try<T>> attempter;
+        private final ScheduledExecutorService scheduler;
+        private final CompletableFuture<Try<T>> result = new CompletableFuture<>();
+        private final AtomicReference<ScheduledAttempt> latestScheduledAttempt = new AtomicReference<>();
+        private final long startNanos = nanoClock.getAsLong();
+        // Only accessed from attempts, each of which happens-before the next, since each one schedules the next
+        private int attempt;
+
+        private AsyncRetry(Supplier<Try<T>> attempter, ScheduledExecutorService scheduler) {
+            this.attempter = attempter;
+            this.scheduler = scheduler;
+        }
+
+        private CompletableFuture<Try<T>> start() {
+            result.whenComplete((ignoreResult, failure) -> {
+                if (failure != null) {
+                    cancelScheduledAttempt();
+                }
+            });
+            schedule(1, 0, null);
+            return result;
+        }
+
+        private void cancelScheduledAttempt() {
+            ScheduledAttempt scheduledAttempt = latestScheduledAttempt.get();
+            if (scheduledAttempt != null) {
+                scheduledAttempt.future.cancel(false);
+            }
+        }
+
+        private void schedule(int number, long delayNanos, Try<T> previousResult) {
+            Future<?> future;
+            try {
+                future = scheduler.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                result.complete(previousResult == null ? Try.ofFailureSwallowingInterrupt(e) : previousResult);
+                return;
+            }
+            // The scheduled attempt may run (and schedule the next one) before this line, so keep the latest one
+            latestScheduledAttempt.accumulateAndGet(new ScheduledAttempt(number, future), ScheduledAttempt::latest);
+            // Catch cancellations that happened before the scheduled attempt was recorded
+            if (result.isCompletedExceptionally()) {
+                cancelScheduledAttempt();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+
+            ++attempt;
+            Try<T> attemptResult;
+            try {
+                attemptResult = attempter.get();
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+                return;
+            }
+            if (attemptResult.isSuccess()) {
+                result.complete(attemptResult);
+                return;
+            }
+
+            long backoffNanos = backoffBeforeRetryNanos(attempt, attemptResult.getNullableFailure(), startNanos);
+            if (backoffNanos < 0) {
+                result.complete(attemptResult);
+                return;
+            }
+            schedule(attempt + 1, backoffNanos, attemptResult);
+        }
+    }
+
+    /** The future for a specific, numbered attempt (starting at 1) in an asynchronous retry sequence. */
+    private static final class ScheduledAttempt {
+        private final int number;
+        private final Future<?> future;
+
+        private ScheduledAttempt(int number, Future<?> future) {
+            this.number = number;
+            this.future = future;
+        }
+
+        private static ScheduledAttempt latest(ScheduledAttempt current, ScheduledAttempt candidate) {
+            return current != null && current.number > candidate.number ? current : candidate;
+        }
+    }
+
+    private <T> RetryResult<T> call(Supplier<Try<T>> attempter) {
+        long startNanos = nanoClock.getAsLong();
+        List<Throwable> priorFailures = List.of();
+        for (int attempt = 1;; ++attempt) {
+            Try<T> result = attempter.get();
+            if (result.isSuccess()) {
+                return new RetryResult<>(result, priorFailures, attempt);
+            }
+
+            Throwable failure = result.getNullableFailure();
+            long backoffNanos = backoffBeforeRetryNanos(attempt, failure, startNanos);
+            if (backoffNanos < 0) {
+                return new RetryResult<>(result, priorFailures, attempt);
+            }
+
+            priorFailures = append(priorFailures, failure);
+            try {
+                sleeper.sleep(backoffNanos);
+            } catch (InterruptedException e) {
+                return new RetryResult<>(Try.ofFailurePreservingInterrupt(e), priorFailures, attempt);
+            }
+        }
+    }
+
+    private static List<Throwable> append(List<Throwable> failures, Throwable failure) {
+        // Most calls succeed on the first attempt, so only pay for a mutable list once there's something to add
+        List<Throwable> appendable = failures.isEmpty() ? new ArrayList<>() : failures;
+        appendable.add(failure);
+        return appendable;
+    }
+
+    /**
+     * Returns how long to back off before retrying after failed attempt number attempt (starting at 1), or a negative
+     * number if there should be no retry.
+     */
+    long backoffBeforeRetryNanos(int attempt, Throwable failure, long startNanos) {
+        if (attempt >= maxAttempts || failure instanceof InterruptedException
+                || Thread.currentThread().isInterrupted() || !retryPredicate.test(failure)) {
+            return -1;
+        }
+
+        long backoffNanos = jitteredBackoffNanos(attempt);
+        long elapsedNanos = nanoClock.getAsLong() - startNanos;
+        // Subtraction avoids overflow: the total timeout can be as large as Long.MAX_VALUE
+        if (backoffNanos > totalTimeoutNanos - elapsedNanos) {
+            return -1;
+        }
+        return backoffNanos;
+    }
+
+    private long jitteredBackoffNanos(int attempt) {
+        double exponentialNanos = initialBackoffNanos * Math.pow(backoffMultiplier, attempt - 1);
+        long baseNanos = exponentialNanos >= maxBackoffNanos ? maxBackoffNanos : (long) exponentialNanos;
+        return baseNanos - (long) (baseNanos * jitter * random.getAsDouble());
+    }
+
+    /** Sleeps for the given number of nanoseconds. Allows tests to avoid actually sleeping. */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    /** A builder of RetryPolicy. All settings are optional and have the defaults documented on their setters. */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private double backoffMultiplier = 2.0;
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private double jitter = 1.0;
+        private Predicate<? super Throwable> retryPredicate = failure -> failure instanceof Exception;
+        private Duration totalTimeout;
+        private Sleeper sleeper = TimeUnit.NANOSECONDS::sleep;
+        private LongSupplier nanoClock = System::nanoTime;
+        private DoubleSupplier random = () -> ThreadLocalRandom.current().nextDouble();
+
+        private Builder() {}
+
+        /** The maximum number of attempts, including the first one. Must be at least 1. Defaults to 3. */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /** The base backoff before the first retry. Must not be negative. Defaults to 100 milliseconds. */
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = requireNonNegative(initialBackoff, "initialBackoff");
+            return this;
+        }
+
+        private static Duration requireNonNegative(Duration duration, String name) {
+            Objects.requireNonNull(duration, name);
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException(name + " must not be negative: " + duration);
+            }
+            return duration;
+        }
+
+        /** How much the base backoff grows by for each retry. Must be at least 1.0. Defaults to 2.0. */
+        public Builder backoffMultiplier(double backoffMultiplier) {
+            if (!(backoffMultiplier >= 1.0)) {
+                throw new IllegalArgumentException("backoffMultiplier must be at least 1.0: " + backoffMultiplier);
+            }
+            this.backoffMultiplier = backoffMultiplier;
+            return this;
+        }
+
+        /** The cap on the base backoff. Must not be negative. Defaults to 10 seconds. */
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = requireNonNegative(maxBackoff, "maxBackoff");
+            return this;
+        }
+
+        /**
+         * The fraction of the base backoff that can be randomly subtracted from it. Must be between 0.0 (no jitter)
+         * and 1.0 (full jitter) inclusive. Defaults to 1.0.
+         */
+        public Builder jitter(double jitter) {
+            if (!(jitter >= 0.0 && jitter <= 1.0)) {
+                throw new IllegalArgumentException("jitter must be between 0.0 and 1.0: " + jitter);
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Decides which failures are worth retrying. Defaults to retrying all Exceptions, but not Errors or other
+         * Throwables. Regardless of this predicate, InterruptedExceptions are never retried.
+         */
+        public Builder retryPredicate(Predicate<? super Throwable> retryPredicate) {
+            this.retryPredicate = Objects.requireNonNull(retryPredicate, "retryPredicate");
+            return this;
+        }
+
+        /**
+         * The maximum amount of time to spend on all attempts, measured from the start of the first. A retry is only
+         * made if its backoff ends before this timeout does; attempts already in progress are not interrupted. Must
+         * not be negative. Defaults to no timeout.
+         */
+        public Builder totalTimeout(Duration totalTimeout) {
+            this.totalTimeout = requireNonNegative(totalTimeout, "totalTimeout");
+            return this;
+        }
+
+        Builder sleeper(Sleeper sleeper) {
+            this.sleeper = sleeper;
+            return this;
+        }
+
+        Builder nanoClock(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        Builder random(DoubleSupplier random) {
+            this.random = random;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
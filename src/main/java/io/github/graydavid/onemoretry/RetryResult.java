@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of calling something through a {@link RetryPolicy}: the Try from the final attempt, along with the history
+ * of the attempts before it.
+ */
+public final class RetryResult<T> {
+    private final Try<T> result;
+    private final List<Throwable> priorFailures;
+    private final int attempts;
+
+    RetryResult(Try<T> result, List<Throwable> priorFailures, int attempts) {
+        this.result = result;
+        this.priorFailures = priorFailures.isEmpty() ? List.of() : Collections.unmodifiableList(priorFailures);
+        this.attempts = attempts;
+    }
+
+    /**
+     * Returns the final result. This is the result of the last attempt, unless the Thread was interrupted while backing
+     * off before a retry, in which case it's a failure with the InterruptedException.
+     */
+    public Try<T> getTry() {
+        return result;
+    }
+
+    /**
+     * Returns the failures from each attempt before the final result, in the order they happened. The list is empty if
+     * the first attempt produced the final result.
+     */
+    public List<Throwable> getPriorFailures() {
+        return priorFailures;
+    }
+
+    /** Returns how many attempts were made in total. */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RetryResult[try=%s,attempts=%s,priorFailures=%s]", result, attempts, priorFailures);
+    }
+}
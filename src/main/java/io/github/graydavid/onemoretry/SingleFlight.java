@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+
+/**
+ * Coalesces concurrent calls for the same key into a single call. The first thread to ask for a key (the leader)
+ * makes the call on its own thread; every other thread that asks for that key while the call is in flight waits for it
+ * and gets the very same Try. Once the call finishes, the key is forgotten: the next thread to ask makes a new call.
+ * That's what prevents a stampede of identical calls on a cold key, e.g. right after a deploy; pair it with a cache (as
+ * {@link TryCache} does) to avoid repeating calls after they finish, too.
+ *
+ * Interrupts only ever affect the thread they're aimed at. If a waiting thread is interrupted, it stops waiting and
+ * gets a failure with the InterruptedException, with its interrupt status set again, while the call carries on for the
+ * leader and every other waiter. If the call itself throws an InterruptedException, it's only the leader's interrupt
+ * status that's set, as per {@link Try#callCatchThrowable(ThrowableCallable)}; the waiters get the same failed Try, but
+ * their interrupt status is left alone, since they weren't interrupted.
+ */
+public final class SingleFlight<K, T> {
+    private final ConcurrentMap<K, CompletableFuture<Try<T>>> inFlight = new ConcurrentHashMap<>();
+
+    /** Creates a SingleFlight with no calls in flight. Share one instance between every caller that should coalesce. */
+    public SingleFlight() {}
+
+    /**
+     * Calls callable as per {@link Try#callCatchThrowable(ThrowableCallable)}, unless a call for key is already in
+     * flight, in which case waits for and returns that call's Try instead.
+     */
+    public Try<T> callCatchThrowable(K key, ThrowableCallable<? extends T> callable) {
+        Objects.requireNonNull(callable, "callable");
+        return share(key, () -> Try.callCatchThrowableWidening(callable));
+    }
+
+    /**
+     * The general form of {@link #callCatchThrowable(Object, ThrowableCallable)}: gets the Try from supplier, unless a
+     * call for key is already in flight. If supplier throws, the waiters get a failure with what it threw, and the
+     * leader gets it thrown.
+     */
+    Try<T> share(K key, Supplier<Try<T>> supplier) {
+        Objects.requireNonNull(key, "key");
+        CompletableFuture<Try<T>> call = new CompletableFuture<>();
+        CompletableFuture<Try<T>> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            Try<T> result = supplier.get();
+            call.complete(result);
+            return result;
+        } catch (Throwable t) {
+            call.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <T> Try<T> await(CompletableFuture<Try<T>> call) {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            return Try.ofFailurePreservingInterrupt(e);
+        } catch (ExecutionException e) {
+            return Try.ofFailureSwallowingInterrupt(e.getCause());
+        }
+    }
+
+    /** Returns the number of keys with a call in flight. */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -6,13 +6,31 @@
 
 package io.github.graydavid.onemoretry;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -47,6 +65,9 @@ import java.util.function.Supplier;
  * I don't want to force that learning curve on people. I just want a simple, focused Try utility.<br>
  */
 public class Try<T> {
+    // Trys are immutable, so a single instance can represent every null success, no matter what T is
+    private static final Try<?> NULL_SUCCESS = new Try<>(null, null);
+
     private final T success;
     private final Throwable failure;
 
@@ -57,10 +78,17 @@ public class Try<T> {
 
     /**
      * Creates a Try object whose (nullable) result represents a success. This would be like a normal try block
-     * succeeding without throwing an exception.
+     * succeeding without throwing an exception. Null successes are all represented by the same shared instance, so
+     * creating them doesn't allocate anything.
      */
     public static <T> Try<T> ofSuccess(T success) {
-        return new Try<>(success, null);
+        return success == null ? nullSuccess() : new Try<>(success, null);
+    }
+
+    // Suppress justify: NULL_SUCCESS has neither a success nor a failure, so it's a valid Try<T> for every T
+    @SuppressWarnings("unchecked")
+    private static <T> Try<T> nullSuccess() {
+        return (Try<T>) NULL_SUCCESS;
     }
 
     /**
@@ -81,10 +109,44 @@ public class Try<T> {
      * failure is an InterruptedException, which is standard practice for catching an InterruptedException.
      */
     public static <T> Try<T> ofFailurePreservingInterrupt(Throwable failure) {
+        preserveInterrupt(failure);
+        return ofFailureSwallowingInterrupt(failure);
+    }
+
+    /** Sets the current Thread's interrupt status if failure is an InterruptedException. */
+    static void preserveInterrupt(Throwable failure) {
         if (failure instanceof InterruptedException) {
             Thread.currentThread().interrupt();
         }
-        return ofFailureSwallowingInterrupt(failure);
+    }
+
+    /**
+     * Creates a Try object whose failure is a new {@link StacklessException} with the given reason. This is a cheap way
+     * to represent an expected, high-rate failure (e.g. rejecting a call to a dependency that's known to be down),
+     * since creating a StacklessException doesn't capture the current stack trace, which is where most of the cost of
+     * creating a normal exception goes. If even that's too much, create a StacklessException once, store it, and pass
+     * it to {@link #ofFailureSwallowingInterrupt(Throwable)} every time instead.
+     */
+    public static <T> Try<T> ofStacklessFailure(String reason) {
+        return ofFailureSwallowingInterrupt(new StacklessException(reason));
+    }
+
+    /**
+     * A RuntimeException that neither captures a stack trace nor records suppressed exceptions, which makes it cheap to
+     * create and safe to preallocate and share between threads and Trys (nothing ever modifies it after construction).
+     * The tradeoff is debuggability: the reason (and cause, if any) are the only information about where the failure
+     * came from, so pick a reason that identifies it.
+     */
+    public static class StacklessException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public StacklessException(String reason) {
+            super(reason, null, false, false);
+        }
+
+        public StacklessException(String reason, Throwable cause) {
+            super(reason, cause, false, false);
+        }
     }
 
     /**
@@ -118,13 +180,19 @@ public class Try<T> {
     /**
      * Same as {@link #callCatchRuntime(RuntimeCallable)}, except that nothing is returned from the runnable, so a
      * Try<Void> is returned. {@link #getSuccess()} will always return an empty Optional, regardless of whether the
-     * result was actually successful or not.
+     * result was actually successful or not. Successful runs return the shared null-success Try, so they don't allocate
+     * anything.
      */
     public static Try<Void> runCatchRuntime(Runnable runnable) {
-        return callCatchRuntime(() -> {
+        long start = TryEvents.start();
+        try {
             runnable.run();
-            return null;
-        });
+        } catch (RuntimeException e) {
+            TryEvents.failed(runnable, e, start);
+            return Try.ofFailureSwallowingInterrupt(e);
+        }
+        TryEvents.succeeded(runnable, start);
+        return nullSuccess();
     }
 
     /**
@@ -137,12 +205,16 @@ public class Try<T> {
      * the callable could still sneakily throw Exceptions and Throwables.
      */
     public static <T> Try<T> callCatchRuntime(RuntimeCallable<T> callable) {
+        long start = TryEvents.start();
+        T success;
         try {
-            T success = callable.call();
-            return Try.ofSuccess(success);
+            success = callable.call();
         } catch (RuntimeException e) {
+            TryEvents.failed(callable, e, start);
             return Try.ofFailureSwallowingInterrupt(e);
         }
+        TryEvents.succeeded(callable, start);
+        return Try.ofSuccess(success);
     }
 
     /** Similar to {@link Callable} except that it declares that it throws a RuntimeException, like {@link Runnable}. */
@@ -154,13 +226,18 @@ public class Try<T> {
     /**
      * Same as {@link #callCatchException(Callable)}, except that nothing is returned from the runnable, so a Try<Void>
      * is returned. {@link #getSuccess()} will always return an empty Optional, regardless of whether the result was
-     * actually successful or not.
+     * actually successful or not. As with {@link #runCatchRuntime(Runnable)}, successful runs don't allocate anything.
      */
     public static Try<Void> runCatchException(ExceptionRunnable runnable) {
-        return callCatchException(() -> {
+        long start = TryEvents.start();
+        try {
             runnable.run();
-            return null;
-        });
+        } catch (Exception e) {
+            TryEvents.failed(runnable, e, start);
+            return Try.ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(runnable, start);
+        return nullSuccess();
     }
 
     /** Similar to {@link Runnable} except that it declares that it throws an Exception, like {@link Callable}. */
@@ -179,24 +256,33 @@ public class Try<T> {
      * sneakily throw Throwables.
      */
     public static <T> Try<T> callCatchException(Callable<T> callable) {
+        long start = TryEvents.start();
+        T success;
         try {
-            T success = callable.call();
-            return Try.ofSuccess(success);
+            success = callable.call();
         } catch (Exception e) {
+            TryEvents.failed(callable, e, start);
             return Try.ofFailurePreservingInterrupt(e);
         }
+        TryEvents.succeeded(callable, start);
+        return Try.ofSuccess(success);
     }
 
     /**
      * Same as {@link #callCatchThrowable(Callable)}, except that nothing is returned from the runnable, so a Try<Void>
      * is returned. {@link #getSuccess()} will always return an empty Optional, regardless of whether the result was
-     * actually successful or not.
+     * actually successful or not. As with {@link #runCatchRuntime(Runnable)}, successful runs don't allocate anything.
      */
     public static Try<Void> runCatchThrowable(ThrowableRunnable runnable) {
-        return callCatchThrowable(() -> {
+        long start = TryEvents.start();
+        try {
             runnable.run();
-            return null;
-        });
+        } catch (Throwable e) {
+            TryEvents.failed(runnable, e, start);
+            return Try.ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(runnable, start);
+        return nullSuccess();
     }
 
     /** Similar to {@link Runnable} except that it declares that it throws a Throwable. */
@@ -213,12 +299,44 @@ public class Try<T> {
      * not be caught explicitly in standard code.
      */
     public static <T> Try<T> callCatchThrowable(ThrowableCallable<T> callable) {
+        long start = TryEvents.start();
+        T success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            return Try.ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return Try.ofSuccess(success);
+    }
+
+    /**
+     * Same as {@link #callCatchThrowable(ThrowableCallable)}, for callers holding a callable of some subtype of T.
+     * Passes callable through as is, rather than wrapping it to fit the type, so that listeners see its class as the
+     * site.
+     */
+    // Suppress justify: callable only ever produces Ts, so it's a valid ThrowableCallable<T>
+    @SuppressWarnings("unchecked")
+    static <T> Try<T> callCatchThrowableWidening(ThrowableCallable<? extends T> callable) {
+        return callCatchThrowable((ThrowableCallable<T>) callable);
+    }
+
+    /**
+     * Applies function to input as per {@link #callCatchThrowable(ThrowableCallable)}. Listeners see function itself
+     * as the site, rather than a lambda wrapping the application.
+     */
+    static <A, T> Try<T> applyCatchThrowable(ThrowableFunction<? super A, ? extends T> function, A input) {
+        long start = TryEvents.start();
+        T success;
         try {
-            T success = callable.call();
-            return Try.ofSuccess(success);
+            success = function.apply(input);
         } catch (Throwable e) {
+            TryEvents.failed(function, e, start);
             return Try.ofFailurePreservingInterrupt(e);
         }
+        TryEvents.succeeded(function, start);
+        return Try.ofSuccess(success);
     }
 
     /** Similar to {@link Callable} except that it declares that it throws a Throwable. */
@@ -227,6 +345,286 @@ public class Try<T> {
         T call() throws Throwable;
     }
 
+    /**
+     * Creates a {@link LazyTry} that calls callable, as per {@link #callCatchThrowable(ThrowableCallable)}, the first
+     * time its result is asked for, and caches that result from then on. callable is called at most once, even when
+     * multiple threads ask at the same time.
+     */
+    public static <T> LazyTry<T> lazy(ThrowableCallable<T> callable) {
+        return new LazyTry<>(Objects.requireNonNull(callable, "callable"), false);
+    }
+
+    /**
+     * Same as {@link #lazy(ThrowableCallable)}, except that threads never wait for each other: if multiple threads ask
+     * for the result before it's been computed, each calls callable, and whichever result is published first is the
+     * one every thread sees. Only use this for callables that are idempotent and free of side effects.
+     */
+    public static <T> LazyTry<T> lazyRacy(ThrowableCallable<T> callable) {
+        return new LazyTry<>(Objects.requireNonNull(callable, "callable"), true);
+    }
+
+    /**
+     * Fuses {@link #callCatchRuntime(RuntimeCallable)}, {@link #observeFailure(Consumer)} and
+     * {@link #getOrRecover(Function)} into a single call that doesn't create a Try: returns callable's result or, if
+     * callable throws a RuntimeException, passes it to onFailure and returns defaultValue. This is meant for hot loops
+     * where even a short-lived Try is too much; the primitive Try classes have versions that don't box, either (e.g.
+     * {@link LongTry#callCatchRuntimeOrDefault(LongTry.RuntimeLongCallable, long, Consumer)}).
+     */
+    public static <T> T callCatchRuntimeOrDefault(RuntimeCallable<T> callable, T defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        T success;
+        try {
+            success = callable.call();
+        } catch (RuntimeException e) {
+            TryEvents.failed(callable, e, start);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /**
+     * The {@link #callCatchException(Callable)} version of
+     * {@link #callCatchRuntimeOrDefault(RuntimeCallable, Object, Consumer)}. As with callCatchException, if callable
+     * throws an InterruptedException, the current Thread's interrupt status is set (before onFailure is called).
+     */
+    public static <T> T callCatchExceptionOrDefault(Callable<T> callable, T defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        T success;
+        try {
+            success = callable.call();
+        } catch (Exception e) {
+            TryEvents.failed(callable, e, start);
+            preserveInterrupt(e);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /**
+     * The {@link #callCatchThrowable(ThrowableCallable)} version of
+     * {@link #callCatchExceptionOrDefault(Callable, Object, Consumer)}.
+     */
+    public static <T> T callCatchThrowableOrDefault(ThrowableCallable<T> callable, T defaultValue,
+            Consumer<? super Throwable> onFailure) {
+        long start = TryEvents.start();
+        T success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            preserveInterrupt(e);
+            onFailure.accept(e);
+            return defaultValue;
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
+    }
+
+    /**
+     * Calls each callable in order, as per {@link #callCatchThrowable(ThrowableCallable)}, and returns the results as
+     * a compact {@link BatchResult} rather than a Try per call. Every callable is called, regardless of whether earlier
+     * ones failed.
+     */
+    public static <T> BatchResult<T> callAll(List<? extends ThrowableCallable<? extends T>> callables) {
+        return mapEach(callables, callFunction());
+    }
+
+    /**
+     * The function callAll and callAllParallel apply to each callable. It's a single shared instance so that
+     * {@link TryEvents} can recognize it and report each callable, rather than this function, as the call's site.
+     */
+    static final ThrowableFunction<ThrowableCallable<?>, Object> CALL = ThrowableCallable::call;
+
+    // Suppress justify: CALL returns whatever the callable it's applied to returns, which is a T for these callables
+    @SuppressWarnings("unchecked")
+    private static <T> ThrowableFunction<ThrowableCallable<? extends T>, T> callFunction() {
+        return (ThrowableFunction<ThrowableCallable<? extends T>, T>) (ThrowableFunction<?, ?>) CALL;
+    }
+
+    /**
+     * Applies function to each input in iteration order, as per {@link #callCatchThrowable(ThrowableCallable)}, and
+     * returns the results as a compact {@link BatchResult}, with the same indices as the inputs.
+     */
+    public static <A, T> BatchResult<T> mapEach(Collection<? extends A> inputs,
+            ThrowableFunction<? super A, ? extends T> function) {
+        Object[] successes = new Object[inputs.size()];
+        Map<Integer, Throwable> failures = null;
+        int index = 0;
+        for (A input : inputs) {
+            long start = TryEvents.start();
+            try {
+                successes[index] = function.apply(input);
+            } catch (Throwable e) {
+                TryEvents.elementFailed(function, input, e, start);
+                preserveInterrupt(e);
+                failures = BatchResult.addFailure(failures, index++, e);
+                continue;
+            }
+            TryEvents.elementSucceeded(function, input, start);
+            ++index;
+        }
+        return new BatchResult<>(successes, failures);
+    }
+
+    /** Similar to {@link Function} except that it declares that it throws a Throwable. */
+    @FunctionalInterface
+    public interface ThrowableFunction<A, T> {
+        T apply(A input) throws Throwable;
+    }
+
+    /** Similar to {@link Function} except that it declares that it throws an Exception. */
+    @FunctionalInterface
+    public interface ExceptionFunction<A, T> {
+        T apply(A input) throws Exception;
+    }
+
+    /**
+     * The parallel version of {@link #callAll(List)}: same as
+     * {@link #mapEachParallel(Collection, ThrowableFunction, Executor)} with the callables as the inputs.
+     */
+    public static <T> BatchResult<T> callAllParallel(List<? extends ThrowableCallable<? extends T>> callables,
+            Executor executor) {
+        return mapEachParallel(callables, callFunction(), executor);
+    }
+
+    /**
+     * Same as {@link #callAllParallel(List, Executor)}, except that the common ForkJoinPool is used. Since the calls
+     * share that pool with everything else in the JVM, they should be CPU-bound rather than blocking.
+     */
+    public static <T> BatchResult<T> callAllParallel(List<? extends ThrowableCallable<? extends T>> callables) {
+        return callAllParallel(callables, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The parallel version of {@link #mapEach(Collection, ThrowableFunction)}: splits inputs into contiguous chunks and
+     * runs each chunk on executor, while the current thread waits for them all. The returned BatchResult is in input
+     * order, as if the calls had been made sequentially. If executor rejects a chunk, each input in that chunk fails
+     * with the RejectedExecutionException.
+     * 
+     * Interrupts are handled as if the current thread had made every call itself. If any call throws an
+     * InterruptedException, the executor's thread's interrupt status is left alone (so that the interrupt doesn't leak
+     * into whatever that thread runs next), and the current thread's interrupt status is set instead, once every chunk
+     * is done. If the current thread is interrupted while waiting, inputs that haven't been started yet fail with that
+     * InterruptedException, while calls already in progress are allowed to finish.
+     */
+    public static <A, T> BatchResult<T> mapEachParallel(Collection<? extends A> inputs,
+            ThrowableFunction<? super A, ? extends T> function, Executor executor) {
+        return ParallelBatch.mapEach(inputs.toArray(), function, executor);
+    }
+
+    /**
+     * Same as {@link #mapEachParallel(Collection, ThrowableFunction, Executor)}, except that the common ForkJoinPool
+     * is used, as per {@link #callAllParallel(List)}.
+     */
+    public static <A, T> BatchResult<T> mapEachParallel(Collection<? extends A> inputs,
+            ThrowableFunction<? super A, ? extends T> function) {
+        return mapEachParallel(inputs, function, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Collects the successes of trys, in iteration order, into a successful Try of an unmodifiable List. Stops
+     * iterating at the first failure and returns that failed Try itself, so later Trys aren't even pulled from trys
+     * (which matters if trys is computed lazily).
+     */
+    public static <T> Try<List<T>> sequence(Iterable<? extends Try<? extends T>> trys) {
+        List<T> successes = new ArrayList<>();
+        for (Try<? extends T> element : trys) {
+            if (element.isFailure()) {
+                return element.castFailure();
+            }
+            successes.add(element.success);
+        }
+        return ofSuccess(Collections.unmodifiableList(successes));
+    }
+
+    /**
+     * Applies function to each input in iteration order, as per {@link #callCatchThrowable(ThrowableCallable)}, and
+     * collects the results into a successful Try of an unmodifiable List. Stops at the first failure and returns it, so
+     * function isn't applied to (and inputs doesn't even produce) any later inputs. Use
+     * {@link #mapEach(Collection, ThrowableFunction)} instead to apply function to every input, regardless of failures.
+     */
+    public static <A, T> Try<List<T>> traverse(Iterable<? extends A> inputs,
+            ThrowableFunction<? super A, ? extends T> function) {
+        List<T> successes = new ArrayList<>();
+        for (A input : inputs) {
+            long start = TryEvents.start();
+            T success;
+            try {
+                success = function.apply(input);
+            } catch (Throwable e) {
+                TryEvents.failed(function, e, start);
+                return ofFailurePreservingInterrupt(e);
+            }
+            TryEvents.succeeded(function, start);
+            successes.add(success);
+        }
+        return ofSuccess(Collections.unmodifiableList(successes));
+    }
+
+    /**
+     * Same as {@link #callCatchThrowable(ThrowableCallable, Deadline)}, with a deadline that expires timeout from now.
+     */
+    public static <T> Try<T> callCatchThrowable(ThrowableCallable<T> callable, Duration timeout) {
+        return callCatchThrowable(callable, Deadline.after(timeout));
+    }
+
+    /**
+     * Same as {@link #callCatchThrowable(ThrowableCallable, Deadline, ExecutorService)}, except that the default
+     * executor is used (see {@link #callCatchRuntimeAsync(RuntimeCallable)}).
+     */
+    public static <T> Try<T> callCatchThrowable(ThrowableCallable<T> callable, Deadline deadline) {
+        return callCatchThrowable(callable, deadline, DefaultExecutors.async());
+    }
+
+    /**
+     * Same as {@link #callCatchThrowable(ThrowableCallable)}, except that the call must finish by deadline. callable
+     * is called on executor while the current thread waits. If the deadline expires first, the call is cancelled,
+     * interrupting executor's thread, and the returned Try is a failure with a TimeoutException. Whatever callable
+     * eventually returns or throws is ignored. In particular, if it throws an InterruptedException, it's executor's
+     * thread whose interrupt status is set, as per {@link #ofFailurePreservingInterrupt(Throwable)}, never the current
+     * thread's.
+     * 
+     * Deadlines are inherited: if the current thread is itself running a call bounded by an earlier deadline, that
+     * earlier deadline applies instead. While callable runs, the applied deadline is {@link Deadline#current()}, so
+     * nested calls see the remaining budget. If the applied deadline has already expired, callable isn't called.
+     * 
+     * If the current thread is interrupted while waiting, the call is cancelled, too, and the returned Try is a failure
+     * with the InterruptedException, with the interrupt status set again. If executor rejects the call, the returned
+     * Try is a failure with the RejectedExecutionException.
+     */
+    public static <T> Try<T> callCatchThrowable(ThrowableCallable<T> callable, Deadline deadline,
+            ExecutorService executor) {
+        Deadline applied = deadline.inheriting();
+        if (applied.isExpired()) {
+            return Try.ofFailureSwallowingInterrupt(new TimeoutException("Deadline expired before call started"));
+        }
+
+        Future<Try<T>> future;
+        try {
+            future = executor.submit(() -> applied.getAsCurrent(() -> callCatchThrowable(callable)));
+        } catch (RejectedExecutionException e) {
+            return Try.ofFailureSwallowingInterrupt(e);
+        }
+        try {
+            return future.get(applied.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return Try.ofFailureSwallowingInterrupt(new TimeoutException("Deadline expired before call finished"));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            return Try.ofFailurePreservingInterrupt(e);
+        } catch (ExecutionException e) {
+            // Impossible: callCatchThrowable catches everything, and the future is only ever cancelled above
+            throw new AssertionError(e);
+        }
+    }
+
     /**
      * Runs the runnable as if it only produced unchecked exceptions. If a checked exception is thrown, it's caught,
      * wrapped in a {@link CheckedExceptionWrapper}, and then rethrown. This is the same as calling
@@ -244,14 +642,33 @@ public class Try<T> {
      *          extreme utility version.
      */
     public static void runUnchecked(ThrowableRunnable runnable) {
-        Try.runCatchThrowable(runnable).getOrThrowUnchecked(CheckedExceptionWrapper::new);
+        long start = TryEvents.start();
+        try {
+            runnable.run();
+        } catch (Throwable e) {
+            TryEvents.failed(runnable, e, start);
+            throw uncheckedPreservingInterrupt(e);
+        }
+        TryEvents.succeeded(runnable, start);
+    }
+
+    /**
+     * Does the same thing to failure as {@link #ofFailurePreservingInterrupt(Throwable)} followed by
+     * {@link #getOrThrowUnchecked()}, but without having to create the Try in between. Unchecked failures are thrown
+     * directly; checked failures are returned wrapped, so that callers can throw the result and let the compiler know
+     * that this method never returns normally.
+     */
+    private static RuntimeException uncheckedPreservingInterrupt(Throwable failure) {
+        preserveInterrupt(failure);
+        throwIfUnchecked(failure);
+        return new CheckedExceptionWrapper(failure);
     }
 
     /** An unchecked wrapper around a CheckedException */
     public static class CheckedExceptionWrapper extends RuntimeException {
         private static final long serialVersionUID = 1L;
 
-        private CheckedExceptionWrapper(Throwable cause) {
+        CheckedExceptionWrapper(Throwable cause) {
             super(cause);
         }
     }
@@ -263,7 +680,7 @@ public class Try<T> {
      * @apiNote see apiNote on {@link #runUnchecked(ThrowableRunnable)}.
      */
     public static Runnable uncheckedRunnable(ThrowableRunnable runnable) {
-        return () -> Try.runCatchThrowable(runnable).getOrThrowUnchecked(CheckedExceptionWrapper::new);
+        return () -> runUnchecked(runnable);
     }
 
     /**
@@ -279,7 +696,16 @@ public class Try<T> {
      * @apiNote see apiNote on {@link #runUnchecked(ThrowableRunnable)}.
      */
     public static <T> T callUnchecked(ThrowableCallable<T> callable) {
-        return Try.callCatchThrowable(callable).getOrThrowUnchecked(CheckedExceptionWrapper::new);
+        long start = TryEvents.start();
+        T success;
+        try {
+            success = callable.call();
+        } catch (Throwable e) {
+            TryEvents.failed(callable, e, start);
+            throw uncheckedPreservingInterrupt(e);
+        }
+        TryEvents.succeeded(callable, start);
+        return success;
     }
 
     /**
@@ -290,6 +716,109 @@ public class Try<T> {
         return () -> callUnchecked(callable);
     }
 
+    /**
+     * Asynchronously calls {@link #callCatchRuntime(RuntimeCallable)} on executor, returning a future that completes
+     * with the resulting Try. Since the Try is created on executor's thread, any interrupt-related side effects happen
+     * on that thread; the calling thread's interrupt status is never affected. If executor rejects the call, the
+     * returned future is already complete with a Try whose failure is the RejectedExecutionException.
+     * 
+     * Note: the returned future completes exceptionally in the same situations that
+     * {@link #callCatchRuntime(RuntimeCallable)} throws: i.e. when callable throws something other than a
+     * RuntimeException. Use {@link #callCatchThrowableAsync(ThrowableCallable, Executor)} for a future that never
+     * completes exceptionally (except by being cancelled directly).
+     */
+    public static <T> CompletableFuture<Try<T>> callCatchRuntimeAsync(RuntimeCallable<T> callable, Executor executor) {
+        return supplyAsync(() -> callCatchRuntime(callable), executor);
+    }
+
+    private static <T> CompletableFuture<Try<T>> supplyAsync(Supplier<Try<T>> supplier, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(Try.ofFailureSwallowingInterrupt(e));
+        }
+    }
+
+    /**
+     * Same as {@link #callCatchRuntimeAsync(RuntimeCallable, Executor)}, except that a default executor is used. That
+     * executor runs each call on its own thread: a virtual thread when running on JDK 21+; otherwise, a daemon platform
+     * thread from a cached pool. This is the same default for all *Async methods.
+     */
+    public static <T> CompletableFuture<Try<T>> callCatchRuntimeAsync(RuntimeCallable<T> callable) {
+        return callCatchRuntimeAsync(callable, DefaultExecutors.async());
+    }
+
+    /** The {@link #runCatchRuntime(Runnable)} version of {@link #callCatchRuntimeAsync(RuntimeCallable, Executor)}. */
+    public static CompletableFuture<Try<Void>> runCatchRuntimeAsync(Runnable runnable, Executor executor) {
+        return supplyAsync(() -> runCatchRuntime(runnable), executor);
+    }
+
+    /** Same as {@link #runCatchRuntimeAsync(Runnable, Executor)}, except that the default executor is used. */
+    public static CompletableFuture<Try<Void>> runCatchRuntimeAsync(Runnable runnable) {
+        return runCatchRuntimeAsync(runnable, DefaultExecutors.async());
+    }
+
+    /**
+     * The {@link #callCatchException(Callable)} version of {@link #callCatchRuntimeAsync(RuntimeCallable, Executor)}.
+     * In particular, if callable throws an InterruptedException (e.g. because executor is being shut down), it's
+     * executor's thread whose interrupt status is set, which is what lets executor notice the interrupt.
+     */
+    public static <T> CompletableFuture<Try<T>> callCatchExceptionAsync(Callable<T> callable, Executor executor) {
+        return supplyAsync(() -> callCatchException(callable), executor);
+    }
+
+    /** Same as {@link #callCatchExceptionAsync(Callable, Executor)}, except that the default executor is used. */
+    public static <T> CompletableFuture<Try<T>> callCatchExceptionAsync(Callable<T> callable) {
+        return callCatchExceptionAsync(callable, DefaultExecutors.async());
+    }
+
+    /**
+     * The {@link #runCatchException(ExceptionRunnable)} version of
+     * {@link #callCatchExceptionAsync(Callable, Executor)}.
+     */
+    public static CompletableFuture<Try<Void>> runCatchExceptionAsync(ExceptionRunnable runnable, Executor executor) {
+        return supplyAsync(() -> runCatchException(runnable), executor);
+    }
+
+    /**
+     * Same as {@link #runCatchExceptionAsync(ExceptionRunnable, Executor)}, except that the default executor is used.
+     */
+    public static CompletableFuture<Try<Void>> runCatchExceptionAsync(ExceptionRunnable runnable) {
+        return runCatchExceptionAsync(runnable, DefaultExecutors.async());
+    }
+
+    /**
+     * The {@link #callCatchThrowable(ThrowableCallable)} version of
+     * {@link #callCatchExceptionAsync(Callable, Executor)}. Since everything callable throws is caught, the returned
+     * future never completes exceptionally (except by being cancelled directly).
+     */
+    public static <T> CompletableFuture<Try<T>> callCatchThrowableAsync(ThrowableCallable<T> callable,
+            Executor executor) {
+        return supplyAsync(() -> callCatchThrowable(callable), executor);
+    }
+
+    /**
+     * Same as {@link #callCatchThrowableAsync(ThrowableCallable, Executor)}, except that the default executor is used.
+     */
+    public static <T> CompletableFuture<Try<T>> callCatchThrowableAsync(ThrowableCallable<T> callable) {
+        return callCatchThrowableAsync(callable, DefaultExecutors.async());
+    }
+
+    /**
+     * The {@link #runCatchThrowable(ThrowableRunnable)} version of
+     * {@link #callCatchThrowableAsync(ThrowableCallable, Executor)}.
+     */
+    public static CompletableFuture<Try<Void>> runCatchThrowableAsync(ThrowableRunnable runnable, Executor executor) {
+        return supplyAsync(() -> runCatchThrowable(runnable), executor);
+    }
+
+    /**
+     * Same as {@link #runCatchThrowableAsync(ThrowableRunnable, Executor)}, except that the default executor is used.
+     */
+    public static CompletableFuture<Try<Void>> runCatchThrowableAsync(ThrowableRunnable runnable) {
+        return runCatchThrowableAsync(runnable, DefaultExecutors.async());
+    }
+
     /**
      * Gets the successful part of this Try, if present. If the try was not successful, then an empty Optional is
      * returned. Note: an empty Optional can also be produced by a successful try with a null result, so that should not
@@ -377,7 +906,15 @@ public class Try<T> {
         if (isSuccess()) {
             return success;
         }
+        throw throwUnchecked(failure, checkedTransformer);
+    }
 
+    /**
+     * The failure half of {@link #getOrThrowUnchecked(Function)}, shared with the primitive Try classes. Never returns
+     * normally: the return type only lets callers write "throw throwUnchecked(...)" to satisfy the compiler.
+     */
+    static RuntimeException throwUnchecked(Throwable failure,
+            Function<? super Throwable, ? extends Throwable> checkedTransformer) {
         throwIfUnchecked(failure);
         Throwable transformed = checkedTransformer.apply(failure);
         throwIfUnchecked(transformed);
@@ -433,7 +970,15 @@ public class Try<T> {
         if (isSuccess()) {
             return success;
         }
+        throw throwException(failure, throwableTransformer);
+    }
 
+    /**
+     * The failure half of {@link #getOrThrowException(Function)}. Like {@link #throwUnchecked(Throwable, Function)},
+     * this never returns normally.
+     */
+    static Exception throwException(Throwable failure,
+            Function<? super Throwable, ? extends Throwable> throwableTransformer) throws Exception {
         clearInterruptStatusForInterruptedException(failure);
         throwIfNonThrowableChecked(failure);
         Throwable transformed = throwableTransformer.apply(failure);
@@ -441,7 +986,7 @@ public class Try<T> {
         throw new IllegalArgumentException("The throwableTransformer should not return Throwables", transformed);
     }
 
-    private static void clearInterruptStatusForInterruptedException(Throwable throwable) {
+    static void clearInterruptStatusForInterruptedException(Throwable throwable) {
         if (throwable instanceof InterruptedException) {
             Thread.interrupted();
         }
@@ -530,6 +1075,216 @@ public class Try<T> {
         consumer.accept(success, failure);
     }
 
+    /**
+     * If this Try is successful, applies mapper to the success part, as per {@link #callCatchException(Callable)}, and
+     * returns the result: so if mapper throws an Exception, the returned Try is a failure with it (and an
+     * InterruptedException sets the current Thread's interrupt status). If this Try is a failure, mapper isn't called,
+     * and this Try itself is returned, so the failure path doesn't allocate anything.
+     */
+    public <U> Try<U> map(ExceptionFunction<? super T, ? extends U> mapper) {
+        if (isFailure()) {
+            return castFailure();
+        }
+        long start = TryEvents.start();
+        U mapped;
+        try {
+            mapped = mapper.apply(success);
+        } catch (Exception e) {
+            TryEvents.failed(mapper, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(mapper, start);
+        return ofSuccess(mapped);
+    }
+
+    /**
+     * Same as {@link #map(ExceptionFunction)}, except that mapper returns a Try of its own, which is returned as is.
+     * 
+     * @throws NullPointerException if mapper returns null.
+     */
+    public <U> Try<U> flatMap(ExceptionFunction<? super T, ? extends Try<? extends U>> mapper) {
+        if (isFailure()) {
+            return castFailure();
+        }
+        long start = TryEvents.start();
+        Try<? extends U> mapped;
+        try {
+            mapped = mapper.apply(success);
+        } catch (Exception e) {
+            TryEvents.failed(mapper, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(mapper, start);
+        return widen(Objects.requireNonNull(mapped, "mapper returned null"));
+    }
+
+    // Suppress justify: Trys are immutable, so a Try<? extends U> can always be used as a Try<U>
+    @SuppressWarnings("unchecked")
+    private static <U> Try<U> widen(Try<? extends U> narrow) {
+        return (Try<U>) narrow;
+    }
+
+    /**
+     * If this Try is successful and predicate holds for the success part, returns this Try. If predicate doesn't hold,
+     * returns a failure with the Throwable created by failureFactory from the success part. If this Try is already a
+     * failure, neither function is called, and this Try is returned. Exceptions thrown by either function are handled
+     * as per {@link #map(ExceptionFunction)}.
+     */
+    public Try<T> filter(Predicate<? super T> predicate, Function<? super T, ? extends Throwable> failureFactory) {
+        if (isFailure()) {
+            return this;
+        }
+        long start = TryEvents.start();
+        boolean holds;
+        try {
+            holds = predicate.test(success);
+        } catch (Exception e) {
+            TryEvents.failed(predicate, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(predicate, start);
+        if (holds) {
+            return this;
+        }
+        try {
+            return ofFailureSwallowingInterrupt(failureFactory.apply(success));
+        } catch (Exception e) {
+            return ofFailurePreservingInterrupt(e);
+        }
+    }
+
+    /**
+     * The Try version of {@link #getOrRecover(Function)}: if this Try is a failure, applies recovery to the failure
+     * part, as per {@link #callCatchException(Callable)}, and returns the result. If this Try is successful, recovery
+     * isn't called, and this Try itself is returned.
+     */
+    public Try<T> recover(ExceptionFunction<? super Throwable, ? extends T> recovery) {
+        if (isSuccess()) {
+            return this;
+        }
+        long start = TryEvents.start();
+        T recovered;
+        try {
+            recovered = recovery.apply(failure);
+        } catch (Exception e) {
+            TryEvents.failed(recovery, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(recovery, start);
+        return ofSuccess(recovered);
+    }
+
+    /**
+     * Same as {@link #recover(ExceptionFunction)}, except that recovery returns a Try of its own, which is returned as
+     * is. That allows recovery to decide to fail after all, e.g. for failures it doesn't know how to handle.
+     * 
+     * @throws NullPointerException if recovery returns null.
+     */
+    public Try<T> recoverWith(ExceptionFunction<? super Throwable, ? extends Try<? extends T>> recovery) {
+        if (isSuccess()) {
+            return this;
+        }
+        long start = TryEvents.start();
+        Try<? extends T> recovered;
+        try {
+            recovered = recovery.apply(failure);
+        } catch (Exception e) {
+            TryEvents.failed(recovery, e, start);
+            return ofFailurePreservingInterrupt(e);
+        }
+        TryEvents.succeeded(recovery, start);
+        return widen(Objects.requireNonNull(recovered, "recovery returned null"));
+    }
+
+    /**
+     * Creates a CompletableFuture that's already complete with this Try's result: successfully with the success part if
+     * this Try is a success; otherwise, exceptionally with the failure part.
+     */
+    public CompletableFuture<T> toFuture() {
+        return isSuccess() ? CompletableFuture.completedFuture(success) : CompletableFuture.failedFuture(failure);
+    }
+
+    /**
+     * Creates a future that completes with a Try representing the result of stage, once stage completes. The Try is a
+     * success if stage completes normally; otherwise, it's a failure. The returned future never blocks a thread waiting
+     * on stage, and it never completes exceptionally, except by being cancelled directly.
+     * 
+     * CompletionStages wrap failures from earlier stages in a CompletionException. If stage fails with a
+     * CompletionException that has a cause, then the failure part of the Try is that cause rather than the
+     * CompletionException itself.
+     * 
+     * The Try is created by {@link #ofSwallowingInterrupt(Object, Throwable)} on whichever thread completes stage, so
+     * an InterruptedException failure doesn't set that (unrelated) thread's interrupt status.
+     */
+    public static <T> CompletableFuture<Try<T>> fromFuture(CompletionStage<T> stage) {
+        return stage.handle((success, failure) -> Try.<T>ofSwallowingInterrupt(success, unwrapCompletion(failure)))
+                .toCompletableFuture();
+    }
+
+    static Throwable unwrapCompletion(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+
+    /**
+     * The reverse of {@link #fromFuture(CompletionStage)}: creates a future that completes with the success part of
+     * stage's Try, or exceptionally with its failure part, once stage completes. If stage itself completes
+     * exceptionally, so does the returned future. Like {@link #fromFuture(CompletionStage)}, this never blocks a thread
+     * waiting on stage.
+     */
+    public static <T> CompletableFuture<T> flattenFuture(CompletionStage<Try<T>> stage) {
+        return stage.thenCompose(Try::toFuture).toCompletableFuture();
+    }
+
+    /**
+     * The async version of {@link #sequence(Iterable)}: creates a future that completes with a successful Try of every
+     * future's success, in list order, once every future has completed successfully, or with a failed Try as soon as
+     * any future fails. That's the first failure to happen, not necessarily the first in list order. A future that
+     * completes exceptionally counts as a failure, unwrapped as per {@link #fromFuture(CompletionStage)}, and so does
+     * one that completes with a null Try, as a NullPointerException.
+     * 
+     * Once the returned future completes with a failure, or is cancelled, every future in futures that's still
+     * outstanding is cancelled, so that dependent stages don't keep running for a result nobody wants. Note that
+     * cancelling a CompletableFuture doesn't interrupt whatever is computing it; see
+     * {@link #traverseAsync(Collection, ThrowableFunction, ExecutorService)} for that.
+     */
+    public static <T> CompletableFuture<Try<List<T>>> sequenceAsync(
+            List<? extends CompletableFuture<? extends Try<? extends T>>> futures) {
+        return AsyncSequence.sequence(futures);
+    }
+
+    /**
+     * The async version of {@link #traverse(Iterable, ThrowableFunction)}: applies function to each input on executor,
+     * as per {@link #callCatchThrowableAsync(ThrowableCallable, Executor)}, and returns a future that completes with a
+     * successful Try of the results, in input order, once every call has succeeded, or with a failed Try as soon as any
+     * call fails. If executor rejects a call, that counts as a failure with the RejectedExecutionException.
+     * 
+     * Once the returned future completes with a failure, or is cancelled, no more inputs are submitted, and the Futures
+     * for calls already submitted are cancelled, interrupting the calls that are still running. That way, a required
+     * call that fails early frees up the resources held by all of the others straight away.
+     */
+    public static <A, T> CompletableFuture<Try<List<T>>> traverseAsync(Collection<? extends A> inputs,
+            ThrowableFunction<? super A, ? extends T> function, ExecutorService executor) {
+        return AsyncSequence.traverse(inputs, function, executor);
+    }
+
+    /**
+     * Same as {@link #traverseAsync(Collection, ThrowableFunction, ExecutorService)}, except that the default executor
+     * is used (see {@link #callCatchRuntimeAsync(RuntimeCallable)}).
+     */
+    public static <A, T> CompletableFuture<Try<List<T>>> traverseAsync(Collection<? extends A> inputs,
+            ThrowableFunction<? super A, ? extends T> function) {
+        return traverseAsync(inputs, function, DefaultExecutors.async());
+    }
+
+    // Suppress justify: a failed Try's success is always null, so a failed Try is a valid Try<U> for every U
+    @SuppressWarnings("unchecked")
+    private <U> Try<U> castFailure() {
+        return (Try<U>) this;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (object instanceof Try) {
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import io.github.graydavid.onemoretry.Try.ThrowableFunction;
+
+/**
+ * A size-bounded, concurrent cache of the Trys produced by loading keys. Unlike caches that only hold successful
+ * values, TryCache caches failures, too, so that a key whose dependency is down doesn't call that dependency again on
+ * every request. Failures usually deserve a much shorter time-to-live than successes (just long enough to shed load
+ * from a struggling dependency), so the two are configured separately.
+ *
+ * Keys are loaded with the loader passed to {@link Builder#build(ThrowableFunction)}, as per
+ * {@link Try#callCatchThrowable(Try.ThrowableCallable)}. Concurrent loads of the same key are coalesced by a
+ * {@link SingleFlight}: one thread calls the loader, while the others wait for and share its Try, with interrupts
+ * handled as described there. Failures with an InterruptedException are never cached, since they say nothing about
+ * the key. Invalidating a key while it's being loaded still returns the load's Try to the callers waiting for it,
+ * but doesn't cache it.
+ *
+ * When the cache is full, inserting a new key evicts another, chosen by the CLOCK algorithm: keys sit in a ring, and
+ * eviction sweeps around it, skipping (and clearing the mark on) keys that were read since the sweep last passed them.
+ * That approximates least-recently-used eviction, but reads only set a flag, and only when it isn't already set: once a
+ * hot key is marked, reading it writes nothing shared, so concurrent reads don't contend for its cache line until the
+ * sweep clears the mark again. Expired keys are evicted when the sweep reaches them, whether or not they're marked.
+ *
+ * Optionally, successes can be refreshed in the background once they're older than {@link Builder#refreshAfter}: the
+ * first read after that point triggers a reload on the refresh executor, and reads keep getting the old success until
+ * the reload finishes. If the reload fails, the old success is kept until it expires, and the next refresh is
+ * attempted refreshAfter later.
+ */
+public final class TryCache<K, V> {
+    private final ThrowableFunction<? super K, ? extends V> loader;
+    private final int maximumSize;
+    private final long successTtlNanos;
+    private final long failureTtlNanos;
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<K, Node<K, V>> nodes = new ConcurrentHashMap<>();
+    private final SingleFlight<K, V> loads = new SingleFlight<>();
+    // The CLOCK ring: the head is where the sweep currently points; keys move to the tail when they get a second chance
+    private final Queue<Node<K, V>> clock = new ConcurrentLinkedQueue<>();
+    // Invalidated nodes stay in the ring until the sweep reaches them, or until enough pile up to purge them together
+    private final AtomicInteger deadNodes = new AtomicInteger();
+    // The flag for each load in progress, set if its key is invalidated while loading
+    private final ConcurrentMap<K, AtomicBoolean> invalidatedWhileLoading = new ConcurrentHashMap<>();
+
+    private TryCache(Builder builder, ThrowableFunction<? super K, ? extends V> loader) {
+        this.loader = loader;
+        this.maximumSize = builder.maximumSize;
+        this.successTtlNanos = Deadline.cappedNanos(builder.successTtl);
+        this.failureTtlNanos = Deadline.cappedNanos(builder.failureTtl);
+        this.refreshAfterNanos = builder.refreshAfter == null ? 0 : Deadline.cappedNanos(builder.refreshAfter);
+        this.refreshExecutor = builder.refreshExecutor;
+        this.nanoClock = builder.nanoClock;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the cached Try for key, if it hasn't expired; otherwise, loads key, caches the result, and returns it.
+     * See the class comment for how concurrent loads, interrupts, and background refreshes work.
+     */
+    public Try<V> get(K key) {
+        Objects.requireNonNull(key, "key");
+        Try<V> cached = getUnexpired(key, nanoClock.getAsLong());
+        return cached == null ? load(key) : cached;
+    }
+
+    private Try<V> getUnexpired(K key, long now) {
+        Node<K, V> node = nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        Entry<V> entry = node.entry;
+        if (entry.isExpired(now)) {
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        if (isRefreshDue(entry, now) && node.refreshing.compareAndSet(false, true)) {
+            refresh(node);
+        }
+        return entry.value;
+    }
+
+    private boolean isRefreshDue(Entry<V> entry, long now) {
+        return refreshAfterNanos > 0 && entry.value.isSuccess() && now - entry.refreshAtNanos >= 0;
+    }
+
+    private Try<V> load(K key) {
+        return loads.share(key, () -> {
+            // Another thread may have finished loading key between the cache miss and starting this load
+            Try<V> cached = getUnexpired(key, nanoClock.getAsLong());
+            if (cached != null) {
+                return cached;
+            }
+            AtomicBoolean invalidated = new AtomicBoolean();
+            invalidatedWhileLoading.put(key, invalidated);
+            try {
+                Try<V> result = Try.applyCatchThrowable(loader, key);
+                store(key, result, invalidated);
+                return result;
+            } finally {
+                invalidatedWhileLoading.remove(key, invalidated);
+            }
+        });
+    }
+
+    private void store(K key, Try<V> value, AtomicBoolean invalidated) {
+        if (value.getNullableFailure() instanceof InterruptedException) {
+            return;
+        }
+        long ttlNanos = value.isSuccess() ? successTtlNanos : failureTtlNanos;
+        if (ttlNanos <= 0) {
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        Entry<V> entry = new Entry<>(value, now + ttlNanos, now + refreshAfterNanos);
+        Node<K, V> created = new Node<>(key, entry);
+        Node<K, V> existing = nodes.putIfAbsent(key, created);
+        Node<K, V> stored = existing == null ? created : existing;
+        if (existing == null) {
+            clock.offer(created);
+        } else {
+            existing.entry = entry;
+        }
+        // Checked after storing, since invalidate does the reverse: whichever goes second sees what the other did
+        if (invalidated.get()) {
+            if (nodes.remove(key, stored)) {
+                discard(stored);
+            }
+            return;
+        }
+        if (existing == null) {
+            evictIfFull(now);
+        }
+    }
+
+    private void evictIfFull(long now) {
+        if (nodes.size() <= maximumSize) {
+            return;
+        }
+        synchronized (clock) {
+            while (nodes.size() > maximumSize) {
+                Node<K, V> node = clock.poll();
+                if (node == null) {
+                    return;
+                }
+                if (node.referenced && !node.dead && !node.entry.isExpired(now)) {
+                    node.referenced = false;
+                    clock.offer(node);
+                } else if (!nodes.remove(node.key, node)) {
+                    // Whoever already removed node from the map has discarded it (or is about to)
+                    deadNodes.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks node, which was just removed from the map, as dead. Rather than scanning the ring for it, which takes
+     * linear time, leaves it for the sweep to drop, unless enough dead nodes have piled up to purge them all.
+     */
+    private void discard(Node<K, V> node) {
+        node.dead = true;
+        if (deadNodes.incrementAndGet() > maximumSize) {
+            purgeDeadNodes();
+        }
+    }
+
+    private void purgeDeadNodes() {
+        synchronized (clock) {
+            int purged = 0;
+            for (Iterator<Node<K, V>> iterator = clock.iterator(); iterator.hasNext();) {
+                if (iterator.next().dead) {
+                    iterator.remove();
+                    ++purged;
+                }
+            }
+            deadNodes.addAndGet(-purged);
+        }
+    }
+
+    private void refresh(Node<K, V> node) {
+        try {
+            refreshExecutor.execute(() -> {
+                Try<V> result = Try.applyCatchThrowable(loader, node.key);
+                if (result.isSuccess()) {
+                    replaceEntry(node, result);
+                } else {
+                    postponeRefresh(node);
+                }
+                node.refreshing.set(false);
+            });
+        } catch (RejectedExecutionException e) {
+            postponeRefresh(node);
+            node.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Replaces node's entry with a refreshed success. Only ever writes to node itself, never to the map: if node was
+     * evicted or invalidated while the refresh was running, the write is dropped along with node, so a refresh never
+     * brings a key back (or replaces a node loaded for the key since).
+     */
+    private void replaceEntry(Node<K, V> node, Try<V> value) {
+        long now = nanoClock.getAsLong();
+        node.entry = new Entry<>(value, now + successTtlNanos, now + refreshAfterNanos);
+    }
+
+    private void postponeRefresh(Node<K, V> node) {
+        Entry<V> entry = node.entry;
+        long refreshAtNanos = nanoClock.getAsLong() + refreshAfterNanos;
+        node.entry = new Entry<>(entry.value, entry.expiresAtNanos, refreshAtNanos);
+    }
+
+    /** Removes key from the cache, so that the next {@link #get(Object)} loads it again. */
+    public void invalidate(K key) {
+        // Flags any load in progress before removing the node, which is the reverse of what store does
+        AtomicBoolean loading = invalidatedWhileLoading.get(key);
+        if (loading != null) {
+            loading.set(true);
+        }
+        Node<K, V> removed = nodes.remove(key);
+        if (removed != null) {
+            discard(removed);
+        }
+    }
+
+    /** Returns the number of keys in the cache, including any that have expired but haven't been evicted yet. */
+    public int size() {
+        return nodes.size();
+    }
+
+    /** Returns the number of nodes in the CLOCK ring, including dead ones. Takes linear time. */
+    int ringSize() {
+        return clock.size();
+    }
+
+    /** A key's slot in the cache. Its entry is replaced whenever the key is reloaded. */
+    private static final class Node<K, V> {
+        private final K key;
+        private volatile Entry<V> entry;
+        // The CLOCK mark: whether the key was read since the sweep last passed it
+        private volatile boolean referenced;
+        // Whether the node was removed from the map other than by the sweep, so the sweep should just drop it
+        private volatile boolean dead;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Node(K key, Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final Try<V> value;
+        private final long expiresAtNanos;
+        private final long refreshAtNanos;
+
+        private Entry(Try<V> value, long expiresAtNanos, long refreshAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+            this.refreshAtNanos = refreshAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    /** A builder of TryCache. All settings are optional and have the defaults documented on their setters. */
+    public static final class Builder {
+        private int maximumSize = 1000;
+        private Duration successTtl = Duration.ofMinutes(1);
+        private Duration failureTtl = Duration.ofSeconds(1);
+        private Duration refreshAfter;
+        private Executor refreshExecutor = DefaultExecutors.async();
+        private LongSupplier nanoClock = System::nanoTime;
+
+        private Builder() {}
+
+        /** The maximum number of keys to cache. Must be at least 1. Defaults to 1000. */
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("maximumSize must be at least 1: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /** How long successes are cached. Zero disables caching them. Must not be negative. Defaults to 1 minute. */
+        public Builder successTtl(Duration successTtl) {
+            this.successTtl = requireNonNegative(successTtl, "successTtl");
+            return this;
+        }
+
+        /** How long failures are cached. Zero disables caching them. Must not be negative. Defaults to 1 second. */
+        public Builder failureTtl(Duration failureTtl) {
+            this.failureTtl = requireNonNegative(failureTtl, "failureTtl");
+            return this;
+        }
+
+        private static Duration requireNonNegative(Duration duration, String name) {
+            Objects.requireNonNull(duration, name);
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException(name + " must not be negative: " + duration);
+            }
+            return duration;
+        }
+
+        /**
+         * How old a success must be before the next read refreshes it in the background. Must be positive; only useful
+         * if shorter than {@link #successTtl(Duration)}. Defaults to never refreshing, in which case successes are only
+         * reloaded once they expire, by the first thread to read them after that.
+         */
+        public Builder refreshAfter(Duration refreshAfter) {
+            Objects.requireNonNull(refreshAfter, "refreshAfter");
+            if (refreshAfter.isNegative() || refreshAfter.isZero()) {
+                throw new IllegalArgumentException("refreshAfter must be positive: " + refreshAfter);
+            }
+            this.refreshAfter = refreshAfter;
+            return this;
+        }
+
+        /** The executor to run background refreshes on. Defaults to the same executor as the *Async methods on Try. */
+        public Builder refreshExecutor(Executor refreshExecutor) {
+            this.refreshExecutor = Objects.requireNonNull(refreshExecutor, "refreshExecutor");
+            return this;
+        }
+
+        Builder nanoClock(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        /** Builds a TryCache that loads keys with loader. */
+        public <K, V> TryCache<K, V> build(ThrowableFunction<? super K, ? extends V> loader) {
+            return new TryCache<>(this, Objects.requireNonNull(loader, "loader"));
+        }
+    }
+}
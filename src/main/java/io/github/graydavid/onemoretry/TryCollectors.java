@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collector;
+
+/**
+ * Collectors for streams of Trys. Each one reads Trys through {@link Try#getNullableSuccess()} and
+ * {@link Try#getNullableFailure()}, so nothing is allocated per element beyond what the result itself needs (unlike
+ * going through {@link Try#getSuccess()}, which creates an Optional per element). All of them work with parallel
+ * streams, and their combiners only ever append one partial result onto another.
+ */
+public final class TryCollectors {
+    private TryCollectors() {}
+
+    /**
+     * Returns a Collector that partitions Trys into their successes and failures, each in encounter order. Null
+     * successes are included as nulls.
+     */
+    public static <T> Collector<Try<? extends T>, ?, Partition<T>> partitioning() {
+        return Collector.of(Partition<T>::new, Partition::add, Partition::combine, Partition::finish);
+    }
+
+    /** The successes and failures from a stream of Trys, as collected by {@link TryCollectors#partitioning()}. */
+    public static final class Partition<T> {
+        private List<T> successes = new ArrayList<>();
+        private List<Throwable> failures = new ArrayList<>();
+
+        private Partition() {}
+
+        private void add(Try<? extends T> element) {
+            Throwable failure = element.getNullableFailure();
+            if (failure == null) {
+                successes.add(element.getNullableSuccess());
+            } else {
+                failures.add(failure);
+            }
+        }
+
+        private Partition<T> combine(Partition<T> other) {
+            successes = append(successes, other.successes);
+            failures = append(failures, other.failures);
+            return this;
+        }
+
+        private Partition<T> finish() {
+            successes = Collections.unmodifiableList(successes);
+            failures = Collections.unmodifiableList(failures);
+            return this;
+        }
+
+        /** Returns an unmodifiable list of the successes, in encounter order. */
+        public List<T> getSuccesses() {
+            return successes;
+        }
+
+        /** Returns an unmodifiable list of the failures, in encounter order. */
+        public List<Throwable> getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Partition[successes=%s,failures=%s]", successes, failures);
+        }
+    }
+
+    private static <E> List<E> append(List<E> first, List<E> second) {
+        if (first.isEmpty()) {
+            return second;
+        }
+        first.addAll(second);
+        return first;
+    }
+
+    /**
+     * Returns a Collector that produces a successful Try with every success in encounter order if every Try was
+     * successful; otherwise, a failed Try with the first failure in encounter order. Collection can't stop the stream
+     * early, but once a failure is found, later successes are dropped rather than collected. The failed Try is created
+     * as per {@link Try#ofFailureSwallowingInterrupt(Throwable)}, since any interrupt was already handled when the
+     * original Try was created.
+     */
+    public static <T> Collector<Try<? extends T>, ?, Try<List<T>>> allSuccessesOrFirstFailure() {
+        return Collector.of(FirstFailure<T>::new, FirstFailure::add, FirstFailure::combine, FirstFailure::finish);
+    }
+
+    private static final class FirstFailure<T> {
+        private List<T> successes = new ArrayList<>();
+        private Throwable failure;
+
+        void add(Try<? extends T> element) {
+            if (failure != null) {
+                return;
+            }
+            Throwable elementFailure = element.getNullableFailure();
+            if (elementFailure == null) {
+                successes.add(element.getNullableSuccess());
+            } else {
+                failure = elementFailure;
+                successes = null;
+            }
+        }
+
+        FirstFailure<T> combine(FirstFailure<T> other) {
+            if (failure != null) {
+                return this;
+            }
+            if (other.failure != null) {
+                return other;
+            }
+            successes = append(successes, other.successes);
+            return this;
+        }
+
+        Try<List<T>> finish() {
+            return failure == null ? Try.ofSuccess(Collections.unmodifiableList(successes))
+                    : Try.ofFailureSwallowingInterrupt(failure);
+        }
+    }
+
+    /**
+     * Returns a Collector that counts the failures in a stream of Trys by their exact class (subclasses are counted
+     * separately from their superclasses). Successes are skipped. The returned map is unmodifiable and only contains
+     * classes with at least one failure.
+     */
+    public static Collector<Try<?>, ?, Map<Class<? extends Throwable>, Long>> countingFailuresByClass() {
+        return Collector.of(FailureCounts::new, FailureCounts::add, FailureCounts::combine, FailureCounts::finish,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private static final class FailureCounts {
+        // Mutable counters, so that counting doesn't box a new Long for every failure
+        private final Map<Class<? extends Throwable>, long[]> counts = new HashMap<>();
+
+        void add(Try<?> element) {
+            Throwable failure = element.getNullableFailure();
+            if (failure != null) {
+                counts.computeIfAbsent(failure.getClass(), type -> new long[1])[0]++;
+            }
+        }
+
+        FailureCounts combine(FailureCounts other) {
+            other.counts.forEach((type, count) -> counts.computeIfAbsent(type, key -> new long[1])[0] += count[0]);
+            return this;
+        }
+
+        Map<Class<? extends Throwable>, Long> finish() {
+            Map<Class<? extends Throwable>, Long> result = new HashMap<>(counts.size() * 2);
+            counts.forEach((type, count) -> result.put(type, count[0]));
+            return Collections.unmodifiableMap(result);
+        }
+    }
+}
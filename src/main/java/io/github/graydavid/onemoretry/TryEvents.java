@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Reports calls to the {@link TryListener}s registered as services. Each method listed on TryListener calls
+ * {@link #start()} before calling user code and {@link #succeeded(Object, long)} or
+ * {@link #failed(Object, Throwable, long)} after (or, for batches, their element* versions). Every one of those
+ * methods checks {@link #ENABLED} first, which is a static final constant: the JIT inlines them and folds the check,
+ * so they cost nothing when there are no listeners.
+ */
+final class TryEvents {
+    private static final TryListener[] LISTENERS = load(ServiceLoader.load(TryListener.class));
+    static final boolean ENABLED = LISTENERS.length > 0;
+
+    private TryEvents() {}
+
+    static TryListener[] load(Iterable<TryListener> providers) {
+        List<TryListener> listeners = new ArrayList<>();
+        providers.forEach(listeners::add);
+        return listeners.toArray(new TryListener[0]);
+    }
+
+    /** Returns the time that a call starts, to pass back to the other methods once it finishes. */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    static void succeeded(Object task, long start) {
+        if (ENABLED) {
+            notifySuccess(LISTENERS, task.getClass(), System.nanoTime() - start);
+        }
+    }
+
+    static void failed(Object task, Throwable failure, long start) {
+        if (ENABLED) {
+            notifyFailure(LISTENERS, task.getClass(), failure, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The version of {@link #succeeded(Object, long)} for batches that apply function to each of a number of inputs.
+     * For callAll and its variants, function is {@link Try#CALL}, so the input, the callable being called, is reported
+     * as the site instead.
+     */
+    static void elementSucceeded(Object function, Object input, long start) {
+        if (ENABLED) {
+            notifySuccess(LISTENERS, elementSite(function, input), System.nanoTime() - start);
+        }
+    }
+
+    /** The batch version of {@link #failed(Object, Throwable, long)}, as per {@link #elementSucceeded}. */
+    static void elementFailed(Object function, Object input, Throwable failure, long start) {
+        if (ENABLED) {
+            notifyFailure(LISTENERS, elementSite(function, input), failure, System.nanoTime() - start);
+        }
+    }
+
+    static Class<?> elementSite(Object function, Object input) {
+        return (function == Try.CALL ? input : function).getClass();
+    }
+
+    static void notifySuccess(TryListener[] listeners, Class<?> site, long elapsedNanos) {
+        for (TryListener listener : listeners) {
+            listener.onSuccess(site, elapsedNanos);
+        }
+    }
+
+    static void notifyFailure(TryListener[] listeners, Class<?> site, Throwable failure, long elapsedNanos) {
+        for (TryListener listener : listeners) {
+            listener.onFailure(site, failure, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+/**
+ * A service provider interface for observing the outcome and latency of the calls this library makes to user code. Use
+ * it to count successes, failures by exception class, and latencies, e.g. to see the failure rate of each dependency
+ * without wrapping every call. Exactly these methods report every call they make:<br>
+ * * the call* and run* methods of {@link Try}, {@link IntTry}, {@link LongTry}, and {@link DoubleTry}, and so
+ * everything built on them, like the *Async methods, {@link TryScope}, {@link SingleFlight}, and {@link Hedger};<br>
+ * * the batch methods {@link Try#callAll(java.util.List)}, {@link Try#mapEach(java.util.Collection,
+ * Try.ThrowableFunction)}, and their *Parallel versions, which report each element as a separate call;<br>
+ * * {@link Try#traverse(Iterable, Try.ThrowableFunction)} and its async version, which report each input they get
+ * to, and {@link TryCache}, which reports each call to its loader;<br>
+ * * {@link Try#map(Try.ExceptionFunction)}, {@link Try#flatMap(Try.ExceptionFunction)},
+ * {@link Try#recover(Try.ExceptionFunction)}, and {@link Try#recoverWith(Try.ExceptionFunction)}, whenever they call
+ * their function, and {@link Try#filter(java.util.function.Predicate, java.util.function.Function)}, whenever it
+ * calls its predicate;<br>
+ * * {@link TryPipeline#apply(Object)} and {@link TryPipeline#applyOrRecover(Object, TryPipeline.StageRecovery)},
+ * which report each stage they run as a separate call.<br>
+ * The accessors that take functions (e.g. {@link Try#getOrRecover(java.util.function.Function)}) don't report
+ * anything: they handle a Try that already exists rather than making a call, and they don't catch what their function
+ * throws, so there'd be no failure to report.
+ *
+ * Listeners are found with {@link java.util.ServiceLoader} once, when this library's classes are first used, and
+ * can't be added or removed afterwards. That's what makes them free when there are none: whether any listener exists
+ * is a static final constant, which the JIT folds away, so the methods compile to exactly what they would without
+ * this hook. To register a listener, list its class in a
+ * META-INF/services/io.github.graydavid.onemoretry.TryListener file on the class path or declare it with "provides"
+ * in a module descriptor. Listeners need a public no-argument constructor, as usual for services. If there are
+ * several, they're all notified, in the order ServiceLoader finds them.
+ *
+ * Listeners are called synchronously, on the thread that made the call, right after the call finishes and before the
+ * result is returned, so they should be fast and thread-safe. They must not throw: depending on the method, anything
+ * they throw either propagates out of it or is treated as a failure of the call being reported (e.g. a pipeline's
+ * stage). Only calls that complete, normally or with something the method catches, are
+ * reported; something a method doesn't catch (e.g. an Error thrown through
+ * {@link Try#callCatchException(java.util.concurrent.Callable)}) propagates without being reported.
+ */
+public interface TryListener {
+    /**
+     * Called after a call succeeds. site is the class of the callable, runnable, or function that was called. For a
+     * lambda or method reference, that's a synthetic class unique to the place it was written, whose name (on HotSpot)
+     * starts with the enclosing class's name, followed by "$$Lambda"; so it identifies the call site. That holds for
+     * calls this library makes on a caller's behalf, too (e.g. those made by {@link TryScope}): the site is always the
+     * class of the caller's own callable or function, never one of this library's. elapsedNanos is the duration of the
+     * call, as measured by {@link System#nanoTime()}.
+     */
+    void onSuccess(Class<?> site, long elapsedNanos);
+
+    /** Same as {@link #onSuccess(Class, long)}, except that it's called after a call fails with failure. */
+    void onFailure(Class<?> site, Throwable failure, long elapsedNanos);
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.graydavid.onemoretry.Try.ExceptionFunction;
+import io.github.graydavid.onemoretry.Try.StacklessException;
+
+/**
+ * A fixed sequence of labeled stages (e.g. decode, validate, enrich, persist), each a function from the previous
+ * stage's output to its own, that's run as a single step. Running the stages through a pipeline is equivalent to
+ * chaining {@link Try#map(ExceptionFunction)} calls, except that the whole pipeline runs inside one try-catch block, so
+ * no intermediate Trys are created: {@link #apply(Object)} allocates only the final Try, and
+ * {@link #applyOrRecover(Object, StageRecovery)} allocates nothing of its own at all.
+ *
+ * Stages follow the same policy as {@link Try#callCatchException(java.util.concurrent.Callable)}: an Exception thrown
+ * by a stage stops the pipeline and becomes its failure (with the current Thread's interrupt status set if it's an
+ * InterruptedException), while Errors are propagated. Failures always say which stage threw them.
+ *
+ * Pipelines are immutable, so a single instance can be shared by every thread processing records.
+ */
+public final class TryPipeline<I, O> {
+    private final String[] labels;
+    private final ExceptionFunction<Object, Object>[] stages;
+
+    private TryPipeline(Builder<I, O> builder) {
+        this.labels = builder.labels.toArray(new String[0]);
+        this.stages = toArray(builder.stages);
+    }
+
+    // Suppress justify: generic arrays can't be created directly, but the array never escapes this class
+    @SuppressWarnings("unchecked")
+    private static ExceptionFunction<Object, Object>[] toArray(List<ExceptionFunction<Object, Object>> stages) {
+        return (ExceptionFunction<Object, Object>[]) stages.toArray(new ExceptionFunction<?, ?>[0]);
+    }
+
+    /** Starts building a pipeline whose first stage accepts inputs of type I. */
+    public static <I> Builder<I, I> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Runs input through every stage. Returns a successful Try with the last stage's output if every stage succeeds;
+     * otherwise, a failed Try whose failure is a {@link StageFailedException} identifying the first stage that threw
+     * and with what it threw as its cause.
+     */
+    public Try<O> apply(I input) {
+        int stage = 0;
+        long start = 0L;
+        try {
+            Object value = input;
+            for (; stage < stages.length; ++stage) {
+                start = TryEvents.start();
+                value = stages[stage].apply(value);
+                TryEvents.succeeded(stages[stage], start);
+            }
+            return Try.ofSuccess(output(value));
+        } catch (Exception e) {
+            TryEvents.failed(stages[stage], e, start);
+            Try.preserveInterrupt(e);
+            return Try.ofFailureSwallowingInterrupt(new StageFailedException(labels[stage], e));
+        }
+    }
+
+    /**
+     * Same as {@link #apply(Object)}, except that the last stage's output is returned directly, and a failure is passed
+     * to recovery, whose result is returned instead. Neither path creates a Try or a StageFailedException.
+     */
+    public O applyOrRecover(I input, StageRecovery<? extends O> recovery) {
+        int stage = 0;
+        long start = 0L;
+        try {
+            Object value = input;
+            for (; stage < stages.length; ++stage) {
+                start = TryEvents.start();
+                value = stages[stage].apply(value);
+                TryEvents.succeeded(stages[stage], start);
+            }
+            return output(value);
+        } catch (Exception e) {
+            TryEvents.failed(stages[stage], e, start);
+            Try.preserveInterrupt(e);
+            return recovery.recover(labels[stage], e);
+        }
+    }
+
+    // Suppress justify: the builder only ever lets the last stage be one that returns an O
+    @SuppressWarnings("unchecked")
+    private O output(Object value) {
+        return (O) value;
+    }
+
+    /** Returns the labels of the stages, in the order they run. */
+    public List<String> getLabels() {
+        return List.of(labels);
+    }
+
+    /** Produces the result of {@link TryPipeline#applyOrRecover(Object, StageRecovery)} when a stage throws. */
+    @FunctionalInterface
+    public interface StageRecovery<O> {
+        O recover(String stage, Exception failure);
+    }
+
+    /**
+     * The failure of a pipeline run by {@link TryPipeline#apply(Object)}: says which stage failed, while the cause is
+     * what the stage threw. Doesn't capture a stack trace of its own, since the cause's stack trace is the one that
+     * matters.
+     */
+    public static final class StageFailedException extends StacklessException {
+        private static final long serialVersionUID = 1L;
+
+        private final String stage;
+
+        private StageFailedException(String stage, Exception cause) {
+            super("Stage failed: " + stage, cause);
+            this.stage = stage;
+        }
+
+        /** Returns the label of the stage that failed. */
+        public String getStage() {
+            return stage;
+        }
+    }
+
+    /**
+     * A builder of TryPipeline, whose stages so far accept an I and produce an O. Each call to
+     * {@link #then(String, ExceptionFunction)} adds a stage and returns this same builder, retyped for the new output.
+     */
+    public static final class Builder<I, O> {
+        private final List<String> labels = new ArrayList<>();
+        private final List<ExceptionFunction<Object, Object>> stages = new ArrayList<>();
+
+        private Builder() {}
+
+        /** Adds a stage, identified by label in failures, that transforms the current output with stage. */
+        public <N> Builder<I, N> then(String label, ExceptionFunction<? super O, ? extends N> stage) {
+            labels.add(Objects.requireNonNull(label, "label"));
+            stages.add(erase(Objects.requireNonNull(stage, "stage")));
+            return retype();
+        }
+
+        // Suppress justify: stages are only ever called with the previous stage's output, which is always an O
+        @SuppressWarnings("unchecked")
+        private static <O> ExceptionFunction<Object, Object> erase(ExceptionFunction<? super O, ?> stage) {
+            return (ExceptionFunction<Object, Object>) stage;
+        }
+
+        // Suppress justify: the builder itself doesn't depend on O; only the next stage added or the built pipeline do
+        @SuppressWarnings("unchecked")
+        private <N> Builder<I, N> retype() {
+            return (Builder<I, N>) this;
+        }
+
+        /** Builds the pipeline. A pipeline with no stages returns its input as its output. */
+        public TryPipeline<I, O> build() {
+            return new TryPipeline<>(this);
+        }
+    }
+}
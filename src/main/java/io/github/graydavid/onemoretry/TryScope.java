@@ -0,0 +1,225 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+
+/**
+ * Runs a number of subtasks concurrently, each on its own thread, and joins them as Trys, in the spirit of JDK 21's
+ * StructuredTaskScope: no subtask outlives the call that forked it. Each subtask is called as per
+ * {@link Try#callCatchThrowable(ThrowableCallable)}, and a {@link Policy} decides whether the scope waits for every
+ * subtask or shuts down early, once one fails or once one succeeds.
+ *
+ * By default, subtasks run on virtual threads when running on a JDK that supports them (21+), so that a scope can fan
+ * out to thousands of blocking calls without sizing a pool; otherwise, they run on a cached pool of daemon platform
+ * threads.
+ *
+ * Shutting down interrupts every subtask that's still running and stops every subtask that hasn't started from ever
+ * starting. All of those subtasks fail with the same CancellationException, even if they go on to finish some other
+ * way. If the calling thread is interrupted while waiting, the scope shuts down the same way, except that the
+ * subtasks fail with the InterruptedException, and the calling thread's interrupt status is set again before the call
+ * returns. Either way, the call still waits for every subtask to actually finish before returning.
+ */
+public final class TryScope<T> {
+    private final List<Subtask> subtasks;
+    private final Policy policy;
+    private final AtomicReferenceArray<Try<T>> results;
+    private final CountDownLatch unfinished;
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    private TryScope(List<? extends ThrowableCallable<? extends T>> callables, Policy policy) {
+        this.subtasks = new ArrayList<>(callables.size());
+        for (ThrowableCallable<? extends T> callable : callables) {
+            subtasks.add(new Subtask(subtasks.size(), Objects.requireNonNull(callable, "callable")));
+        }
+        this.policy = policy;
+        this.results = new AtomicReferenceArray<>(subtasks.size());
+        this.unfinished = new CountDownLatch(subtasks.size());
+    }
+
+    /** Says when a scope stops waiting for its remaining subtasks and shuts down instead. */
+    public enum Policy {
+        /** Never shuts down early: every subtask runs to completion. */
+        WAIT_FOR_ALL(false, false),
+        /** Shuts down as soon as any subtask fails, e.g. when every subtask's result is needed. */
+        SHUTDOWN_ON_FAILURE(true, false),
+        /** Shuts down as soon as any subtask succeeds, e.g. when racing redundant calls for the same thing. */
+        SHUTDOWN_ON_SUCCESS(false, true);
+
+        private final boolean shutdownOnFailure;
+        private final boolean shutdownOnSuccess;
+
+        private Policy(boolean shutdownOnFailure, boolean shutdownOnSuccess) {
+            this.shutdownOnFailure = shutdownOnFailure;
+            this.shutdownOnSuccess = shutdownOnSuccess;
+        }
+
+        private boolean shutsDownOn(Try<?> result) {
+            return result.isFailure() ? shutdownOnFailure : shutdownOnSuccess;
+        }
+    }
+
+    /**
+     * Same as {@link #callAll(List, Policy, ExecutorService)}, except that subtasks run on a virtual thread per subtask
+     * when supported (JDK 21+), falling back to a cached pool of daemon platform threads otherwise.
+     */
+    public static <T> List<Try<T>> callAll(List<? extends ThrowableCallable<? extends T>> callables, Policy policy) {
+        return callAll(callables, policy, DefaultExecutors.async());
+    }
+
+    /**
+     * Calls every one of callables on executor, following policy, and waits for all of them to finish. Returns their
+     * Trys in the same order as callables. A subtask that executor rejects fails with the RejectedExecutionException.
+     */
+    public static <T> List<Try<T>> callAll(List<? extends ThrowableCallable<? extends T>> callables, Policy policy,
+            ExecutorService executor) {
+        Objects.requireNonNull(policy, "policy");
+        Objects.requireNonNull(executor, "executor");
+        return new TryScope<T>(callables, policy).join(executor);
+    }
+
+    private List<Try<T>> join(ExecutorService executor) {
+        for (Subtask subtask : subtasks) {
+            // Once the scope has shut down, every subtask not yet forked is already finished
+            if (shutdown.get()) {
+                break;
+            }
+            try {
+                executor.execute(subtask);
+            } catch (RejectedExecutionException e) {
+                subtask.reject(e);
+            }
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                unfinished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+                shutdown(e, null);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return resultList();
+    }
+
+    private void complete(Subtask subtask, Try<T> result) {
+        // Loses to the failure assigned by a shutdown that got here first
+        if (results.compareAndSet(subtask.index, null, result) && policy.shutsDownOn(result)) {
+            shutdown(new CancellationException("TryScope shut down after subtask " + subtask.index + " finished"),
+                    subtask);
+        }
+    }
+
+    /** Fails every subtask that hasn't finished with reason and then cancels them, except for the trigger, if any. */
+    private void shutdown(Throwable reason, Subtask trigger) {
+        if (!shutdown.compareAndSet(false, true)) {
+            return;
+        }
+        Try<T> cancelled = Try.ofFailureSwallowingInterrupt(reason);
+        for (int i = 0; i < results.length(); ++i) {
+            results.compareAndSet(i, null, cancelled);
+        }
+        for (Subtask subtask : subtasks) {
+            if (subtask != trigger) {
+                subtask.cancel();
+            }
+        }
+    }
+
+    private List<Try<T>> resultList() {
+        List<Try<T>> list = new ArrayList<>(results.length());
+        for (int i = 0; i < results.length(); ++i) {
+            list.add(results.get(i));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * A single callable along with the thread running it, so that cancelling only ever interrupts a thread while it's
+     * running this subtask, never after it's moved on to something else.
+     */
+    private final class Subtask implements Runnable {
+        private final int index;
+        private final ThrowableCallable<? extends T> callable;
+        private Thread runner; // Guarded by this
+        private boolean finished; // Guarded by this
+
+        private Subtask(int index, ThrowableCallable<? extends T> callable) {
+            this.index = index;
+            this.callable = callable;
+        }
+
+        @Override
+        public void run() {
+            if (!start()) {
+                return;
+            }
+            try {
+                complete(this, Try.callCatchThrowableWidening(callable));
+            } finally {
+                finish();
+                // Clears any interrupt meant for this subtask before the thread goes back to the executor
+                Thread.interrupted();
+                unfinished.countDown();
+            }
+        }
+
+        private synchronized boolean start() {
+            if (finished) {
+                return false;
+            }
+            runner = Thread.currentThread();
+            return true;
+        }
+
+        private synchronized void finish() {
+            runner = null;
+            finished = true;
+        }
+
+        private void reject(RejectedExecutionException e) {
+            if (markFinished()) {
+                complete(this, Try.ofFailureSwallowingInterrupt(e));
+                unfinished.countDown();
+            }
+        }
+
+        /** Marks this subtask as finished if it hasn't started yet. Returns whether it did. */
+        private synchronized boolean markFinished() {
+            if (finished || runner != null) {
+                return false;
+            }
+            finished = true;
+            return true;
+        }
+
+        private synchronized void cancel() {
+            if (runner != null) {
+                runner.interrupt();
+            } else if (!finished) {
+                finished = true;
+                unfinished.countDown();
+            }
+        }
+    }
+}
@@ -1,3 +1,5 @@
 module io.github.graydavid.onemoretry {
     exports io.github.graydavid.onemoretry;
+
+    uses io.github.graydavid.onemoretry.TryListener;
 }
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2021 David Gray
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.graydavid.onemoretry;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The JDK 21+ version of DefaultExecutors, packaged in the multi-release jar under META-INF/versions/21: creates the
+ * virtual-thread-per-task executor directly, with no need for the reflective lookup or the platform-thread fallback.
+ */
+final class DefaultExecutors {
+    private static final ExecutorService ASYNC = Executors.newVirtualThreadPerTaskExecutor();
+
+    private DefaultExecutors() {}
+
+    static ExecutorService async() {
+        return ASYNC;
+    }
+}
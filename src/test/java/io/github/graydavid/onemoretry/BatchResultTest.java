@@ -0,0 +1,108 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchResultTest {
+    private final IllegalStateException failure = new IllegalStateException();
+
+    private BatchResult<Integer> batchWithFailureAt1() {
+        Map<Integer, Throwable> failures = BatchResult.addFailure(null, 1, failure);
+        return new BatchResult<>(new Object[] {5, null, null}, failures);
+    }
+
+    @Test
+    public void addFailureCreatesMapOnlyWhenNeeded() {
+        Map<Integer, Throwable> failures = BatchResult.addFailure(null, 1, failure);
+        Map<Integer, Throwable> sameFailures = BatchResult.addFailure(failures, 3, failure);
+
+        assertThat(sameFailures, sameInstance(failures));
+        assertThat(failures, is(Map.of(1, failure, 3, failure)));
+    }
+
+    @Test
+    public void indexAccessorsDistinguishSuccessesFromFailures() {
+        BatchResult<Integer> result = batchWithFailureAt1();
+
+        assertTrue(result.isSuccess(0));
+        assertThat(result.getNullableSuccess(0), is(5));
+        assertNull(result.getNullableFailure(0));
+        assertFalse(result.isSuccess(1));
+        assertNull(result.getNullableSuccess(1));
+        assertThat(result.getNullableFailure(1), sameInstance(failure));
+        assertTrue(result.isSuccess(2));
+        assertNull(result.getNullableSuccess(2));
+    }
+
+    @Test
+    public void indexAccessorsRejectOutOfBoundsIndices() {
+        BatchResult<Integer> result = batchWithFailureAt1();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> result.isSuccess(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> result.getNullableSuccess(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> result.getNullableFailure(3));
+    }
+
+    @Test
+    public void countsAreAvailableWithoutIterating() {
+        BatchResult<Integer> result = batchWithFailureAt1();
+
+        assertThat(result.size(), is(3));
+        assertThat(result.getSuccessCount(), is(2));
+        assertThat(result.getFailureCount(), is(1));
+        assertFalse(result.isAllSuccess());
+    }
+
+    @Test
+    public void batchWithoutFailuresIsAllSuccess() {
+        BatchResult<Integer> result = new BatchResult<>(new Object[] {5, 6}, null);
+
+        assertTrue(result.isAllSuccess());
+        assertThat(result.getFailures(), is(Map.of()));
+        assertThat(result.getSuccessCount(), is(2));
+    }
+
+    @Test
+    public void getSuccessIndicesReturnsDefensiveCopy() {
+        BatchResult<Integer> result = batchWithFailureAt1();
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(2);
+
+        BitSet successIndices = result.getSuccessIndices();
+        successIndices.clear();
+
+        assertThat(result.getSuccessIndices(), is(expected));
+    }
+
+    @Test
+    public void getFailuresIsUnmodifiable() {
+        BatchResult<Integer> result = batchWithFailureAt1();
+
+        assertThrows(UnsupportedOperationException.class, () -> result.getFailures().clear());
+        assertThat(result.getFailures(), is(new HashMap<>(Map.of(1, failure))));
+    }
+
+    @Test
+    public void getAndToListCreateTrysOnDemandWithoutTouchingInterruptFlag() {
+        InterruptedException interruptedException = new InterruptedException();
+        BatchResult<Integer> result = new BatchResult<>(new Object[] {5, null},
+                BatchResult.addFailure(null, 1, interruptedException));
+
+        assertThat(result.get(0), is(Try.ofSuccess(5)));
+        assertThat(result.toList(), contains(Try.ofSuccess(5), Try.ofFailureSwallowingInterrupt(interruptedException)));
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+    }
+}
@@ -0,0 +1,231 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.Bulkhead.FullException;
+
+public class BulkheadTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final CountDownLatch holderStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseHolder = new CountDownLatch(1);
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    /** Occupies one of bulkhead's permits until releaseHolder is counted down. */
+    private void holdPermit(Bulkhead bulkhead) throws InterruptedException {
+        executor.execute(() -> bulkhead.callCatchException(() -> {
+            holderStarted.countDown();
+            return releaseHolder.await(5, TimeUnit.SECONDS);
+        }));
+        holderStarted.await();
+    }
+
+    private Try<Integer> callTaking(Bulkhead bulkhead, long latencyNanos, boolean success) {
+        return bulkhead.callCatchRuntime(() -> {
+            nanoTime.addAndGet(latencyNanos);
+            if (!success) {
+                throw new IllegalStateException();
+            }
+            return 5;
+        });
+    }
+
+    @Test
+    public void callsThroughWhileThereIsRoom() {
+        Bulkhead bulkhead = Bulkhead.builder().fixedLimit(1).build();
+
+        assertThat(bulkhead.callCatchRuntime(() -> 5), is(Try.ofSuccess(5)));
+        assertThat(bulkhead.callCatchException(() -> 6), is(Try.ofSuccess(6)));
+        assertThat(bulkhead.callCatchThrowable(() -> 7), is(Try.ofSuccess(7)));
+        assertThat(bulkhead.getInFlight(), is(0));
+    }
+
+    @Test
+    public void rejectsCallsImmediatelyWithPreallocatedTryWhenFull() {
+        Bulkhead bulkhead = Bulkhead.builder().name("dependency").fixedLimit(1).build();
+
+        Try<Try<Integer>> result = bulkhead.callCatchRuntime(() -> {
+            Try<Integer> first = bulkhead.callCatchRuntime(() -> 5);
+            assertThat(bulkhead.callCatchThrowable(() -> 6), sameInstance(first));
+            return first;
+        });
+
+        Throwable failure = result.getNullableSuccess().getNullableFailure();
+        assertThat(failure, instanceOf(FullException.class));
+        assertThat(failure.getMessage(), containsString("dependency"));
+        assertThat(failure.getStackTrace().length, is(0));
+    }
+
+    @Test
+    public void releasesPermitWhenThrowableIsPropagated() {
+        Error error = new Error();
+        Bulkhead bulkhead = Bulkhead.builder().fixedLimit(1).build();
+
+        Error thrown = assertThrows(Error.class, () -> bulkhead.callCatchException(() -> {
+            throw error;
+        }));
+
+        assertThat(thrown, sameInstance(error));
+        assertThat(bulkhead.callCatchRuntime(() -> 5), is(Try.ofSuccess(5)));
+    }
+
+    @Test
+    public void waitsUpToMaxWaitForRoom() throws InterruptedException {
+        Bulkhead bulkhead = Bulkhead.builder().fixedLimit(1).maxWait(Duration.ofSeconds(5)).build();
+        holdPermit(bulkhead);
+
+        executor.execute(releaseHolder::countDown);
+        Try<Integer> result = bulkhead.callCatchRuntime(() -> 5);
+
+        assertThat(result, is(Try.ofSuccess(5)));
+    }
+
+    @Test
+    public void rejectsCallsThatWaitLongerThanMaxWait() throws InterruptedException {
+        Bulkhead bulkhead = Bulkhead.builder().fixedLimit(1).maxWait(Duration.ofMillis(10)).build();
+        holdPermit(bulkhead);
+
+        Try<Integer> result = bulkhead.callCatchRuntime(() -> 5);
+
+        assertThat(result.getNullableFailure(), instanceOf(FullException.class));
+        assertThat(bulkhead.getInFlight(), is(1));
+    }
+
+    @Test
+    public void returnsFailureAndPreservesInterruptWhenInterruptedWhileWaiting() throws InterruptedException {
+        Bulkhead bulkhead = Bulkhead.builder().fixedLimit(1).maxWait(Duration.ofSeconds(5)).build();
+        holdPermit(bulkhead);
+
+        Thread.currentThread().interrupt();
+        Try<Integer> result = bulkhead.callCatchRuntime(() -> 5);
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void aimdLimitGrowsOnSuccessWhileUtilized() {
+        Bulkhead bulkhead = Bulkhead.builder().aimdLimit(1, 3).build();
+
+        bulkhead.callCatchRuntime(() -> 5);
+        assertThat(bulkhead.getLimit(), is(2));
+
+        bulkhead.callCatchRuntime(() -> 5);
+        assertThat(bulkhead.getLimit(), is(3));
+
+        bulkhead.callCatchRuntime(() -> bulkhead.callCatchRuntime(() -> 5));
+        assertThat(bulkhead.getLimit(), is(3));
+    }
+
+    @Test
+    public void aimdLimitDoesntGrowWhileUnderutilized() {
+        Bulkhead bulkhead = Bulkhead.builder().aimdLimit(4, 10).build();
+
+        bulkhead.callCatchRuntime(() -> 5);
+
+        assertThat(bulkhead.getLimit(), is(4));
+    }
+
+    @Test
+    public void aimdLimitShrinksMultiplicativelyOnFailureButNeverBelowOne() {
+        Bulkhead bulkhead = Bulkhead.builder().aimdLimit(20, 20).build();
+
+        callTaking(bulkhead, 0, false);
+        assertThat(bulkhead.getLimit(), is(18));
+
+        for (int i = 0; i < 100; ++i) {
+            callTaking(bulkhead, 0, false);
+        }
+        assertThat(bulkhead.getLimit(), is(1));
+    }
+
+    @Test
+    public void shrunkenLimitRejectsCallsUntilEnoughFinish() {
+        Bulkhead bulkhead = Bulkhead.builder().aimdLimit(2, 2).build();
+
+        Try<Try<Integer>> result = bulkhead.callCatchRuntime(() -> {
+            callTaking(bulkhead, 0, false);
+            assertThat(bulkhead.getLimit(), is(1));
+            return bulkhead.callCatchRuntime(() -> 5);
+        });
+
+        assertThat(result.getNullableSuccess().getNullableFailure(), instanceOf(FullException.class));
+        assertThat(bulkhead.callCatchRuntime(() -> 5), is(Try.ofSuccess(5)));
+    }
+
+    @Test
+    public void vegasLimitGrowsUpToMaxLimitWhileLatencyStaysNearMinimum() {
+        Bulkhead bulkhead = Bulkhead.builder().vegasLimit(1, 3).nanoClock(nanoTime::get).build();
+
+        callTaking(bulkhead, 1_000_000, true);
+        assertThat(bulkhead.getLimit(), is(2));
+
+        callTaking(bulkhead, 1_000_000, true);
+        assertThat(bulkhead.getLimit(), is(3));
+
+        bulkhead.callCatchRuntime(() -> bulkhead.callCatchRuntime(() -> callTaking(bulkhead, 1_000_000, true)));
+        assertThat(bulkhead.getLimit(), is(3));
+    }
+
+    @Test
+    public void vegasLimitShrinksOnceLatencyRises() {
+        Bulkhead bulkhead = Bulkhead.builder().vegasLimit(20, 100).nanoClock(nanoTime::get).build();
+
+        callTaking(bulkhead, 1_000_000, true);
+        assertThat(bulkhead.getLimit(), is(20));
+
+        callTaking(bulkhead, 10_000_000, true);
+        assertThat(bulkhead.getLimit(), is(19));
+    }
+
+    @Test
+    public void vegasLimitShrinksOnFailure() {
+        Bulkhead bulkhead = Bulkhead.builder().vegasLimit(20, 100).nanoClock(nanoTime::get).build();
+
+        callTaking(bulkhead, 1_000_000, false);
+
+        assertThat(bulkhead.getLimit(), is(19));
+    }
+
+    @Test
+    public void fixedLimitNeverChanges() {
+        Bulkhead bulkhead = Bulkhead.builder().fixedLimit(3).build();
+
+        callTaking(bulkhead, 0, true);
+        callTaking(bulkhead, 0, false);
+
+        assertThat(bulkhead.getLimit(), is(3));
+    }
+
+    @Test
+    public void builderRejectsInvalidSettings() {
+        assertThrows(NullPointerException.class, () -> Bulkhead.builder().name(null));
+        assertThrows(NullPointerException.class, () -> Bulkhead.builder().maxWait(null));
+        assertThrows(IllegalArgumentException.class, () -> Bulkhead.builder().maxWait(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> Bulkhead.builder().fixedLimit(0));
+        assertThrows(IllegalArgumentException.class, () -> Bulkhead.builder().aimdLimit(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> Bulkhead.builder().aimdLimit(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> Bulkhead.builder().vegasLimit(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> Bulkhead.builder().vegasLimit(5, 4));
+    }
+}
@@ -0,0 +1,346 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.CircuitBreaker.OpenException;
+import io.github.graydavid.onemoretry.CircuitBreaker.State;
+
+public class CircuitBreakerTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private CircuitBreaker.Builder fakeTimeBuilder() {
+        return CircuitBreaker.builder().nanoClock(nanoTime::get);
+    }
+
+    private Try<Integer> succeed(CircuitBreaker breaker) {
+        return breaker.callCatchRuntime(() -> calls.incrementAndGet());
+    }
+
+    private Try<Integer> fail(CircuitBreaker breaker) {
+        return breaker.callCatchRuntime(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        });
+    }
+
+    @Test
+    public void closedBreakerMakesCalls() {
+        CircuitBreaker breaker = fakeTimeBuilder().build();
+
+        Try<Integer> result = succeed(breaker);
+
+        assertThat(result, is(Try.ofSuccess(1)));
+        assertThat(breaker.getState(), is(State.CLOSED));
+    }
+
+    @Test
+    public void closedBreakerReturnsFailuresAsIs() {
+        CircuitBreaker breaker = fakeTimeBuilder().build();
+        IllegalStateException failure = new IllegalStateException();
+
+        Try<Integer> result = breaker.callCatchRuntime(() -> {
+            throw failure;
+        });
+
+        assertThat(result.getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void opensOnceFailureRateReachesThreshold() {
+        CircuitBreaker breaker = fakeTimeBuilder().countBasedWindow(4)
+                .minimumCalls(4)
+                .failureRateThreshold(0.5)
+                .build();
+
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        assertThat(breaker.getState(), is(State.CLOSED));
+        fail(breaker);
+
+        assertThat(breaker.getState(), is(State.OPEN));
+    }
+
+    @Test
+    public void doesntOpenBeforeMinimumCalls() {
+        CircuitBreaker breaker = fakeTimeBuilder().countBasedWindow(10).minimumCalls(5).build();
+
+        for (int i = 0; i < 4; ++i) {
+            fail(breaker);
+        }
+
+        assertThat(breaker.getState(), is(State.CLOSED));
+        fail(breaker);
+        assertThat(breaker.getState(), is(State.OPEN));
+    }
+
+    @Test
+    public void countBasedWindowForgetsOldestOutcomes() {
+        CircuitBreaker breaker = fakeTimeBuilder().countBasedWindow(3)
+                .minimumCalls(3)
+                .failureRateThreshold(1.0)
+                .build();
+
+        succeed(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.getState(), is(State.CLOSED));
+        // Pushes the success out of the window, leaving only failures
+        fail(breaker);
+
+        assertThat(breaker.getState(), is(State.OPEN));
+    }
+
+    @Test
+    public void openBreakerRejectsCallsWithPreallocatedFailure() {
+        CircuitBreaker breaker = fakeTimeBuilder().name("dependency").minimumCalls(1).build();
+        fail(breaker);
+        int callsBeforeRejection = calls.get();
+
+        Try<Integer> rejection1 = succeed(breaker);
+        Try<String> rejection2 = breaker.callCatchThrowable(() -> "ignored");
+
+        assertThat(calls.get(), is(callsBeforeRejection));
+        assertThat(rejection1.getNullableFailure(), instanceOf(OpenException.class));
+        assertThat(rejection1.getNullableFailure().getMessage(), containsString("dependency"));
+        assertThat(rejection2, sameInstance((Object) rejection1));
+    }
+
+    @Test
+    public void allowsTrialCallsAfterOpenDuration() {
+        CircuitBreaker breaker = fakeTimeBuilder().minimumCalls(1)
+                .openDuration(Duration.ofNanos(100))
+                .halfOpenCalls(2)
+                .build();
+        fail(breaker);
+
+        nanoTime.addAndGet(99);
+        assertTrue(succeed(breaker).isFailure());
+        nanoTime.addAndGet(1);
+        Try<Integer> trial = succeed(breaker);
+
+        assertThat(trial.getNullableSuccess(), is(calls.get()));
+        assertThat(breaker.getState(), is(State.HALF_OPEN));
+    }
+
+    @Test
+    public void closesAfterAllTrialCallsSucceed() {
+        CircuitBreaker breaker = fakeTimeBuilder().minimumCalls(1)
+                .openDuration(Duration.ZERO)
+                .halfOpenCalls(2)
+                .build();
+        fail(breaker);
+
+        succeed(breaker);
+        assertThat(breaker.getState(), is(State.HALF_OPEN));
+        succeed(breaker);
+
+        assertThat(breaker.getState(), is(State.CLOSED));
+    }
+
+    @Test
+    public void closingStartsWithFreshWindow() {
+        CircuitBreaker breaker = fakeTimeBuilder().countBasedWindow(10)
+                .minimumCalls(2)
+                .openDuration(Duration.ZERO)
+                .halfOpenCalls(1)
+                .build();
+        fail(breaker);
+        fail(breaker);
+        succeed(breaker);
+
+        fail(breaker);
+
+        assertThat(breaker.getState(), is(State.CLOSED));
+    }
+
+    @Test
+    public void reopensIfTrialCallFails() {
+        CircuitBreaker breaker = fakeTimeBuilder().minimumCalls(1)
+                .openDuration(Duration.ofNanos(100))
+                .halfOpenCalls(2)
+                .build();
+        fail(breaker);
+        nanoTime.addAndGet(100);
+
+        fail(breaker);
+
+        assertThat(breaker.getState(), is(State.OPEN));
+        assertThat(succeed(breaker).getNullableFailure(), instanceOf(OpenException.class));
+    }
+
+    @Test
+    public void rejectsCallsBeyondHalfOpenPermits() {
+        CircuitBreaker breaker = fakeTimeBuilder().minimumCalls(1)
+                .openDuration(Duration.ZERO)
+                .halfOpenCalls(1)
+                .build();
+        fail(breaker);
+        List<Try<Integer>> nestedResults = new ArrayList<>();
+
+        // The nested call is made while the only trial call is still in progress
+        breaker.callCatchRuntime(() -> nestedResults.add(succeed(breaker)));
+
+        assertThat(nestedResults.get(0).getNullableFailure(), instanceOf(OpenException.class));
+    }
+
+    @Test
+    public void rejectedCallsDontDriveHalfOpenPermitsBelowZero() {
+        CircuitBreaker breaker = fakeTimeBuilder().minimumCalls(1)
+                .openDuration(Duration.ZERO)
+                .halfOpenCalls(1)
+                .build();
+        fail(breaker);
+        List<Integer> remainingPermits = new ArrayList<>();
+
+        breaker.callCatchRuntime(() -> {
+            for (int i = 0; i < 1000; ++i) {
+                succeed(breaker);
+            }
+            return remainingPermits.add(breaker.remainingHalfOpenPermits());
+        });
+
+        assertThat(remainingPermits.get(0), is(0));
+        assertThat(breaker.getState(), is(State.CLOSED));
+    }
+
+    @Test
+    public void reopensIfTrialCallsDontFinishWithinHalfOpenTimeout() {
+        CircuitBreaker breaker = fakeTimeBuilder().minimumCalls(1)
+                .openDuration(Duration.ofNanos(100))
+                .halfOpenCalls(1)
+                .halfOpenTimeout(Duration.ofNanos(50))
+                .build();
+        fail(breaker);
+        nanoTime.addAndGet(100);
+        List<State> nestedStates = new ArrayList<>();
+
+        // The trial call is stuck in progress while the nested calls are made
+        breaker.callCatchRuntime(() -> {
+            nanoTime.addAndGet(49);
+            succeed(breaker);
+            nestedStates.add(breaker.getState());
+            nanoTime.addAndGet(1);
+            succeed(breaker);
+            return nestedStates.add(breaker.getState());
+        });
+
+        assertThat(nestedStates, contains(State.HALF_OPEN, State.OPEN));
+        // The stuck trial call's success is ignored, since it was permitted by the half-open phase that timed out
+        assertThat(breaker.getState(), is(State.OPEN));
+    }
+
+    @Test
+    public void timeBasedWindowForgetsOutcomesOlderThanLength() {
+        CircuitBreaker breaker = fakeTimeBuilder().timeBasedWindow(Duration.ofNanos(100), 10)
+                .minimumCalls(4)
+                .failureRateThreshold(0.5)
+                .build();
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+        nanoTime.addAndGet(100);
+
+        succeed(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+
+        assertThat(breaker.getState(), is(State.CLOSED));
+    }
+
+    @Test
+    public void timeBasedWindowOpensOnceFailureRateReachesThreshold() {
+        CircuitBreaker breaker = fakeTimeBuilder().timeBasedWindow(Duration.ofNanos(100), 10)
+                .minimumCalls(4)
+                .failureRateThreshold(0.5)
+                .build();
+
+        succeed(breaker);
+        nanoTime.addAndGet(30);
+        succeed(breaker);
+        fail(breaker);
+        nanoTime.addAndGet(30);
+        fail(breaker);
+
+        assertThat(breaker.getState(), is(State.OPEN));
+    }
+
+    @Test
+    public void callCatchExceptionRecordsPropagatedErrorsAsFailures() {
+        CircuitBreaker breaker = fakeTimeBuilder().minimumCalls(1).build();
+        Error error = new Error();
+
+        Error thrown = assertThrows(Error.class, () -> breaker.callCatchException(() -> {
+            throw error;
+        }));
+
+        assertThat(thrown, sameInstance(error));
+        assertThat(breaker.getState(), is(State.OPEN));
+    }
+
+    @Test
+    public void callCatchThrowableCatchesAndRecordsThrowables() {
+        CircuitBreaker breaker = fakeTimeBuilder().minimumCalls(1).build();
+        Throwable throwable = new Throwable();
+
+        Try<Integer> result = breaker.callCatchThrowable(() -> {
+            throw throwable;
+        });
+
+        assertThat(result.getNullableFailure(), sameInstance(throwable));
+        assertThat(breaker.getState(), is(State.OPEN));
+    }
+
+    @Test
+    public void staysClosedUnderConcurrentSuccesses() throws InterruptedException {
+        CircuitBreaker breaker = CircuitBreaker.builder().minimumCalls(1).build();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 10_000; ++j) {
+                    succeed(breaker);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(calls.get(), is(80_000));
+        assertThat(breaker.getState(), is(State.CLOSED));
+    }
+
+    @Test
+    public void builderRejectsInvalidSettings() {
+        CircuitBreaker.Builder builder = CircuitBreaker.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.failureRateThreshold(0.0));
+        assertThrows(IllegalArgumentException.class, () -> builder.failureRateThreshold(1.1));
+        assertThrows(IllegalArgumentException.class, () -> builder.minimumCalls(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.openDuration(Duration.ofNanos(-1)));
+        assertThrows(IllegalArgumentException.class, () -> builder.halfOpenCalls(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.halfOpenTimeout(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.countBasedWindow(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.timeBasedWindow(Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.timeBasedWindow(Duration.ofSeconds(1), 0));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+public class DeadlineTest {
+    @Test
+    public void afterCreatesUnexpiredDeadlineForPositiveTimeouts() {
+        Deadline deadline = Deadline.after(Duration.ofHours(1));
+
+        assertFalse(deadline.isExpired());
+        assertThat(deadline.remaining(), lessThanOrEqualTo(Duration.ofHours(1)));
+        assertThat(deadline.remaining(), greaterThan(Duration.ofMinutes(59)));
+    }
+
+    @Test
+    public void afterCreatesExpiredDeadlineForNegativeTimeouts() {
+        Deadline deadline = Deadline.after(Duration.ofHours(-1));
+
+        assertTrue(deadline.isExpired());
+        assertThat(deadline.remaining(), is(Duration.ZERO));
+    }
+
+    @Test
+    public void afterCapsHugeTimeoutsWithoutOverflowing() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(Long.MAX_VALUE));
+        Deadline expired = Deadline.after(Duration.ofSeconds(Long.MIN_VALUE));
+
+        assertThat(deadline.remaining(), greaterThan(Duration.ofDays(365 * 100)));
+        assertTrue(expired.isExpired());
+    }
+
+    @Test
+    public void afterRejectsNullTimeouts() {
+        assertThrows(NullPointerException.class, () -> Deadline.after(null));
+    }
+
+    @Test
+    public void earlierOfReturnsWhicheverDeadlineExpiresFirst() {
+        Deadline earlier = Deadline.after(Duration.ofMinutes(1));
+        Deadline later = Deadline.after(Duration.ofHours(1));
+
+        assertThat(earlier.earlierOf(later), sameInstance(earlier));
+        assertThat(later.earlierOf(earlier), sameInstance(earlier));
+    }
+
+    @Test
+    public void currentIsEmptyOutsideOfDeadlineBoundedCalls() {
+        assertThat(Deadline.current(), is(Optional.empty()));
+    }
+}
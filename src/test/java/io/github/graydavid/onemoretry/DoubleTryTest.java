@@ -0,0 +1,235 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.Try.CheckedExceptionWrapper;
+
+public class DoubleTryTest {
+    @Test
+    public void ofSuccessHoldsPrimitiveSuccess() {
+        DoubleTry result = DoubleTry.ofSuccess(5.0);
+
+        assertTrue(result.isSuccess());
+        assertFalse(result.isFailure());
+        assertThat(result.getSuccess(), is(OptionalDouble.of(5.0)));
+        assertThat(result.getFailure(), is(Optional.empty()));
+        assertThat(result.getOrThrowUnchecked(), is(5.0));
+    }
+
+    @Test
+    public void ofFailureSwallowingInterruptHoldsFailureWithoutSettingInterruptFlag() {
+        InterruptedException failure = new InterruptedException();
+
+        DoubleTry result = DoubleTry.ofFailureSwallowingInterrupt(failure);
+
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+        assertTrue(result.isFailure());
+        assertThat(result.getSuccess(), is(OptionalDouble.empty()));
+        assertThat(result.getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void ofFailureSwallowingInterruptRejectsNullFailures() {
+        assertThrows(NullPointerException.class, () -> DoubleTry.ofFailureSwallowingInterrupt(null));
+    }
+
+    @Test
+    public void ofFailurePreservingInterruptSetsInterruptFlagForInterruptedExceptions() {
+        DoubleTry result = DoubleTry.ofFailurePreservingInterrupt(new InterruptedException());
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void callCatchRuntimeCatchesRuntimeExceptionsOnly() {
+        IllegalStateException failure = new IllegalStateException();
+        Error error = new Error();
+
+        assertThat(DoubleTry.callCatchRuntime(() -> 5.0), is(DoubleTry.ofSuccess(5.0)));
+        assertThat(DoubleTry.callCatchRuntime(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+        assertThat(assertThrows(Error.class, () -> DoubleTry.callCatchRuntime(() -> {
+            throw error;
+        })), sameInstance(error));
+    }
+
+    @Test
+    public void callCatchExceptionCatchesExceptionsAndPreservesInterrupts() {
+        IOException failure = new IOException();
+
+        assertThat(DoubleTry.callCatchException(() -> 5.0), is(DoubleTry.ofSuccess(5.0)));
+        assertThat(DoubleTry.callCatchException(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+        DoubleTry interrupted = DoubleTry.callCatchException(() -> {
+            throw new InterruptedException();
+        });
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(interrupted.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void callCatchThrowableCatchesThrowables() {
+        Throwable failure = new Throwable();
+
+        assertThat(DoubleTry.callCatchThrowable(() -> 5.0), is(DoubleTry.ofSuccess(5.0)));
+        assertThat(DoubleTry.callCatchThrowable(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowUncheckedWrapsCheckedExceptions() {
+        IOException failure = new IOException();
+        DoubleTry result = DoubleTry.ofFailureSwallowingInterrupt(failure);
+
+        CheckedExceptionWrapper thrown = assertThrows(CheckedExceptionWrapper.class, result::getOrThrowUnchecked);
+
+        assertThat(thrown.getCause(), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowUncheckedThrowsUncheckedExceptionsAsIs() {
+        IllegalStateException failure = new IllegalStateException();
+        DoubleTry result = DoubleTry.ofFailureSwallowingInterrupt(failure);
+
+        assertThat(assertThrows(IllegalStateException.class, result::getOrThrowUnchecked), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowExceptionClearsInterruptFlagForInterruptedExceptions() {
+        InterruptedException failure = new InterruptedException();
+        DoubleTry result = DoubleTry.ofFailurePreservingInterrupt(failure);
+
+        assertThat(assertThrows(InterruptedException.class, result::getOrThrowException), sameInstance(failure));
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+    }
+
+    @Test
+    public void getOrThrowThrowableThrowsFailureAsIs() throws Throwable {
+        Throwable failure = new Throwable();
+
+        assertThat(DoubleTry.ofSuccess(5.0).getOrThrowThrowable(), is(5.0));
+        assertThat(assertThrows(Throwable.class, DoubleTry.ofFailureSwallowingInterrupt(failure)::getOrThrowThrowable),
+                sameInstance(failure));
+    }
+
+    @Test
+    public void getOrRecoverRecoversOnlyFailures() {
+        assertThat(DoubleTry.ofSuccess(5.0).getOrRecover(failure -> 6.0), is(5.0));
+        assertThat(DoubleTry.ofFailureSwallowingInterrupt(new Exception()).getOrRecover(failure -> 6.0), is(6.0));
+    }
+
+    @Test
+    public void observeFailureObservesOnlyFailures() {
+        Exception failure = new Exception();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+        DoubleTry success = DoubleTry.ofSuccess(5.0);
+        DoubleTry failed = DoubleTry.ofFailureSwallowingInterrupt(failure);
+
+        assertThat(success.observeFailure(observed::set), sameInstance(success));
+        assertThat(observed.get(), is((Throwable) null));
+        assertThat(failed.observeFailure(observed::set), sameInstance(failed));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+
+    @Test
+    public void toTryBoxesSuccessesAndKeepsFailures() {
+        Exception failure = new Exception();
+
+        assertThat(DoubleTry.ofSuccess(5.0).toTry(), is(Try.ofSuccess(5.0)));
+        assertThat(DoubleTry.ofFailureSwallowingInterrupt(failure).toTry(),
+                is(Try.ofFailureSwallowingInterrupt(failure)));
+    }
+
+    @Test
+    public void equalsComparesSuccessesAndFailures() {
+        Exception failure = new Exception();
+
+        assertThat(DoubleTry.ofSuccess(5.0), is(DoubleTry.ofSuccess(5.0)));
+        assertThat(DoubleTry.ofSuccess(5.0).hashCode(), is(DoubleTry.ofSuccess(5.0).hashCode()));
+        assertThat(DoubleTry.ofSuccess(5.0), not(DoubleTry.ofSuccess(6.0)));
+        assertThat(DoubleTry.ofFailureSwallowingInterrupt(failure),
+                is(DoubleTry.ofFailureSwallowingInterrupt(failure)));
+        assertThat(DoubleTry.ofSuccess(0.0), not(DoubleTry.ofFailureSwallowingInterrupt(failure)));
+        assertThat(DoubleTry.ofSuccess(Double.NaN), is(DoubleTry.ofSuccess(Double.NaN)));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultReturnsResultWithoutCallingOnFailure() {
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        double result = DoubleTry.callCatchRuntimeOrDefault(() -> 5.0, 6.0, observed::set);
+
+        assertThat(result, is(5.0));
+        assertThat(observed.get(), is((Throwable) null));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultReturnsDefaultAndCallsOnFailureForRuntimeExceptions() {
+        IllegalStateException failure = new IllegalStateException();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        double result = DoubleTry.callCatchRuntimeOrDefault(() -> {
+            throw failure;
+        }, 6.0, observed::set);
+
+        assertThat(result, is(6.0));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultPropagatesOtherThrowables() {
+        Error error = new Error();
+
+        Error thrown = assertThrows(Error.class, () -> DoubleTry.callCatchRuntimeOrDefault(() -> {
+            throw error;
+        }, 6.0, failure -> fail("Unexpected failure observed")));
+
+        assertThat(thrown, sameInstance(error));
+    }
+
+    @Test
+    public void callCatchExceptionOrDefaultSetsInterruptFlagBeforeCallingOnFailure() {
+        AtomicBoolean interruptedDuringOnFailure = new AtomicBoolean();
+
+        double result = DoubleTry.callCatchExceptionOrDefault(() -> {
+            throw new InterruptedException();
+        }, 6.0, failure -> interruptedDuringOnFailure.set(Thread.currentThread().isInterrupted()));
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertTrue(interruptedDuringOnFailure.get());
+        assertThat(result, is(6.0));
+    }
+
+    @Test
+    public void callCatchThrowableOrDefaultReturnsDefaultForThrowables() {
+        Throwable failure = new Throwable();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        double result = DoubleTry.callCatchThrowableOrDefault(() -> {
+            throw failure;
+        }, 6.0, observed::set);
+
+        assertThat(result, is(6.0));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+}
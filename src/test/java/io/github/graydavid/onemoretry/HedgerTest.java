@@ -0,0 +1,225 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.Hedger.AllAttemptsFailedException;
+
+public class HedgerTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Runnable> delayedTasks = new CopyOnWriteArrayList<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private Hedger.Builder manualDelayBuilder() {
+        return Hedger.builder().executor(executor).delayer((nanos, task) -> delayedTasks.add(task));
+    }
+
+    private void runDelayedTasks() {
+        delayedTasks.forEach(Runnable::run);
+    }
+
+    private Integer blockUntilInterrupted() {
+        try {
+            new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+        return -1;
+    }
+
+    @Test
+    public void returnsFirstSuccessWithoutHedging() throws Exception {
+        Hedger hedger = manualDelayBuilder().build();
+
+        Try<Integer> result = hedger.callCatchThrowableAsync(calls::incrementAndGet).get(5, TimeUnit.SECONDS);
+        runDelayedTasks();
+
+        assertThat(result, is(Try.ofSuccess(1)));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void startsDuplicateAttemptAfterDelayAndCancelsLoser() throws Exception {
+        Hedger hedger = manualDelayBuilder().build();
+
+        CompletableFuture<Try<Integer>> future = hedger.<Integer>callCatchThrowableAsync(() -> {
+            return calls.incrementAndGet() == 1 ? blockUntilInterrupted() : 2;
+        });
+        assertThat(future.isDone(), is(false));
+        runDelayedTasks();
+
+        assertThat(future.get(5, TimeUnit.SECONDS), is(Try.ofSuccess(2)));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Expected losing attempt to be interrupted");
+    }
+
+    @Test
+    public void startsNextAttemptImmediatelyAfterFailure() throws Exception {
+        Hedger hedger = manualDelayBuilder().build();
+
+        Try<Integer> result = hedger.<Integer>callCatchThrowableAsync(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return 2;
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(result, is(Try.ofSuccess(2)));
+    }
+
+    @Test
+    public void neverStartsMoreThanMaxAttempts() throws Exception {
+        Hedger hedger = manualDelayBuilder().maxAttempts(3).build();
+
+        Try<Integer> result = hedger.<Integer>callCatchThrowableAsync(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        }).get(5, TimeUnit.SECONDS);
+        runDelayedTasks();
+
+        assertThat(result.isFailure(), is(true));
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    public void combinesAttemptFailuresIntoNewExceptionWhenAllFail() throws Exception {
+        List<Throwable> failures = List.of(new IllegalStateException(), new Error(), new Exception());
+        Hedger hedger = manualDelayBuilder().maxAttempts(3).build();
+
+        Try<Integer> result = hedger.<Integer>callCatchThrowableAsync(() -> {
+            throw failures.get(calls.getAndIncrement());
+        }).get(5, TimeUnit.SECONDS);
+
+        Throwable failure = result.getNullableFailure();
+        assertThat(failure, instanceOf(AllAttemptsFailedException.class));
+        assertThat(failure.getMessage(), is("All 3 hedged attempts failed"));
+        assertThat(failure.getCause(), sameInstance(failures.get(0)));
+        assertThat(failure.getSuppressed(), arrayContaining(failures.get(1), failures.get(2)));
+        assertThat(failure.getStackTrace().length, is(0));
+        assertThat(failures.get(0).getSuppressed(), emptyArray());
+    }
+
+    @Test
+    public void doesNotSuppressSharedFailureIntoItsCause() throws Exception {
+        IllegalStateException failure = new IllegalStateException();
+        Hedger hedger = manualDelayBuilder().maxAttempts(3).build();
+
+        Try<Integer> result = hedger.<Integer>callCatchThrowableAsync(() -> {
+            throw failure;
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.getNullableFailure().getCause(), sameInstance(failure));
+        assertThat(result.getNullableFailure().getSuppressed(), emptyArray());
+        assertThat(failure.getSuppressed(), emptyArray());
+    }
+
+    @Test
+    public void neverModifiesSharedFailuresAcrossRepeatedCalls() throws Exception {
+        IllegalStateException first = new IllegalStateException();
+        IllegalStateException second = new IllegalStateException();
+        Hedger hedger = manualDelayBuilder().build();
+
+        for (int i = 0; i < 10; ++i) {
+            AtomicInteger attempts = new AtomicInteger();
+            Try<Integer> result = hedger.<Integer>callCatchThrowableAsync(() -> {
+                throw attempts.incrementAndGet() == 1 ? first : second;
+            }).get(5, TimeUnit.SECONDS);
+
+            assertThat(result.getNullableFailure().getSuppressed(), arrayContaining(second));
+        }
+        assertThat(first.getSuppressed(), emptyArray());
+        assertThat(second.getSuppressed(), emptyArray());
+    }
+
+    @Test
+    public void treatsRejectedAttemptsAsFailures() throws Exception {
+        executor.shutdown();
+        Hedger hedger = manualDelayBuilder().build();
+
+        Try<Integer> result = hedger.callCatchThrowableAsync(calls::incrementAndGet).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.getNullableFailure().getCause(), instanceOf(RejectedExecutionException.class));
+        assertThat(calls.get(), is(0));
+    }
+
+    @Test
+    public void cancellingFutureCancelsAttempts() throws Exception {
+        Hedger hedger = manualDelayBuilder().build();
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Try<Integer>> future = hedger.<Integer>callCatchThrowableAsync(() -> {
+            started.countDown();
+            return blockUntilInterrupted();
+        });
+        started.await();
+        future.cancel(true);
+        runDelayedTasks();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Expected attempt to be interrupted");
+        assertThat(calls.get(), is(0));
+    }
+
+    @Test
+    public void blockingCallReturnsTry() {
+        Hedger hedger = manualDelayBuilder().build();
+
+        Try<Integer> result = hedger.callCatchThrowable(calls::incrementAndGet);
+
+        assertThat(result, is(Try.ofSuccess(1)));
+    }
+
+    @Test
+    public void blockingCallReturnsInterruptedFailureAndPreservesInterruptWhenInterruptedWhileWaiting() {
+        Hedger hedger = manualDelayBuilder().build();
+
+        Thread.currentThread().interrupt();
+        Try<Integer> result = hedger.callCatchThrowable(this::blockUntilInterrupted);
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void defaultDelayerStartsDuplicateAttempts() throws Exception {
+        Hedger hedger = Hedger.builder().executor(executor).delay(Duration.ofMillis(1)).build();
+
+        Try<Integer> result = hedger.<Integer>callCatchThrowableAsync(() -> {
+            return calls.incrementAndGet() == 1 ? blockUntilInterrupted() : 2;
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(result, is(Try.ofSuccess(2)));
+    }
+
+    @Test
+    public void builderRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> Hedger.builder().maxAttempts(0));
+        assertThrows(IllegalArgumentException.class, () -> Hedger.builder().delay(Duration.ofMillis(-1)));
+        assertThrows(NullPointerException.class, () -> Hedger.builder().delay(null));
+        assertThrows(NullPointerException.class, () -> Hedger.builder().executor(null));
+    }
+}
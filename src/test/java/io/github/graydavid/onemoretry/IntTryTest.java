@@ -0,0 +1,234 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.Try.CheckedExceptionWrapper;
+
+public class IntTryTest {
+    @Test
+    public void ofSuccessHoldsPrimitiveSuccess() {
+        IntTry result = IntTry.ofSuccess(5);
+
+        assertTrue(result.isSuccess());
+        assertFalse(result.isFailure());
+        assertThat(result.getSuccess(), is(OptionalInt.of(5)));
+        assertThat(result.getFailure(), is(Optional.empty()));
+        assertThat(result.getOrThrowUnchecked(), is(5));
+    }
+
+    @Test
+    public void ofFailureSwallowingInterruptHoldsFailureWithoutSettingInterruptFlag() {
+        InterruptedException failure = new InterruptedException();
+
+        IntTry result = IntTry.ofFailureSwallowingInterrupt(failure);
+
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+        assertTrue(result.isFailure());
+        assertThat(result.getSuccess(), is(OptionalInt.empty()));
+        assertThat(result.getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void ofFailureSwallowingInterruptRejectsNullFailures() {
+        assertThrows(NullPointerException.class, () -> IntTry.ofFailureSwallowingInterrupt(null));
+    }
+
+    @Test
+    public void ofFailurePreservingInterruptSetsInterruptFlagForInterruptedExceptions() {
+        IntTry result = IntTry.ofFailurePreservingInterrupt(new InterruptedException());
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void callCatchRuntimeCatchesRuntimeExceptionsOnly() {
+        IllegalStateException failure = new IllegalStateException();
+        Error error = new Error();
+
+        assertThat(IntTry.callCatchRuntime(() -> 5), is(IntTry.ofSuccess(5)));
+        assertThat(IntTry.callCatchRuntime(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+        assertThat(assertThrows(Error.class, () -> IntTry.callCatchRuntime(() -> {
+            throw error;
+        })), sameInstance(error));
+    }
+
+    @Test
+    public void callCatchExceptionCatchesExceptionsAndPreservesInterrupts() {
+        IOException failure = new IOException();
+
+        assertThat(IntTry.callCatchException(() -> 5), is(IntTry.ofSuccess(5)));
+        assertThat(IntTry.callCatchException(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+        IntTry interrupted = IntTry.callCatchException(() -> {
+            throw new InterruptedException();
+        });
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(interrupted.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void callCatchThrowableCatchesThrowables() {
+        Throwable failure = new Throwable();
+
+        assertThat(IntTry.callCatchThrowable(() -> 5), is(IntTry.ofSuccess(5)));
+        assertThat(IntTry.callCatchThrowable(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowUncheckedWrapsCheckedExceptions() {
+        IOException failure = new IOException();
+        IntTry result = IntTry.ofFailureSwallowingInterrupt(failure);
+
+        CheckedExceptionWrapper thrown = assertThrows(CheckedExceptionWrapper.class, result::getOrThrowUnchecked);
+
+        assertThat(thrown.getCause(), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowUncheckedThrowsUncheckedExceptionsAsIs() {
+        IllegalStateException failure = new IllegalStateException();
+        IntTry result = IntTry.ofFailureSwallowingInterrupt(failure);
+
+        assertThat(assertThrows(IllegalStateException.class, result::getOrThrowUnchecked), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowExceptionClearsInterruptFlagForInterruptedExceptions() {
+        InterruptedException failure = new InterruptedException();
+        IntTry result = IntTry.ofFailurePreservingInterrupt(failure);
+
+        assertThat(assertThrows(InterruptedException.class, result::getOrThrowException), sameInstance(failure));
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+    }
+
+    @Test
+    public void getOrThrowThrowableThrowsFailureAsIs() throws Throwable {
+        Throwable failure = new Throwable();
+
+        assertThat(IntTry.ofSuccess(5).getOrThrowThrowable(), is(5));
+        assertThat(assertThrows(Throwable.class, IntTry.ofFailureSwallowingInterrupt(failure)::getOrThrowThrowable),
+                sameInstance(failure));
+    }
+
+    @Test
+    public void getOrRecoverRecoversOnlyFailures() {
+        assertThat(IntTry.ofSuccess(5).getOrRecover(failure -> 6), is(5));
+        assertThat(IntTry.ofFailureSwallowingInterrupt(new Exception()).getOrRecover(failure -> 6), is(6));
+    }
+
+    @Test
+    public void observeFailureObservesOnlyFailures() {
+        Exception failure = new Exception();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+        IntTry success = IntTry.ofSuccess(5);
+        IntTry failed = IntTry.ofFailureSwallowingInterrupt(failure);
+
+        assertThat(success.observeFailure(observed::set), sameInstance(success));
+        assertThat(observed.get(), is((Throwable) null));
+        assertThat(failed.observeFailure(observed::set), sameInstance(failed));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+
+    @Test
+    public void toTryBoxesSuccessesAndKeepsFailures() {
+        Exception failure = new Exception();
+
+        assertThat(IntTry.ofSuccess(5).toTry(), is(Try.ofSuccess(5)));
+        assertThat(IntTry.ofFailureSwallowingInterrupt(failure).toTry(),
+                is(Try.ofFailureSwallowingInterrupt(failure)));
+    }
+
+    @Test
+    public void equalsComparesSuccessesAndFailures() {
+        Exception failure = new Exception();
+
+        assertThat(IntTry.ofSuccess(5), is(IntTry.ofSuccess(5)));
+        assertThat(IntTry.ofSuccess(5).hashCode(), is(IntTry.ofSuccess(5).hashCode()));
+        assertThat(IntTry.ofSuccess(5), not(IntTry.ofSuccess(6)));
+        assertThat(IntTry.ofFailureSwallowingInterrupt(failure),
+                is(IntTry.ofFailureSwallowingInterrupt(failure)));
+        assertThat(IntTry.ofSuccess(0), not(IntTry.ofFailureSwallowingInterrupt(failure)));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultReturnsResultWithoutCallingOnFailure() {
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        int result = IntTry.callCatchRuntimeOrDefault(() -> 5, 6, observed::set);
+
+        assertThat(result, is(5));
+        assertThat(observed.get(), is((Throwable) null));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultReturnsDefaultAndCallsOnFailureForRuntimeExceptions() {
+        IllegalStateException failure = new IllegalStateException();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        int result = IntTry.callCatchRuntimeOrDefault(() -> {
+            throw failure;
+        }, 6, observed::set);
+
+        assertThat(result, is(6));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultPropagatesOtherThrowables() {
+        Error error = new Error();
+
+        Error thrown = assertThrows(Error.class, () -> IntTry.callCatchRuntimeOrDefault(() -> {
+            throw error;
+        }, 6, failure -> fail("Unexpected failure observed")));
+
+        assertThat(thrown, sameInstance(error));
+    }
+
+    @Test
+    public void callCatchExceptionOrDefaultSetsInterruptFlagBeforeCallingOnFailure() {
+        AtomicBoolean interruptedDuringOnFailure = new AtomicBoolean();
+
+        int result = IntTry.callCatchExceptionOrDefault(() -> {
+            throw new InterruptedException();
+        }, 6, failure -> interruptedDuringOnFailure.set(Thread.currentThread().isInterrupted()));
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertTrue(interruptedDuringOnFailure.get());
+        assertThat(result, is(6));
+    }
+
+    @Test
+    public void callCatchThrowableOrDefaultReturnsDefaultForThrowables() {
+        Throwable failure = new Throwable();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        int result = IntTry.callCatchThrowableOrDefault(() -> {
+            throw failure;
+        }, 6, observed::set);
+
+        assertThat(result, is(6));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+}
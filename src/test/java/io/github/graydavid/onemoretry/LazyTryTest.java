@@ -0,0 +1,132 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class LazyTryTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void doesntCallCallableUntilResultIsAskedFor() {
+        LazyTry<Integer> lazy = Try.lazy(calls::incrementAndGet);
+
+        assertThat(calls.get(), is(0));
+        assertFalse(lazy.isEvaluated());
+        assertThat(lazy.toString(), is("LazyTry[unevaluated]"));
+    }
+
+    @Test
+    public void callsCallableOnceAndCachesSuccess() {
+        LazyTry<Integer> lazy = Try.lazy(calls::incrementAndGet);
+
+        assertTrue(lazy.isSuccess());
+        assertThat(lazy.getNullableSuccess(), is(1));
+        assertThat(lazy.getOrThrowUnchecked(), is(1));
+        assertThat(lazy.get(), sameInstance(lazy.get()));
+        assertThat(calls.get(), is(1));
+        assertTrue(lazy.isEvaluated());
+        assertThat(lazy.toString(), is("LazyTry[" + Try.ofSuccess(1) + "]"));
+    }
+
+    @Test
+    public void cachesFailures() {
+        IllegalStateException failure = new IllegalStateException();
+        LazyTry<Integer> lazy = Try.lazy(() -> {
+            calls.incrementAndGet();
+            throw failure;
+        });
+
+        assertTrue(lazy.isFailure());
+        assertThat(lazy.getNullableFailure(), sameInstance(failure));
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, lazy::getOrThrowUnchecked);
+        assertThat(thrown, sameInstance(failure));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void setsInterruptStatusOfOnlyTheComputingThread() throws Exception {
+        InterruptedException interrupted = new InterruptedException();
+        LazyTry<Integer> lazy = Try.lazy(() -> {
+            throw interrupted;
+        });
+
+        assertThat(lazy.getNullableFailure(), sameInstance(interrupted));
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(lazy.getNullableFailure(), sameInstance(interrupted));
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set by reading cached result");
+    }
+
+    @Test
+    public void callsCallableExactlyOnceWhenThreadsRace() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LazyTry<Integer> lazy = Try.lazy(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return calls.incrementAndGet();
+        });
+
+        List<Future<Try<Integer>>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            futures.add(executor.submit(lazy::get));
+        }
+        release.countDown();
+
+        for (Future<Try<Integer>> future : futures) {
+            assertThat(future.get(), sameInstance(lazy.get()));
+        }
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void racyModeLetsEveryRacingThreadCallButPublishesOneResult() throws Exception {
+        CountDownLatch allCalling = new CountDownLatch(2);
+        LazyTry<Integer> lazy = Try.lazyRacy(() -> {
+            allCalling.countDown();
+            allCalling.await(5, TimeUnit.SECONDS);
+            return calls.incrementAndGet();
+        });
+
+        Future<Try<Integer>> first = executor.submit(lazy::get);
+        Future<Try<Integer>> second = executor.submit(lazy::get);
+
+        assertThat(first.get(), sameInstance(second.get()));
+        assertThat(lazy.get(), sameInstance(first.get()));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void racyModeCallsCallableOnceWithoutContention() {
+        LazyTry<Integer> lazy = Try.lazyRacy(calls::incrementAndGet);
+
+        assertThat(lazy.getNullableSuccess(), is(1));
+        assertThat(lazy.getNullableSuccess(), is(1));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void rejectsNullCallables() {
+        assertThrows(NullPointerException.class, () -> Try.lazy(null));
+        assertThrows(NullPointerException.class, () -> Try.lazyRacy(null));
+    }
+}
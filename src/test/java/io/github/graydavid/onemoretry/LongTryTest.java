@@ -0,0 +1,234 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.Try.CheckedExceptionWrapper;
+
+public class LongTryTest {
+    @Test
+    public void ofSuccessHoldsPrimitiveSuccess() {
+        LongTry result = LongTry.ofSuccess(5L);
+
+        assertTrue(result.isSuccess());
+        assertFalse(result.isFailure());
+        assertThat(result.getSuccess(), is(OptionalLong.of(5L)));
+        assertThat(result.getFailure(), is(Optional.empty()));
+        assertThat(result.getOrThrowUnchecked(), is(5L));
+    }
+
+    @Test
+    public void ofFailureSwallowingInterruptHoldsFailureWithoutSettingInterruptFlag() {
+        InterruptedException failure = new InterruptedException();
+
+        LongTry result = LongTry.ofFailureSwallowingInterrupt(failure);
+
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+        assertTrue(result.isFailure());
+        assertThat(result.getSuccess(), is(OptionalLong.empty()));
+        assertThat(result.getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void ofFailureSwallowingInterruptRejectsNullFailures() {
+        assertThrows(NullPointerException.class, () -> LongTry.ofFailureSwallowingInterrupt(null));
+    }
+
+    @Test
+    public void ofFailurePreservingInterruptSetsInterruptFlagForInterruptedExceptions() {
+        LongTry result = LongTry.ofFailurePreservingInterrupt(new InterruptedException());
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void callCatchRuntimeCatchesRuntimeExceptionsOnly() {
+        IllegalStateException failure = new IllegalStateException();
+        Error error = new Error();
+
+        assertThat(LongTry.callCatchRuntime(() -> 5L), is(LongTry.ofSuccess(5L)));
+        assertThat(LongTry.callCatchRuntime(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+        assertThat(assertThrows(Error.class, () -> LongTry.callCatchRuntime(() -> {
+            throw error;
+        })), sameInstance(error));
+    }
+
+    @Test
+    public void callCatchExceptionCatchesExceptionsAndPreservesInterrupts() {
+        IOException failure = new IOException();
+
+        assertThat(LongTry.callCatchException(() -> 5L), is(LongTry.ofSuccess(5L)));
+        assertThat(LongTry.callCatchException(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+        LongTry interrupted = LongTry.callCatchException(() -> {
+            throw new InterruptedException();
+        });
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(interrupted.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void callCatchThrowableCatchesThrowables() {
+        Throwable failure = new Throwable();
+
+        assertThat(LongTry.callCatchThrowable(() -> 5L), is(LongTry.ofSuccess(5L)));
+        assertThat(LongTry.callCatchThrowable(() -> {
+            throw failure;
+        }).getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowUncheckedWrapsCheckedExceptions() {
+        IOException failure = new IOException();
+        LongTry result = LongTry.ofFailureSwallowingInterrupt(failure);
+
+        CheckedExceptionWrapper thrown = assertThrows(CheckedExceptionWrapper.class, result::getOrThrowUnchecked);
+
+        assertThat(thrown.getCause(), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowUncheckedThrowsUncheckedExceptionsAsIs() {
+        IllegalStateException failure = new IllegalStateException();
+        LongTry result = LongTry.ofFailureSwallowingInterrupt(failure);
+
+        assertThat(assertThrows(IllegalStateException.class, result::getOrThrowUnchecked), sameInstance(failure));
+    }
+
+    @Test
+    public void getOrThrowExceptionClearsInterruptFlagForInterruptedExceptions() {
+        InterruptedException failure = new InterruptedException();
+        LongTry result = LongTry.ofFailurePreservingInterrupt(failure);
+
+        assertThat(assertThrows(InterruptedException.class, result::getOrThrowException), sameInstance(failure));
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+    }
+
+    @Test
+    public void getOrThrowThrowableThrowsFailureAsIs() throws Throwable {
+        Throwable failure = new Throwable();
+
+        assertThat(LongTry.ofSuccess(5L).getOrThrowThrowable(), is(5L));
+        assertThat(assertThrows(Throwable.class, LongTry.ofFailureSwallowingInterrupt(failure)::getOrThrowThrowable),
+                sameInstance(failure));
+    }
+
+    @Test
+    public void getOrRecoverRecoversOnlyFailures() {
+        assertThat(LongTry.ofSuccess(5L).getOrRecover(failure -> 6L), is(5L));
+        assertThat(LongTry.ofFailureSwallowingInterrupt(new Exception()).getOrRecover(failure -> 6L), is(6L));
+    }
+
+    @Test
+    public void observeFailureObservesOnlyFailures() {
+        Exception failure = new Exception();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+        LongTry success = LongTry.ofSuccess(5L);
+        LongTry failed = LongTry.ofFailureSwallowingInterrupt(failure);
+
+        assertThat(success.observeFailure(observed::set), sameInstance(success));
+        assertThat(observed.get(), is((Throwable) null));
+        assertThat(failed.observeFailure(observed::set), sameInstance(failed));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+
+    @Test
+    public void toTryBoxesSuccessesAndKeepsFailures() {
+        Exception failure = new Exception();
+
+        assertThat(LongTry.ofSuccess(5L).toTry(), is(Try.ofSuccess(5L)));
+        assertThat(LongTry.ofFailureSwallowingInterrupt(failure).toTry(),
+                is(Try.ofFailureSwallowingInterrupt(failure)));
+    }
+
+    @Test
+    public void equalsComparesSuccessesAndFailures() {
+        Exception failure = new Exception();
+
+        assertThat(LongTry.ofSuccess(5L), is(LongTry.ofSuccess(5L)));
+        assertThat(LongTry.ofSuccess(5L).hashCode(), is(LongTry.ofSuccess(5L).hashCode()));
+        assertThat(LongTry.ofSuccess(5L), not(LongTry.ofSuccess(6L)));
+        assertThat(LongTry.ofFailureSwallowingInterrupt(failure),
+                is(LongTry.ofFailureSwallowingInterrupt(failure)));
+        assertThat(LongTry.ofSuccess(0L), not(LongTry.ofFailureSwallowingInterrupt(failure)));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultReturnsResultWithoutCallingOnFailure() {
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        long result = LongTry.callCatchRuntimeOrDefault(() -> 5L, 6L, observed::set);
+
+        assertThat(result, is(5L));
+        assertThat(observed.get(), is((Throwable) null));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultReturnsDefaultAndCallsOnFailureForRuntimeExceptions() {
+        IllegalStateException failure = new IllegalStateException();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        long result = LongTry.callCatchRuntimeOrDefault(() -> {
+            throw failure;
+        }, 6L, observed::set);
+
+        assertThat(result, is(6L));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultPropagatesOtherThrowables() {
+        Error error = new Error();
+
+        Error thrown = assertThrows(Error.class, () -> LongTry.callCatchRuntimeOrDefault(() -> {
+            throw error;
+        }, 6L, failure -> fail("Unexpected failure observed")));
+
+        assertThat(thrown, sameInstance(error));
+    }
+
+    @Test
+    public void callCatchExceptionOrDefaultSetsInterruptFlagBeforeCallingOnFailure() {
+        AtomicBoolean interruptedDuringOnFailure = new AtomicBoolean();
+
+        long result = LongTry.callCatchExceptionOrDefault(() -> {
+            throw new InterruptedException();
+        }, 6L, failure -> interruptedDuringOnFailure.set(Thread.currentThread().isInterrupted()));
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertTrue(interruptedDuringOnFailure.get());
+        assertThat(result, is(6L));
+    }
+
+    @Test
+    public void callCatchThrowableOrDefaultReturnsDefaultForThrowables() {
+        Throwable failure = new Throwable();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        long result = LongTry.callCatchThrowableOrDefault(() -> {
+            throw failure;
+        }, 6L, observed::set);
+
+        assertThat(result, is(6L));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+}
@@ -0,0 +1,355 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class RetryPolicyTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<Long> backoffs = new ArrayList<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private RetryPolicy.Builder fakeTimeBuilder() {
+        return RetryPolicy.builder().nanoClock(nanoTime::get).random(() -> 0.0).sleeper(nanos -> {
+            backoffs.add(nanos);
+            nanoTime.addAndGet(nanos);
+        });
+    }
+
+    private Integer failUntilCall(int successfulCall, Exception failure) throws Exception {
+        if (calls.incrementAndGet() < successfulCall) {
+            throw failure;
+        }
+        return calls.get();
+    }
+
+    @Test
+    public void returnsFirstSuccessWithoutRetrying() {
+        RetryPolicy policy = fakeTimeBuilder().build();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> failUntilCall(1, new Exception()));
+
+        assertThat(result.getTry(), is(Try.ofSuccess(1)));
+        assertThat(result.getAttempts(), is(1));
+        assertThat(result.getPriorFailures(), empty());
+        assertThat(backoffs, empty());
+    }
+
+    @Test
+    public void retriesFailuresUntilSuccess() {
+        Exception failure = new Exception();
+        RetryPolicy policy = fakeTimeBuilder().maxAttempts(5).build();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> failUntilCall(3, failure));
+
+        assertThat(result.getTry(), is(Try.ofSuccess(3)));
+        assertThat(result.getAttempts(), is(3));
+        assertThat(result.getPriorFailures(), contains(failure, failure));
+    }
+
+    @Test
+    public void stopsAfterMaxAttempts() {
+        Exception failure1 = new Exception();
+        Exception failure2 = new Exception();
+        Exception failure3 = new Exception();
+        List<Exception> failures = List.of(failure1, failure2, failure3);
+        RetryPolicy policy = fakeTimeBuilder().maxAttempts(3).build();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> {
+            throw failures.get(calls.getAndIncrement());
+        });
+
+        assertThat(result.getTry().getNullableFailure(), sameInstance(failure3));
+        assertThat(result.getAttempts(), is(3));
+        assertThat(result.getPriorFailures(), contains(failure1, failure2));
+    }
+
+    @Test
+    public void backsOffExponentiallyUpToMaxBackoff() {
+        RetryPolicy policy = fakeTimeBuilder().maxAttempts(6)
+                .initialBackoff(Duration.ofNanos(10))
+                .backoffMultiplier(3.0)
+                .maxBackoff(Duration.ofNanos(500))
+                .build();
+
+        policy.callCatchException(() -> failUntilCall(Integer.MAX_VALUE, new Exception()));
+
+        assertThat(backoffs, contains(10L, 30L, 90L, 270L, 500L));
+    }
+
+    @Test
+    public void jitterSubtractsRandomFractionOfBackoff() {
+        RetryPolicy policy = RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofNanos(100))
+                .backoffMultiplier(2.0)
+                .jitter(0.5)
+                .random(() -> 0.5)
+                .nanoClock(nanoTime::get)
+                .sleeper(backoffs::add)
+                .build();
+
+        policy.callCatchException(() -> failUntilCall(Integer.MAX_VALUE, new Exception()));
+
+        assertThat(backoffs, contains(75L, 150L));
+    }
+
+    @Test
+    public void doesntRetryFailuresRejectedByPredicate() {
+        IllegalStateException failure = new IllegalStateException();
+        RetryPolicy policy = fakeTimeBuilder().retryPredicate(f -> !(f instanceof IllegalStateException)).build();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> failUntilCall(2, failure));
+
+        assertThat(result.getTry().getNullableFailure(), sameInstance(failure));
+        assertThat(result.getAttempts(), is(1));
+    }
+
+    @Test
+    public void doesntRetryErrorsByDefault() {
+        Error error = new Error();
+        RetryPolicy policy = fakeTimeBuilder().build();
+
+        RetryResult<Integer> result = policy.callCatchThrowable(() -> {
+            calls.incrementAndGet();
+            throw error;
+        });
+
+        assertThat(result.getTry().getNullableFailure(), sameInstance(error));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void callCatchExceptionPropagatesErrors() {
+        Error error = new Error();
+        RetryPolicy policy = fakeTimeBuilder().build();
+
+        Error thrown = assertThrows(Error.class, () -> policy.callCatchException(() -> {
+            throw error;
+        }));
+
+        assertThat(thrown, sameInstance(error));
+    }
+
+    @Test
+    public void doesntRetryInterruptedExceptions() {
+        InterruptedException interruptedException = new InterruptedException();
+        RetryPolicy policy = fakeTimeBuilder().retryPredicate(f -> true).build();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> failUntilCall(2, interruptedException));
+
+        assertThat(result.getTry().getNullableFailure(), sameInstance(interruptedException));
+        assertThat(result.getAttempts(), is(1));
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+    }
+
+    @Test
+    public void doesntRetryWhenThreadIsInterrupted() {
+        RetryPolicy policy = fakeTimeBuilder().build();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> {
+            Thread.currentThread().interrupt();
+            return failUntilCall(2, new Exception());
+        });
+
+        assertThat(result.getAttempts(), is(1));
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+    }
+
+    @Test
+    public void stopsRetryingWhenInterruptedWhileBackingOff() {
+        Exception failure = new Exception();
+        InterruptedException interruptedException = new InterruptedException();
+        RetryPolicy policy = RetryPolicy.builder().sleeper(nanos -> {
+            throw interruptedException;
+        }).build();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> failUntilCall(2, failure));
+
+        assertThat(result.getTry().getNullableFailure(), sameInstance(interruptedException));
+        assertThat(result.getAttempts(), is(1));
+        assertThat(result.getPriorFailures(), contains(failure));
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+    }
+
+    @Test
+    public void doesntRetryIfBackoffWouldEndAfterTotalTimeout() {
+        RetryPolicy policy = fakeTimeBuilder().maxAttempts(10)
+                .initialBackoff(Duration.ofNanos(10))
+                .backoffMultiplier(2.0)
+                .totalTimeout(Duration.ofNanos(50))
+                .build();
+
+        RetryResult<Integer> result = policy
+                .callCatchException(() -> failUntilCall(Integer.MAX_VALUE, new Exception()));
+
+        // Backoffs of 10 and 20 fit in the timeout, but the next one of 40 would end at 70
+        assertThat(backoffs, contains(10L, 20L));
+        assertThat(result.getAttempts(), is(3));
+    }
+
+    @Test
+    public void actuallySleepsByDefault() {
+        RetryPolicy policy = RetryPolicy.builder().initialBackoff(Duration.ofMillis(10)).jitter(0.0).build();
+        long start = System.nanoTime();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> failUntilCall(2, new Exception()));
+
+        assertTrue(result.getTry().isSuccess());
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(10).toNanos());
+        assertFalse(Thread.interrupted());
+    }
+
+    @Test
+    public void asyncRetriesFailuresUntilSuccessOnScheduler() {
+        Exception failure = new Exception();
+        RetryPolicy policy = RetryPolicy.builder().maxAttempts(5).initialBackoff(Duration.ofMillis(1)).build();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            Try<Integer> result = policy.callCatchExceptionAsync(() -> failUntilCall(3, failure), scheduler).join();
+
+            assertThat(result, is(Try.ofSuccess(3)));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asyncReturnsFinalFailureAfterMaxAttempts() {
+        Exception failure = new Exception();
+        RetryPolicy policy = RetryPolicy.builder().maxAttempts(2).initialBackoff(Duration.ofMillis(1)).build();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            Try<Integer> result = policy
+                    .callCatchThrowableAsync(() -> failUntilCall(Integer.MAX_VALUE, failure), scheduler)
+                    .join();
+
+            assertThat(result.getNullableFailure(), sameInstance(failure));
+            assertThat(calls.get(), is(2));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asyncClassifiesFailuresLikeSynchronousVersion() {
+        Error error = new Error();
+        RetryPolicy policy = RetryPolicy.builder().build();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            CompletableFuture<Try<Integer>> result = policy.callCatchExceptionAsync(() -> {
+                throw error;
+            }, scheduler);
+
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get());
+            assertThat(thrown.getCause(), sameInstance(error));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asyncCancellationCancelsPendingRetry() throws InterruptedException {
+        RetryPolicy policy = RetryPolicy.builder().initialBackoff(Duration.ofHours(1)).jitter(0.0).build();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        try {
+            CountDownLatch firstAttemptMade = new CountDownLatch(1);
+            CompletableFuture<Try<Integer>> result = policy.callCatchExceptionAsync(() -> {
+                calls.incrementAndGet();
+                firstAttemptMade.countDown();
+                throw new Exception();
+            }, scheduler);
+            firstAttemptMade.await();
+            // The retry is scheduled just after the first attempt finishes
+            while (scheduler.getQueue().isEmpty()) {
+                Thread.yield();
+            }
+
+            result.cancel(false);
+
+            assertTrue(scheduler.getQueue().isEmpty());
+            assertThat(calls.get(), is(1));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asyncReturnsFailureIfSchedulerRejectsFirstAttempt() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.shutdown();
+
+        Try<Integer> result = RetryPolicy.builder().build().callCatchExceptionAsync(() -> 5, scheduler).join();
+
+        assertThat(result.getNullableFailure(), instanceOf(RejectedExecutionException.class));
+    }
+
+    @Test
+    public void acceptsDurationsTooLargeToConvertToNanos() {
+        Duration forever = ChronoUnit.FOREVER.getDuration();
+        RetryPolicy policy = fakeTimeBuilder().maxAttempts(3)
+                .initialBackoff(Duration.ofNanos(10))
+                .maxBackoff(forever)
+                .totalTimeout(forever)
+                .build();
+
+        RetryResult<Integer> result = policy.callCatchException(() -> failUntilCall(3, new Exception()));
+
+        assertThat(result.getTry(), is(Try.ofSuccess(3)));
+        assertThat(backoffs, contains(10L, 20L));
+    }
+
+    @Test
+    public void saturatesInitialBackoffTooLargeToConvertToNanos() {
+        RetryPolicy policy = fakeTimeBuilder().maxAttempts(2).initialBackoff(ChronoUnit.FOREVER.getDuration()).build();
+
+        policy.callCatchException(() -> failUntilCall(2, new Exception()));
+
+        // Capped by the default maxBackoff of 10 seconds rather than overflowing into a negative backoff
+        assertThat(backoffs, contains(Duration.ofSeconds(10).toNanos()));
+    }
+
+    @Test
+    public void builderRejectsInvalidSettings() {
+        RetryPolicy.Builder builder = RetryPolicy.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.maxAttempts(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.initialBackoff(Duration.ofNanos(-1)));
+        assertThrows(IllegalArgumentException.class, () -> builder.backoffMultiplier(0.5));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxBackoff(Duration.ofNanos(-1)));
+        assertThrows(IllegalArgumentException.class, () -> builder.jitter(1.5));
+        assertThrows(IllegalArgumentException.class, () -> builder.totalTimeout(Duration.ofNanos(-1)));
+        assertThrows(NullPointerException.class, () -> builder.retryPredicate(null));
+    }
+
+    @Test
+    public void retryResultToStringIncludesTry() {
+        RetryResult<Integer> result = fakeTimeBuilder().build().callCatchException(() -> 5);
+
+        assertThat(result.toString(), containsString(Try.ofSuccess(5).toString()));
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch calling = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicReference<Try<Integer>> leaderResult = new AtomicReference<>();
+
+    /** Starts a leader thread whose call for "key" blocks until release is counted down. Returns once it's calling. */
+    private Thread startBlockedLeader() throws InterruptedException {
+        Thread leader = new Thread(() -> leaderResult.set(singleFlight.callCatchThrowable("key", () -> {
+            calling.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return calls.incrementAndGet();
+        })));
+        leader.start();
+        calling.await();
+        return leader;
+    }
+
+    @Test
+    public void callsThroughWhenNothingIsInFlight() {
+        Try<Integer> result = singleFlight.callCatchThrowable("key", calls::incrementAndGet);
+
+        assertThat(result, is(Try.ofSuccess(1)));
+        assertThat(singleFlight.getInFlightCount(), is(0));
+    }
+
+    @Test
+    public void callsAgainOnceEarlierCallFinishes() {
+        singleFlight.callCatchThrowable("key", calls::incrementAndGet);
+        Try<Integer> result = singleFlight.callCatchThrowable("key", calls::incrementAndGet);
+
+        assertThat(result, is(Try.ofSuccess(2)));
+    }
+
+    @Test
+    public void sharesInFlightCallWithWaiters() throws Exception {
+        Thread leader = startBlockedLeader();
+        AtomicReference<Try<Integer>> waiterResult = new AtomicReference<>();
+        Thread waiter = new Thread(
+                () -> waiterResult.set(singleFlight.callCatchThrowable("key", calls::incrementAndGet)));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+
+        release.countDown();
+        leader.join();
+        waiter.join();
+
+        assertThat(calls.get(), is(1));
+        assertThat(waiterResult.get(), sameInstance(leaderResult.get()));
+    }
+
+    @Test
+    public void doesntShareCallsForDifferentKeys() throws Exception {
+        Thread leader = startBlockedLeader();
+
+        Try<Integer> result = singleFlight.callCatchThrowable("other", () -> 10);
+
+        assertThat(result, is(Try.ofSuccess(10)));
+        release.countDown();
+        leader.join();
+    }
+
+    @Test
+    public void interruptingWaiterOnlyAffectsThatWaiter() throws Exception {
+        Thread leader = startBlockedLeader();
+
+        Thread.currentThread().interrupt();
+        Try<Integer> waiterResult = singleFlight.callCatchThrowable("key", calls::incrementAndGet);
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(waiterResult.getNullableFailure(), instanceOf(InterruptedException.class));
+        release.countDown();
+        leader.join();
+        assertThat(leaderResult.get(), is(Try.ofSuccess(1)));
+    }
+
+    @Test
+    public void leadersInterruptedExceptionDoesntSetWaitersInterruptStatus() throws Exception {
+        InterruptedException interrupted = new InterruptedException();
+        AtomicBoolean leaderInterrupted = new AtomicBoolean();
+        Thread leader = new Thread(() -> {
+            leaderResult.set(singleFlight.callCatchThrowable("key", () -> {
+                calling.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                throw interrupted;
+            }));
+            leaderInterrupted.set(Thread.interrupted());
+        });
+        leader.start();
+        calling.await();
+        AtomicReference<Try<Integer>> waiterResult = new AtomicReference<>();
+        AtomicBoolean waiterInterrupted = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            waiterResult.set(singleFlight.callCatchThrowable("key", calls::incrementAndGet));
+            waiterInterrupted.set(Thread.interrupted());
+        });
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+
+        release.countDown();
+        leader.join();
+        waiter.join();
+
+        assertThat(waiterResult.get(), sameInstance(leaderResult.get()));
+        assertThat(waiterResult.get().getNullableFailure(), sameInstance(interrupted));
+        assertTrue(leaderInterrupted.get(), "Expected leader's Thread interrupted flag to be set");
+        assertFalse(waiterInterrupted.get(), "Expected waiter's Thread interrupted flag not to be set");
+    }
+
+    @Test
+    public void rejectsNullArguments() {
+        assertThrows(NullPointerException.class, () -> singleFlight.callCatchThrowable(null, () -> 5));
+        assertThrows(NullPointerException.class, () -> singleFlight.callCatchThrowable("key", null));
+    }
+}
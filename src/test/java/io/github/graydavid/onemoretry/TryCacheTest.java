@@ -0,0 +1,352 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class TryCacheTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    private TryCache.Builder builder() {
+        return TryCache.builder().nanoClock(nanoTime::get).refreshExecutor(refreshes::add);
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+    private TryCache<Integer, Integer> countingCache(TryCache.Builder builder) {
+        return builder.build(key -> key * 100 + calls.incrementAndGet());
+    }
+
+    @Test
+    public void cachesSuccessesUntilSuccessTtlExpires() {
+        TryCache<Integer, Integer> cache = countingCache(builder().successTtl(Duration.ofSeconds(10)));
+
+        assertThat(cache.get(1), is(Try.ofSuccess(101)));
+        advance(Duration.ofSeconds(9));
+        assertThat(cache.get(1), is(Try.ofSuccess(101)));
+        advance(Duration.ofSeconds(1));
+        assertThat(cache.get(1), is(Try.ofSuccess(102)));
+    }
+
+    @Test
+    public void cachesFailuresUntilFailureTtlExpires() {
+        IllegalStateException failure = new IllegalStateException();
+        TryCache<Integer, Integer> cache = builder().successTtl(Duration.ofMinutes(1))
+                .failureTtl(Duration.ofSeconds(1))
+                .build(key -> {
+                    calls.incrementAndGet();
+                    throw failure;
+                });
+
+        assertThat(cache.get(1).getNullableFailure(), sameInstance(failure));
+        assertThat(cache.get(1).getNullableFailure(), sameInstance(failure));
+        assertThat(calls.get(), is(1));
+
+        advance(Duration.ofSeconds(1));
+        cache.get(1);
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void zeroTtlDisablesCaching() {
+        TryCache<Integer, Integer> cache = countingCache(builder().successTtl(Duration.ZERO));
+
+        cache.get(1);
+        cache.get(1);
+
+        assertThat(calls.get(), is(2));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void neverCachesInterruptedExceptions() {
+        TryCache<Integer, Integer> cache = builder().build(key -> {
+            calls.incrementAndGet();
+            throw new InterruptedException();
+        });
+
+        assertThat(cache.get(1).getNullableFailure(), instanceOf(InterruptedException.class));
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        cache.get(1);
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void coalescesConcurrentLoadsOfTheSameKey() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TryCache<Integer, Integer> cache = builder().build(key -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return calls.incrementAndGet();
+        });
+        AtomicReference<Try<Integer>> loaderResult = new AtomicReference<>();
+        AtomicReference<Try<Integer>> waiterResult = new AtomicReference<>();
+
+        Thread loader = new Thread(() -> loaderResult.set(cache.get(1)));
+        loader.start();
+        loading.await();
+        Thread waiter = new Thread(() -> waiterResult.set(cache.get(1)));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+        release.countDown();
+        loader.join();
+        waiter.join();
+
+        assertThat(calls.get(), is(1));
+        assertThat(waiterResult.get(), sameInstance(loaderResult.get()));
+    }
+
+    @Test
+    public void interruptingWaiterOnlyAffectsThatWaiter() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TryCache<Integer, Integer> cache = builder().build(key -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return calls.incrementAndGet();
+        });
+        AtomicReference<Try<Integer>> loaderResult = new AtomicReference<>();
+        Thread loader = new Thread(() -> loaderResult.set(cache.get(1)));
+        loader.start();
+        loading.await();
+
+        Thread.currentThread().interrupt();
+        Try<Integer> waiterResult = cache.get(1);
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(waiterResult.getNullableFailure(), instanceOf(InterruptedException.class));
+        release.countDown();
+        loader.join();
+        assertThat(loaderResult.get(), is(Try.ofSuccess(1)));
+        assertThat(cache.get(1), sameInstance(loaderResult.get()));
+    }
+
+    @Test
+    public void evictsKeysNotReadSinceLastSweepWhenFull() {
+        TryCache<Integer, Integer> cache = countingCache(builder().maximumSize(2));
+        cache.get(1);
+        cache.get(2);
+        cache.get(1);
+
+        cache.get(3);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get(1), is(Try.ofSuccess(101)));
+        assertThat(cache.get(3), is(Try.ofSuccess(303)));
+        assertThat(cache.get(2), is(Try.ofSuccess(204)));
+    }
+
+    @Test
+    public void evictsExpiredKeysEvenIfRead() {
+        TryCache<Integer, Integer> cache = builder().maximumSize(2)
+                .successTtl(Duration.ofSeconds(10))
+                .failureTtl(Duration.ofSeconds(1))
+                .build(key -> {
+                    if (key == 1) {
+                        throw new IllegalStateException();
+                    }
+                    return key * 100 + calls.incrementAndGet();
+                });
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+        advance(Duration.ofSeconds(1));
+
+        cache.get(3);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get(2), is(Try.ofSuccess(201)));
+    }
+
+    @Test
+    public void refreshesSuccessInBackgroundWhileServingStaleValue() {
+        TryCache<Integer, Integer> cache = countingCache(
+                builder().successTtl(Duration.ofMinutes(1)).refreshAfter(Duration.ofSeconds(10)));
+        cache.get(1);
+        advance(Duration.ofSeconds(10));
+
+        assertThat(cache.get(1), is(Try.ofSuccess(101)));
+        assertThat(cache.get(1), is(Try.ofSuccess(101)));
+        assertThat(refreshes.size(), is(1));
+
+        refreshes.get(0).run();
+        assertThat(cache.get(1), is(Try.ofSuccess(102)));
+    }
+
+    @Test
+    public void refreshDoesntBringBackKeyInvalidatedWhileRefreshing() {
+        TryCache<Integer, Integer> cache = countingCache(
+                builder().successTtl(Duration.ofMinutes(1)).refreshAfter(Duration.ofSeconds(10)));
+        cache.get(1);
+        advance(Duration.ofSeconds(10));
+        cache.get(1);
+
+        cache.invalidate(1);
+        refreshes.get(0).run();
+
+        assertThat(cache.size(), is(0));
+        assertThat(cache.get(1), is(Try.ofSuccess(103)));
+    }
+
+    @Test
+    public void refreshDoesntReplaceKeyReloadedWhileRefreshing() {
+        TryCache<Integer, Integer> cache = countingCache(
+                builder().successTtl(Duration.ofMinutes(1)).refreshAfter(Duration.ofSeconds(10)));
+        cache.get(1);
+        advance(Duration.ofSeconds(10));
+        cache.get(1);
+        cache.invalidate(1);
+        cache.get(1);
+
+        refreshes.get(0).run();
+
+        assertThat(cache.get(1), is(Try.ofSuccess(102)));
+    }
+
+    @Test
+    public void failedRefreshKeepsStaleSuccessAndPostponesNextRefresh() {
+        AtomicInteger loads = new AtomicInteger();
+        TryCache<Integer, Integer> cache = builder().successTtl(Duration.ofMinutes(1))
+                .refreshAfter(Duration.ofSeconds(10))
+                .build(key -> {
+                    if (loads.incrementAndGet() > 1) {
+                        throw new IllegalStateException();
+                    }
+                    return 5;
+                });
+        cache.get(1);
+        advance(Duration.ofSeconds(10));
+        cache.get(1);
+        refreshes.get(0).run();
+
+        assertThat(cache.get(1), is(Try.ofSuccess(5)));
+        assertThat(refreshes.size(), is(1));
+        advance(Duration.ofSeconds(10));
+        assertThat(cache.get(1), is(Try.ofSuccess(5)));
+        assertThat(refreshes.size(), is(2));
+    }
+
+    @Test
+    public void neverRefreshesFailures() {
+        TryCache<Integer, Integer> cache = builder().failureTtl(Duration.ofMinutes(1))
+                .refreshAfter(Duration.ofSeconds(10))
+                .build(key -> {
+                    throw new IllegalStateException();
+                });
+        cache.get(1);
+        advance(Duration.ofSeconds(10));
+
+        cache.get(1);
+
+        assertThat(refreshes.size(), is(0));
+    }
+
+    @Test
+    public void invalidateMakesNextGetLoadAgain() {
+        TryCache<Integer, Integer> cache = countingCache(builder());
+        cache.get(1);
+
+        cache.invalidate(1);
+
+        assertThat(cache.size(), is(0));
+        assertThat(cache.get(1), is(Try.ofSuccess(102)));
+    }
+
+    @Test
+    public void invalidateDuringFirstLoadStopsResultFromBeingCached() {
+        AtomicReference<TryCache<Integer, Integer>> cache = new AtomicReference<>();
+        cache.set(builder().build(key -> {
+            if (calls.incrementAndGet() == 1) {
+                cache.get().invalidate(key);
+            }
+            return key * 100 + calls.get();
+        }));
+
+        assertThat(cache.get().get(1), is(Try.ofSuccess(101)));
+
+        assertThat(cache.get().size(), is(0));
+        assertThat(cache.get().get(1), is(Try.ofSuccess(102)));
+    }
+
+    @Test
+    public void invalidateDuringReloadOfExpiredKeyStopsResultFromBeingCached() {
+        AtomicReference<TryCache<Integer, Integer>> cache = new AtomicReference<>();
+        cache.set(builder().successTtl(Duration.ofSeconds(10)).build(key -> {
+            if (calls.incrementAndGet() == 2) {
+                cache.get().invalidate(key);
+            }
+            return key * 100 + calls.get();
+        }));
+        cache.get().get(1);
+        advance(Duration.ofSeconds(10));
+
+        assertThat(cache.get().get(1), is(Try.ofSuccess(102)));
+
+        assertThat(cache.get().size(), is(0));
+        assertThat(cache.get().get(1), is(Try.ofSuccess(103)));
+    }
+
+    @Test
+    public void sweepSkipsInvalidatedKeysWithoutCountingThemAsEvictions() {
+        TryCache<Integer, Integer> cache = countingCache(builder().maximumSize(2));
+        cache.get(1);
+        cache.get(2);
+        cache.invalidate(1);
+        cache.get(3);
+
+        cache.get(4);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get(3), is(Try.ofSuccess(303)));
+        assertThat(cache.get(4), is(Try.ofSuccess(404)));
+    }
+
+    @Test
+    public void invalidatedKeysDontPileUpInTheRing() {
+        TryCache<Integer, Integer> cache = countingCache(builder().maximumSize(10));
+
+        for (int i = 0; i < 1000; ++i) {
+            cache.get(1);
+            cache.invalidate(1);
+        }
+
+        assertThat(cache.size(), is(0));
+        assertTrue(cache.ringSize() <= 11, "Expected dead nodes to be purged: " + cache.ringSize());
+    }
+
+    @Test
+    public void builderRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> TryCache.builder().maximumSize(0));
+        assertThrows(NullPointerException.class, () -> TryCache.builder().successTtl(null));
+        assertThrows(IllegalArgumentException.class, () -> TryCache.builder().successTtl(Duration.ofMillis(-1)));
+        assertThrows(NullPointerException.class, () -> TryCache.builder().failureTtl(null));
+        assertThrows(IllegalArgumentException.class, () -> TryCache.builder().failureTtl(Duration.ofMillis(-1)));
+        assertThrows(NullPointerException.class, () -> TryCache.builder().refreshAfter(null));
+        assertThrows(IllegalArgumentException.class, () -> TryCache.builder().refreshAfter(Duration.ZERO));
+        assertThrows(NullPointerException.class, () -> TryCache.builder().refreshExecutor(null));
+        assertThrows(NullPointerException.class, () -> TryCache.builder().build(null));
+    }
+}
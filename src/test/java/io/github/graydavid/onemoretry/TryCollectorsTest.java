@@ -0,0 +1,143 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.TryCollectors.Partition;
+
+public class TryCollectorsTest {
+    private final IllegalStateException failure1 = new IllegalStateException();
+    private final IOException failure2 = new IOException();
+
+    @Test
+    public void partitioningSplitsSuccessesAndFailuresInEncounterOrder() {
+        Partition<Integer> partition = Stream
+                .of(Try.ofSuccess(1), Try.<Integer>ofFailureSwallowingInterrupt(failure1), Try.<Integer>ofSuccess(null),
+                        Try.<Integer>ofFailureSwallowingInterrupt(failure2), Try.ofSuccess(2))
+                .collect(TryCollectors.partitioning());
+
+        assertThat(partition.getSuccesses(), contains(1, null, 2));
+        assertThat(partition.getFailures(), contains(failure1, failure2));
+    }
+
+    @Test
+    public void partitioningReturnsUnmodifiableLists() {
+        Partition<Integer> partition = Stream.of(Try.ofSuccess(1)).collect(TryCollectors.partitioning());
+
+        assertThrows(UnsupportedOperationException.class, () -> partition.getSuccesses().add(2));
+        assertThrows(UnsupportedOperationException.class, () -> partition.getFailures().add(failure1));
+    }
+
+    @Test
+    public void partitioningPreservesEncounterOrderInParallel() {
+        List<Try<Integer>> trys = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 10 == 0 ? Try.<Integer>ofFailureSwallowingInterrupt(new Exception(String.valueOf(i)))
+                        : Try.ofSuccess(i))
+                .collect(Collectors.toList());
+
+        Partition<Integer> partition = trys.parallelStream().collect(TryCollectors.partitioning());
+
+        assertThat(partition.getSuccesses(), is(IntStream.range(0, 10_000).filter(i -> i % 10 != 0).boxed()
+                .collect(Collectors.toList())));
+        assertThat(partition.getFailures().size(), is(1000));
+        assertThat(partition.getFailures().get(999).getMessage(), is("9990"));
+    }
+
+    @Test
+    public void allSuccessesOrFirstFailureReturnsSuccessesWhenThereAreNoFailures() {
+        Try<List<Integer>> result = Stream.of(Try.ofSuccess(1), Try.<Integer>ofSuccess(null), Try.ofSuccess(2))
+                .collect(TryCollectors.allSuccessesOrFirstFailure());
+
+        assertThat(result.getNullableSuccess(), contains(1, null, 2));
+    }
+
+    @Test
+    public void allSuccessesOrFirstFailureReturnsFirstFailure() {
+        Try<List<Integer>> result = Stream
+                .of(Try.ofSuccess(1), Try.<Integer>ofFailureSwallowingInterrupt(failure1),
+                        Try.<Integer>ofFailureSwallowingInterrupt(failure2))
+                .collect(TryCollectors.allSuccessesOrFirstFailure());
+
+        assertThat(result.getNullableFailure(), sameInstance(failure1));
+    }
+
+    @Test
+    public void allSuccessesOrFirstFailureDoesntSetInterruptStatus() {
+        InterruptedException interrupted = new InterruptedException();
+
+        Try<List<Integer>> result = Stream.of(Try.<Integer>ofFailureSwallowingInterrupt(interrupted))
+                .collect(TryCollectors.allSuccessesOrFirstFailure());
+
+        assertThat(result.getNullableFailure(), sameInstance(interrupted));
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+    }
+
+    @Test
+    public void allSuccessesOrFirstFailureReturnsFirstFailureInEncounterOrderInParallel() {
+        List<Try<Integer>> trys = IntStream.range(0, 10_000)
+                .mapToObj(i -> i >= 5000 ? Try.<Integer>ofFailureSwallowingInterrupt(new Exception(String.valueOf(i)))
+                        : Try.ofSuccess(i))
+                .collect(Collectors.toList());
+
+        Try<List<Integer>> result = trys.parallelStream().collect(TryCollectors.allSuccessesOrFirstFailure());
+
+        assertThat(result.getNullableFailure().getMessage(), is("5000"));
+    }
+
+    @Test
+    public void allSuccessesOrFirstFailurePreservesEncounterOrderInParallel() {
+        List<Try<Integer>> trys = IntStream.range(0, 10_000).mapToObj(Try::ofSuccess).collect(Collectors.toList());
+
+        Try<List<Integer>> result = trys.parallelStream().collect(TryCollectors.allSuccessesOrFirstFailure());
+
+        assertThat(result.getNullableSuccess(), is(IntStream.range(0, 10_000).boxed().collect(Collectors.toList())));
+    }
+
+    @Test
+    public void countingFailuresByClassCountsEachExactClass() {
+        Map<Class<? extends Throwable>, Long> counts = Stream
+                .of(Try.ofSuccess(1), Try.ofFailureSwallowingInterrupt(failure1),
+                        Try.ofFailureSwallowingInterrupt(new IllegalStateException()),
+                        Try.ofFailureSwallowingInterrupt(failure2),
+                        Try.ofFailureSwallowingInterrupt(new RuntimeException()))
+                .collect(TryCollectors.countingFailuresByClass());
+
+        assertThat(counts,
+                is(Map.of(IllegalStateException.class, 2L, IOException.class, 1L, RuntimeException.class, 1L)));
+    }
+
+    @Test
+    public void countingFailuresByClassReturnsEmptyMapForOnlySuccesses() {
+        Map<Class<? extends Throwable>, Long> counts = Stream.of(Try.ofSuccess(1))
+                .collect(TryCollectors.countingFailuresByClass());
+
+        assertThat(counts.entrySet(), empty());
+    }
+
+    @Test
+    public void countingFailuresByClassCombinesCountsInParallel() {
+        List<Try<Integer>> trys = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 2 == 0 ? Try.<Integer>ofFailureSwallowingInterrupt(failure1)
+                        : Try.<Integer>ofFailureSwallowingInterrupt(failure2))
+                .collect(Collectors.toList());
+
+        Map<Class<? extends Throwable>, Long> counts = trys.parallelStream()
+                .collect(TryCollectors.countingFailuresByClass());
+
+        assertThat(counts, is(Map.of(IllegalStateException.class, 5000L, IOException.class, 5000L)));
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests TryEvents in the JVM shared by most tests, where no listener is registered. See {@link TryListenerTest} for the
+ * calls reported when one is.
+ */
+public class TryEventsTest {
+    private static TryListener recordingListener(String name, List<String> notified) {
+        return new TryListener() {
+            @Override
+            public void onSuccess(Class<?> site, long elapsedNanos) {
+                notified.add(name + " success");
+            }
+
+            @Override
+            public void onFailure(Class<?> site, Throwable failure, long elapsedNanos) {
+                notified.add(name + " failure");
+            }
+        };
+    }
+
+    @Test
+    public void isDisabledWithoutRegisteredListeners() {
+        assertFalse(TryEvents.ENABLED, "Expected no TryListener to be registered outside of the listener-hooks tests");
+        assertThat(TryEvents.start(), is(0L));
+    }
+
+    @Test
+    public void callsWorkWhileDisabled() {
+        Exception failure = new Exception();
+
+        Try<Integer> success = Try.callCatchThrowable(() -> 5);
+        Try<Integer> failed = Try.callCatchThrowable(() -> {
+            throw failure;
+        });
+
+        assertThat(success, is(Try.ofSuccess(5)));
+        assertThat(failed.getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void loadReturnsEveryProviderInOrder() {
+        List<String> notified = new ArrayList<>();
+        TryListener first = recordingListener("first", notified);
+        TryListener second = recordingListener("second", notified);
+
+        TryListener[] loaded = TryEvents.load(List.of(first, second));
+
+        assertThat(List.of(loaded), contains(first, second));
+        assertThat(TryEvents.load(List.of()).length, is(0));
+    }
+
+    @Test
+    public void notifiesEveryListenerInOrder() {
+        List<String> notified = new ArrayList<>();
+        TryListener[] listeners = {recordingListener("first", notified), recordingListener("second", notified)};
+
+        TryEvents.notifySuccess(listeners, Object.class, 1);
+        TryEvents.notifyFailure(listeners, Object.class, new Exception(), 1);
+
+        assertThat(notified, contains("first success", "second success", "first failure", "second failure"));
+    }
+
+    @Test
+    public void elementSiteIsTheCallableForCallAllAndTheFunctionOtherwise() {
+        Try.ThrowableCallable<Integer> callable = () -> 1;
+        Try.ThrowableFunction<Integer, Integer> function = input -> input;
+
+        assertThat(TryEvents.elementSite(Try.CALL, callable), sameInstance(callable.getClass()));
+        assertThat(TryEvents.elementSite(function, 1), sameInstance(function.getClass()));
+    }
+}
@@ -0,0 +1,368 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.Try.CheckedExceptionWrapper;
+import io.github.graydavid.onemoretry.Try.ExceptionFunction;
+import io.github.graydavid.onemoretry.Try.ExceptionRunnable;
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+import io.github.graydavid.onemoretry.Try.ThrowableFunction;
+
+/**
+ * Tests the calls reported to listeners. These tests need a listener registered when TryEvents is initialized, so they
+ * run in their own JVM, in the listener-hooks execution of the surefire plugin, which adds src/test/listener-resources
+ * to the class path. That registers {@link RecordingListener}. Since nothing else runs in that JVM, it records the
+ * calls made by every thread, so that calls made on executors' threads are seen, too. Every other test runs without any
+ * listeners.
+ */
+public class TryListenerTest {
+    private final List<Event> events = RecordingListener.RECORDED;
+
+    /** A single call reported to {@link RecordingListener}. failure is null for successes. */
+    private static final class Event {
+        private final Class<?> site;
+        private final Throwable failure;
+        private final long elapsedNanos;
+
+        private Event(Class<?> site, Throwable failure, long elapsedNanos) {
+            this.site = site;
+            this.failure = failure;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    /** Records every call in {@link #RECORDED}. */
+    public static final class RecordingListener implements TryListener {
+        private static final List<Event> RECORDED = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onSuccess(Class<?> site, long elapsedNanos) {
+            record(new Event(site, null, elapsedNanos));
+        }
+
+        @Override
+        public void onFailure(Class<?> site, Throwable failure, long elapsedNanos) {
+            record(new Event(site, failure, elapsedNanos));
+        }
+
+        private static void record(Event event) {
+            RECORDED.add(event);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        assertTrue(TryEvents.ENABLED, "Expected RecordingListener to be registered by src/test/listener-resources");
+        RecordingListener.RECORDED.clear();
+    }
+
+    private Event onlyEvent() {
+        assertThat(events.size(), is(1));
+        return events.get(0);
+    }
+
+    @Test
+    public void callReportsSuccessWithCallSiteAndLatency() {
+        Callable<Integer> callable = () -> {
+            TimeUnit.MILLISECONDS.sleep(5);
+            return 5;
+        };
+
+        Try.callCatchException(callable);
+
+        Event event = onlyEvent();
+        assertThat(event.site, sameInstance(callable.getClass()));
+        assertThat(event.failure, is((Throwable) null));
+        assertThat(event.elapsedNanos, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5)));
+    }
+
+    @Test
+    public void callReportsFailure() {
+        Exception failure = new Exception();
+
+        ThrowableCallable<Integer> callable = () -> {
+            throw failure;
+        };
+
+        Try.callCatchThrowable(callable);
+
+        assertThat(onlyEvent().site, sameInstance(callable.getClass()));
+        assertThat(onlyEvent().failure, sameInstance(failure));
+    }
+
+    @Test
+    public void runReportsSuccessAndFailure() {
+        RuntimeException failure = new RuntimeException();
+
+        Runnable succeeding = () -> {};
+        ExceptionRunnable failing = () -> {
+            throw failure;
+        };
+
+        Try.runCatchRuntime(succeeding);
+        Try.runCatchException(failing);
+
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0).site, sameInstance(succeeding.getClass()));
+        assertThat(events.get(0).failure, is((Throwable) null));
+        assertThat(events.get(1).site, sameInstance(failing.getClass()));
+        assertThat(events.get(1).failure, sameInstance(failure));
+    }
+
+    @Test
+    public void orDefaultReportsFailureBeforeCallingOnFailure() {
+        Exception failure = new Exception();
+        List<Integer> eventsSeenByOnFailure = new ArrayList<>();
+
+        Callable<Integer> callable = () -> {
+            throw failure;
+        };
+
+        Try.callCatchExceptionOrDefault(callable, 0, ignore -> eventsSeenByOnFailure.add(events.size()));
+
+        assertThat(onlyEvent().site, sameInstance(callable.getClass()));
+        assertThat(onlyEvent().failure, sameInstance(failure));
+        assertThat(eventsSeenByOnFailure, contains(1));
+    }
+
+    @Test
+    public void uncheckedReportsFailureBeforeThrowing() {
+        Exception failure = new Exception();
+
+        ThrowableCallable<Integer> callable = () -> {
+            throw failure;
+        };
+
+        assertThrows(CheckedExceptionWrapper.class, () -> Try.callUnchecked(callable));
+
+        assertThat(onlyEvent().site, sameInstance(callable.getClass()));
+        assertThat(onlyEvent().failure, sameInstance(failure));
+    }
+
+    @Test
+    public void primitiveCallsReport() {
+        IntTry.RuntimeIntCallable intCallable = () -> 1;
+        LongTry.ExceptionLongCallable longCallable = () -> 1L;
+        DoubleTry.ThrowableDoubleCallable doubleCallable = () -> 1.0;
+
+        IntTry.callCatchRuntime(intCallable);
+        LongTry.callCatchException(longCallable);
+        DoubleTry.callCatchThrowableOrDefault(doubleCallable, 0.0, ignore -> {});
+
+        assertThat(events.size(), is(3));
+        assertThat(events.get(0).site, sameInstance(intCallable.getClass()));
+        assertThat(events.get(1).site, sameInstance(longCallable.getClass()));
+        assertThat(events.get(2).site, sameInstance(doubleCallable.getClass()));
+    }
+
+    @Test
+    public void uncaughtThrowablesAreNotReported() {
+        Error error = new Error();
+
+        assertThrows(Error.class, () -> Try.callCatchException(() -> {
+            throw error;
+        }));
+
+        assertThat(events, empty());
+    }
+
+    @Test
+    public void callAllReportsEachCallableAsItsOwnSite() {
+        Exception failure = new Exception();
+        ThrowableCallable<Integer> succeeding = () -> 1;
+        ThrowableCallable<Integer> failing = () -> {
+            throw failure;
+        };
+
+        Try.callAll(List.of(succeeding, failing));
+
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0).site, sameInstance(succeeding.getClass()));
+        assertThat(events.get(0).failure, is((Throwable) null));
+        assertThat(events.get(1).site, sameInstance(failing.getClass()));
+        assertThat(events.get(1).failure, sameInstance(failure));
+    }
+
+    @Test
+    public void mapEachReportsFunctionAsSiteForEachElement() {
+        ThrowableFunction<Integer, Integer> function = input -> 10 / input;
+
+        Try.mapEach(List.of(1, 0, 2), function);
+
+        assertThat(events.size(), is(3));
+        assertThat(events.get(1).site, sameInstance(function.getClass()));
+        assertThat(events.get(1).failure, instanceOf(ArithmeticException.class));
+    }
+
+    @Test
+    public void callAllParallelReportsEachCallable() {
+        ThrowableCallable<Integer> callable = () -> 1;
+
+        Try.callAllParallel(List.of(callable, callable), Runnable::run);
+
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0).site, sameInstance(callable.getClass()));
+        assertThat(events.get(1).site, sameInstance(callable.getClass()));
+    }
+
+    @Test
+    public void traverseReportsEachInputUntilFirstFailure() {
+        ThrowableFunction<Integer, Integer> function = input -> 10 / input;
+
+        Try.traverse(List.of(1, 0, 2), function);
+
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0).site, sameInstance(function.getClass()));
+        assertThat(events.get(1).site, sameInstance(function.getClass()));
+        assertThat(events.get(1).failure, instanceOf(ArithmeticException.class));
+    }
+
+    @Test
+    public void mapAndRecoverReportOnlyWhenTheyCallTheirFunction() {
+        IllegalStateException failure = new IllegalStateException();
+        ExceptionFunction<Integer, Integer> mapper = value -> value + 1;
+        ExceptionFunction<Integer, Try<Integer>> flatMapper = value -> Try.ofSuccess(value);
+        ExceptionFunction<Throwable, Integer> recovery = ignore -> 0;
+        ExceptionFunction<Throwable, Try<Integer>> failingRecovery = ignore -> {
+            throw failure;
+        };
+
+        Try.ofSuccess(1).map(mapper).flatMap(flatMapper);
+        Try.<Integer>ofFailureSwallowingInterrupt(failure).map(mapper).recover(recovery);
+        Try.<Integer>ofFailureSwallowingInterrupt(failure).recoverWith(failingRecovery);
+
+        assertThat(events.size(), is(4));
+        assertThat(events.get(0).site, sameInstance(mapper.getClass()));
+        assertThat(events.get(1).site, sameInstance(flatMapper.getClass()));
+        assertThat(events.get(2).site, sameInstance(recovery.getClass()));
+        assertThat(events.get(3).site, sameInstance(failingRecovery.getClass()));
+        assertThat(events.get(3).failure, sameInstance(failure));
+    }
+
+    @Test
+    public void pipelineReportsEachStageItRuns() {
+        ExceptionFunction<Integer, Integer> incrementStage = value -> value + 1;
+        ExceptionFunction<Integer, Integer> failingStage = value -> {
+            throw new IllegalStateException();
+        };
+        TryPipeline<Integer, Integer> pipeline = TryPipeline.<Integer>builder()
+                .then("increment", incrementStage)
+                .then("fail", failingStage)
+                .then("never", value -> value)
+                .build();
+
+        pipeline.apply(1);
+        pipeline.applyOrRecover(1, (stage, ignore) -> 0);
+
+        assertThat(events.size(), is(4));
+        assertThat(events.get(0).site, sameInstance(incrementStage.getClass()));
+        assertThat(events.get(1).site, sameInstance(failingStage.getClass()));
+        assertThat(events.get(1).failure, instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void filterReportsPredicateWheneverItCallsIt() {
+        IllegalStateException failure = new IllegalStateException();
+        Predicate<Integer> predicate = value -> value > 1;
+        Predicate<Integer> failingPredicate = value -> {
+            throw failure;
+        };
+
+        Try.ofSuccess(1).filter(predicate, value -> new IllegalArgumentException());
+        Try.<Integer>ofFailureSwallowingInterrupt(failure).filter(predicate, value -> new IllegalArgumentException());
+        Try.ofSuccess(1).filter(failingPredicate, value -> new IllegalArgumentException());
+
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0).site, sameInstance(predicate.getClass()));
+        assertThat(events.get(0).failure, is((Throwable) null));
+        assertThat(events.get(1).site, sameInstance(failingPredicate.getClass()));
+        assertThat(events.get(1).failure, sameInstance(failure));
+    }
+
+    @Test
+    public void singleFlightReportsCallersCallableAsSite() {
+        ThrowableCallable<Integer> callable = () -> 5;
+
+        new SingleFlight<String, Integer>().callCatchThrowable("key", callable);
+
+        assertThat(onlyEvent().site, sameInstance(callable.getClass()));
+    }
+
+    @Test
+    public void tryScopeReportsEachCallersCallableAsSite() {
+        ThrowableCallable<Integer> callable = () -> 5;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            TryScope.callAll(List.of(callable), TryScope.Policy.WAIT_FOR_ALL, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(onlyEvent().site, sameInstance(callable.getClass()));
+    }
+
+    @Test
+    public void traverseAsyncReportsCallersFunctionAsSite() {
+        ThrowableFunction<Integer, Integer> function = input -> input * 2;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Try.traverseAsync(List.of(1), function, executor).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(onlyEvent().site, sameInstance(function.getClass()));
+    }
+
+    @Test
+    public void tryCacheReportsCallersLoaderAsSiteForLoadsAndRefreshes() {
+        AtomicLong nanoTime = new AtomicLong();
+        ThrowableFunction<Integer, Integer> loader = key -> key * 2;
+        TryCache<Integer, Integer> cache = TryCache.builder()
+                .nanoClock(nanoTime::get)
+                .refreshAfter(Duration.ofSeconds(1))
+                .refreshExecutor(Runnable::run)
+                .build(loader);
+
+        cache.get(1);
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        cache.get(1);
+
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0).site, sameInstance(loader.getClass()));
+        assertThat(events.get(1).site, sameInstance(loader.getClass()));
+    }
+
+    @Test
+    public void asyncCallsReportThroughTheCallsTheyWrap() {
+        ThrowableCallable<Integer> callable = () -> 5;
+
+        Try.callCatchThrowableAsync(callable, Runnable::run).join();
+
+        assertThat(onlyEvent().site, sameInstance(callable.getClass()));
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.TryPipeline.StageFailedException;
+
+public class TryPipelineTest {
+    private final List<String> ran = new ArrayList<>();
+
+    private TryPipeline<String, Integer> parsingPipeline(Exception validationFailure) {
+        return TryPipeline.<String>builder().then("decode", input -> {
+            ran.add("decode");
+            return Integer.parseInt(input);
+        }).then("validate", value -> {
+            ran.add("validate");
+            if (value < 0) {
+                throw validationFailure;
+            }
+            return value;
+        }).then("enrich", value -> {
+            ran.add("enrich");
+            return value * 2;
+        }).build();
+    }
+
+    @Test
+    public void applyRunsEveryStageInOrder() {
+        Try<Integer> result = parsingPipeline(new Exception()).apply("5");
+
+        assertThat(result, is(Try.ofSuccess(10)));
+        assertThat(ran, contains("decode", "validate", "enrich"));
+    }
+
+    @Test
+    public void applyStopsAtFailingStageAndNamesIt() {
+        Exception validationFailure = new Exception();
+
+        Try<Integer> result = parsingPipeline(validationFailure).apply("-5");
+
+        StageFailedException failure = (StageFailedException) result.getNullableFailure();
+        assertThat(failure.getStage(), is("validate"));
+        assertThat(failure.getMessage(), is("Stage failed: validate"));
+        assertThat(failure.getCause(), sameInstance(validationFailure));
+        assertThat(failure.getStackTrace().length, is(0));
+        assertThat(ran, contains("decode", "validate"));
+    }
+
+    @Test
+    public void applyCatchesRuntimeExceptions() {
+        Try<Integer> result = parsingPipeline(new Exception()).apply("not a number");
+
+        StageFailedException failure = (StageFailedException) result.getNullableFailure();
+        assertThat(failure.getStage(), is("decode"));
+        assertThat(failure.getCause(), instanceOf(NumberFormatException.class));
+    }
+
+    @Test
+    public void applyPreservesInterrupt() {
+        InterruptedException interrupted = new InterruptedException();
+
+        Try<Integer> result = parsingPipeline(interrupted).apply("-5");
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure().getCause(), sameInstance(interrupted));
+    }
+
+    @Test
+    public void applyDoesntCatchErrors() {
+        Error error = new Error();
+        TryPipeline<String, String> pipeline = TryPipeline.<String>builder().<String>then("fail", input -> {
+            throw error;
+        }).build();
+
+        Error thrown = assertThrows(Error.class, () -> pipeline.apply("input"));
+
+        assertThat(thrown, sameInstance(error));
+    }
+
+    @Test
+    public void applyOrRecoverReturnsOutputOnSuccess() {
+        Integer result = parsingPipeline(new Exception()).applyOrRecover("5", (stage, failure) -> -1);
+
+        assertThat(result, is(10));
+    }
+
+    @Test
+    public void applyOrRecoverPassesStageAndFailureToRecovery() {
+        Exception validationFailure = new Exception();
+        List<Object> recovered = new ArrayList<>();
+
+        Integer result = parsingPipeline(validationFailure).applyOrRecover("-5", (stage, failure) -> {
+            recovered.add(stage);
+            recovered.add(failure);
+            return -1;
+        });
+
+        assertThat(result, is(-1));
+        assertThat(recovered, contains("validate", validationFailure));
+    }
+
+    @Test
+    public void applyOrRecoverPreservesInterrupt() {
+        parsingPipeline(new InterruptedException()).applyOrRecover("-5", (stage, failure) -> -1);
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+    }
+
+    @Test
+    public void pipelineWithoutStagesReturnsInput() {
+        TryPipeline<String, String> pipeline = TryPipeline.<String>builder().build();
+
+        assertThat(pipeline.apply("input"), is(Try.ofSuccess("input")));
+    }
+
+    @Test
+    public void getLabelsReturnsLabelsInOrder() {
+        assertThat(parsingPipeline(new Exception()).getLabels(), contains("decode", "validate", "enrich"));
+    }
+
+    @Test
+    public void builderRejectsNullArguments() {
+        assertThrows(NullPointerException.class, () -> TryPipeline.<String>builder().then(null, input -> input));
+        assertThrows(NullPointerException.class, () -> TryPipeline.<String>builder().then("label", null));
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.graydavid.onemoretry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
+import io.github.graydavid.onemoretry.TryScope.Policy;
+
+public class TryScopeTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch blockedStarted = new CountDownLatch(1);
+    private final AtomicBoolean blockedInterrupted = new AtomicBoolean();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** A callable that blocks until interrupted (or 5 seconds pass), recording whether it was interrupted. */
+    private ThrowableCallable<Integer> blocked() {
+        return () -> {
+            blockedStarted.countDown();
+            try {
+                Thread.sleep(5000);
+                return -1;
+            } catch (InterruptedException e) {
+                blockedInterrupted.set(true);
+                throw e;
+            }
+        };
+    }
+
+    @Test
+    public void waitForAllReturnsEveryResultInOrder() {
+        Exception failure = new Exception();
+        List<ThrowableCallable<Integer>> callables = Arrays.asList(() -> 1, () -> {
+            throw failure;
+        }, () -> 3);
+
+        List<Try<Integer>> results = TryScope.callAll(callables, Policy.WAIT_FOR_ALL, executor);
+
+        assertThat(results, contains(Try.ofSuccess(1), Try.ofFailureSwallowingInterrupt(failure),
+                Try.ofSuccess(3)));
+    }
+
+    @Test
+    public void emptyCallablesReturnEmptyResults() {
+        List<Try<Integer>> results = TryScope.callAll(List.of(), Policy.SHUTDOWN_ON_FAILURE, executor);
+
+        assertThat(results, empty());
+    }
+
+    @Test
+    public void shutdownOnFailureCancelsRemainingSubtasks() {
+        Exception failure = new Exception();
+        List<ThrowableCallable<Integer>> callables = Arrays.asList(blocked(), () -> {
+            blockedStarted.await();
+            throw failure;
+        });
+
+        List<Try<Integer>> results = TryScope.callAll(callables, Policy.SHUTDOWN_ON_FAILURE, executor);
+
+        assertThat(results.get(0).getNullableFailure(), instanceOf(CancellationException.class));
+        assertThat(results.get(1).getNullableFailure(), sameInstance(failure));
+        assertTrue(blockedInterrupted.get(), "Expected blocked subtask to be interrupted");
+    }
+
+    @Test
+    public void shutdownOnFailureIgnoresSuccesses() {
+        List<ThrowableCallable<Integer>> callables = Arrays.asList(() -> 1, () -> 2);
+
+        List<Try<Integer>> results = TryScope.callAll(callables, Policy.SHUTDOWN_ON_FAILURE, executor);
+
+        assertThat(results, contains(Try.ofSuccess(1), Try.ofSuccess(2)));
+    }
+
+    @Test
+    public void shutdownOnSuccessCancelsRemainingSubtasks() {
+        List<ThrowableCallable<Integer>> callables = Arrays.asList(blocked(), () -> {
+            blockedStarted.await();
+            return 2;
+        });
+
+        List<Try<Integer>> results = TryScope.callAll(callables, Policy.SHUTDOWN_ON_SUCCESS, executor);
+
+        assertThat(results.get(0).getNullableFailure(), instanceOf(CancellationException.class));
+        assertThat(results.get(1), is(Try.ofSuccess(2)));
+        assertTrue(blockedInterrupted.get(), "Expected blocked subtask to be interrupted");
+    }
+
+    @Test
+    public void shutdownStopsSubtasksNotYetStartedFromStarting() {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        AtomicBoolean secondStarted = new AtomicBoolean();
+        List<ThrowableCallable<Integer>> callables = Arrays.asList(() -> 1, () -> {
+            secondStarted.set(true);
+            return 2;
+        });
+
+        List<Try<Integer>> results = TryScope.callAll(callables, Policy.SHUTDOWN_ON_SUCCESS, singleThread);
+        singleThread.shutdown();
+
+        assertThat(results.get(0), is(Try.ofSuccess(1)));
+        assertThat(results.get(1).getNullableFailure(), instanceOf(CancellationException.class));
+        assertFalse(secondStarted.get(), "Expected second subtask never to start");
+    }
+
+    @Test
+    public void interruptingCallerShutsDownScopeAndWaitsForSubtasks() throws Exception {
+        AtomicReference<List<Try<Integer>>> results = new AtomicReference<>();
+        AtomicBoolean callerInterrupted = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            results.set(TryScope.callAll(List.of(blocked()), Policy.WAIT_FOR_ALL, executor));
+            callerInterrupted.set(Thread.interrupted());
+        });
+        caller.start();
+        blockedStarted.await();
+
+        caller.interrupt();
+        caller.join();
+
+        assertThat(results.get().get(0).getNullableFailure(), instanceOf(InterruptedException.class));
+        assertTrue(blockedInterrupted.get(), "Expected blocked subtask to be interrupted");
+        assertTrue(callerInterrupted.get(), "Expected caller's Thread interrupted flag to be set");
+    }
+
+    @Test
+    public void subtasksInterruptedExceptionDoesntSetCallersInterruptStatus() {
+        InterruptedException interrupted = new InterruptedException();
+        List<ThrowableCallable<Integer>> callables = List.of(() -> {
+            throw interrupted;
+        });
+
+        List<Try<Integer>> results = TryScope.callAll(callables, Policy.WAIT_FOR_ALL, executor);
+
+        assertThat(results.get(0).getNullableFailure(), sameInstance(interrupted));
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+    }
+
+    @Test
+    public void rejectedSubtasksFailWithRejection() {
+        ExecutorService shutDown = Executors.newSingleThreadExecutor();
+        shutDown.shutdown();
+
+        List<Try<Integer>> results = TryScope.callAll(List.of(() -> 1), Policy.WAIT_FOR_ALL, shutDown);
+
+        assertThat(results.get(0).getNullableFailure(), instanceOf(RejectedExecutionException.class));
+    }
+
+    @Test
+    public void catchesErrors() {
+        Error error = new Error();
+        List<ThrowableCallable<Integer>> callables = List.of(() -> {
+            throw error;
+        });
+
+        List<Try<Integer>> results = TryScope.callAll(callables, Policy.WAIT_FOR_ALL, executor);
+
+        assertThat(results.get(0).getNullableFailure(), sameInstance(error));
+    }
+
+    @Test
+    public void defaultExecutorRunsThousandsOfBlockingSubtasks() {
+        List<ThrowableCallable<Integer>> callables = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i) {
+            int value = i;
+            callables.add(() -> {
+                TimeUnit.MILLISECONDS.sleep(10);
+                return value;
+            });
+        }
+
+        List<Try<Integer>> results = TryScope.callAll(callables, Policy.SHUTDOWN_ON_FAILURE);
+
+        for (int i = 0; i < results.size(); ++i) {
+            assertThat(results.get(i), is(Try.ofSuccess(i)));
+        }
+    }
+
+    @Test
+    public void resultsAreUnmodifiable() {
+        List<Try<Integer>> results = TryScope.callAll(List.of(() -> 1), Policy.WAIT_FOR_ALL, executor);
+
+        assertThrows(UnsupportedOperationException.class, () -> results.add(Try.ofSuccess(2)));
+    }
+
+    @Test
+    public void rejectsNullArguments() {
+        assertThrows(NullPointerException.class, () -> TryScope.callAll(null, Policy.WAIT_FOR_ALL, executor));
+        assertThrows(NullPointerException.class, () -> TryScope.callAll(List.of(() -> 1), null, executor));
+        assertThrows(NullPointerException.class,
+                () -> TryScope.callAll(List.of(() -> 1), Policy.WAIT_FOR_ALL, null));
+        assertThrows(NullPointerException.class,
+                () -> TryScope.callAll(Arrays.asList(() -> 1, null), Policy.WAIT_FOR_ALL, executor));
+    }
+}
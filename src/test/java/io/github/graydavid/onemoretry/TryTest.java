@@ -1,8 +1,10 @@
 package io.github.graydavid.onemoretry;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
@@ -17,16 +19,37 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
 import io.github.graydavid.onemoretry.Try.CheckedExceptionWrapper;
+import io.github.graydavid.onemoretry.Try.StacklessException;
+import io.github.graydavid.onemoretry.Try.ThrowableCallable;
 
 public class TryTest {
     // Suppress justify: Mockito can't create generic mocks in a typesafe way, but the mock is used that way
@@ -66,6 +89,14 @@ public class TryTest {
         assertFalse(result.isFailure());
     }
 
+    @Test
+    public void ofSuccessReturnsSameInstanceForAllNullSuccesses() {
+        Try<Integer> integerResult = Try.ofSuccess(null);
+        Try<String> stringResult = Try.ofSuccess(null);
+
+        assertThat(integerResult, sameInstance(stringResult));
+    }
+
     @Test
     public void ofFailureSwallowingInterruptAllowsNonNullThrowables() {
         Throwable throwable = new Throwable();
@@ -103,6 +134,58 @@ public class TryTest {
         assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
     }
 
+    @Test
+    public void ofStacklessFailureCreatesFailureWithReason() {
+        Try<Integer> result = Try.ofStacklessFailure("reason");
+
+        assertTrue(result.isFailure());
+        assertThat(result.getNullableFailure(), instanceOf(StacklessException.class));
+        assertThat(result.getNullableFailure().getMessage(), is("reason"));
+    }
+
+    @Test
+    public void ofStacklessFailureCreatesFailureWithoutStackTrace() {
+        Try<Integer> result = Try.ofStacklessFailure("reason");
+
+        assertThat(result.getNullableFailure().getStackTrace().length, is(0));
+    }
+
+    @Test
+    public void ofStacklessFailureWorksWithAccessors() {
+        Try<Integer> result = Try.ofStacklessFailure("reason");
+        Throwable failure = result.getNullableFailure();
+
+        RuntimeException uncheckedThrown = assertThrows(RuntimeException.class, () -> result.getOrThrowUnchecked());
+        Exception exceptionThrown = assertThrows(Exception.class, () -> result.getOrThrowException());
+        Integer recovered = result.getOrRecover(throwable -> 10);
+        result.observeFailure(handler);
+
+        assertThat(uncheckedThrown, sameInstance(failure));
+        assertThat(exceptionThrown, sameInstance(failure));
+        assertThat(recovered, is(10));
+        verify(handler).accept(failure);
+    }
+
+    @Test
+    public void stacklessExceptionsIgnoreSuppressedExceptions() {
+        StacklessException exception = new StacklessException("reason");
+
+        exception.addSuppressed(new Throwable());
+
+        assertThat(exception.getSuppressed().length, is(0));
+    }
+
+    @Test
+    public void stacklessExceptionsCanHaveCauses() {
+        Throwable cause = new Throwable();
+
+        StacklessException exception = new StacklessException("reason", cause);
+
+        assertThat(exception.getMessage(), is("reason"));
+        assertThat(exception.getCause(), sameInstance(cause));
+        assertThat(exception.getStackTrace().length, is(0));
+    }
+
     @Test
     public void ofSwallowingInterruptCreatesSuccessForNonNullSuccessAndNullFailure() {
         Try<Integer> result = Try.ofSwallowingInterrupt(5, null);
@@ -247,6 +330,15 @@ public class TryTest {
         verify(runnable).run();
     }
 
+    @Test
+    public void runCatchRuntimeReturnsSharedNullSuccessOnSuccess() {
+        Try<Void> result = Try.runCatchRuntime(() -> {
+        });
+
+        assertTrue(result.isSuccess());
+        assertThat(result, sameInstance(Try.ofSuccess(null)));
+    }
+
     @Test
     public void runCatchRuntimeCatchesRuntimeExceptions() {
         assertTryProductionCatchesRuntimeExceptions(e -> Try.runCatchRuntime(() -> {
@@ -351,6 +443,22 @@ public class TryTest {
         verify(runnable).run();
     }
 
+    @Test
+    public void runCatchExceptionSetsInterruptedFlagForInterruptedExceptions() {
+        assertTryProducerSetsInterruptedFlagForInterruptedExceptions(e -> Try.runCatchException(() -> {
+            throw e;
+        }));
+    }
+
+    @Test
+    public void runCatchExceptionReturnsSharedNullSuccessOnSuccess() {
+        Try<Void> result = Try.runCatchException(() -> {
+        });
+
+        assertTrue(result.isSuccess());
+        assertThat(result, sameInstance(Try.ofSuccess(null)));
+    }
+
     @Test
     public void runCatchExceptionCatchesExceptions() {
         assertTryProductionCatchesExceptions(e -> Try.runCatchException(() -> {
@@ -426,6 +534,22 @@ public class TryTest {
         }));
     }
 
+    @Test
+    public void runCatchThrowableSetsInterruptedFlagForInterruptedExceptions() {
+        assertTryProducerSetsInterruptedFlagForInterruptedExceptions(e -> Try.runCatchThrowable(() -> {
+            throw e;
+        }));
+    }
+
+    @Test
+    public void runCatchThrowableReturnsSharedNullSuccessOnSuccess() {
+        Try<Void> result = Try.runCatchThrowable(() -> {
+        });
+
+        assertTrue(result.isSuccess());
+        assertThat(result, sameInstance(Try.ofSuccess(null)));
+    }
+
     @Test
     public void runCatchThrowableCatchesThrowables() {
         assertTryProductionCatchesThrowable(e -> Try.runCatchThrowable(() -> {
@@ -433,6 +557,577 @@ public class TryTest {
         }));
     }
 
+    @Test
+    public void callCatchRuntimeOrDefaultReturnsResultWithoutCallingOnFailure() {
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        Integer result = Try.callCatchRuntimeOrDefault(() -> 5, 6, observed::set);
+
+        assertThat(result, is(5));
+        assertThat(observed.get(), is((Throwable) null));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultReturnsDefaultAndCallsOnFailureForRuntimeExceptions() {
+        IllegalStateException failure = new IllegalStateException();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        Integer result = Try.callCatchRuntimeOrDefault(() -> {
+            throw failure;
+        }, 6, observed::set);
+
+        assertThat(result, is(6));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+
+    @Test
+    public void callCatchRuntimeOrDefaultPropagatesOtherThrowables() {
+        Error error = new Error();
+
+        Error thrown = assertThrows(Error.class, () -> Try.callCatchRuntimeOrDefault(() -> {
+            throw error;
+        }, 6, failure -> fail("Unexpected failure observed")));
+
+        assertThat(thrown, sameInstance(error));
+    }
+
+    @Test
+    public void callCatchExceptionOrDefaultSetsInterruptFlagBeforeCallingOnFailure() {
+        AtomicBoolean interruptedDuringOnFailure = new AtomicBoolean();
+
+        Integer result = Try.callCatchExceptionOrDefault(() -> {
+            throw new InterruptedException();
+        }, 6, failure -> interruptedDuringOnFailure.set(Thread.currentThread().isInterrupted()));
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertTrue(interruptedDuringOnFailure.get());
+        assertThat(result, is(6));
+    }
+
+    @Test
+    public void callCatchThrowableOrDefaultReturnsDefaultForThrowables() {
+        Throwable failure = new Throwable();
+        AtomicReference<Throwable> observed = new AtomicReference<>();
+
+        Integer result = Try.callCatchThrowableOrDefault(() -> {
+            throw failure;
+        }, 6, observed::set);
+
+        assertThat(result, is(6));
+        assertThat(observed.get(), sameInstance(failure));
+    }
+
+    @Test
+    public void callAllCallsEveryCallableInOrderAndRecordsResultsByIndex() {
+        IllegalStateException failure = new IllegalStateException();
+        List<Integer> callOrder = new ArrayList<>();
+        List<ThrowableCallable<Integer>> callables = List.of(() -> {
+            callOrder.add(0);
+            return 5;
+        }, () -> {
+            callOrder.add(1);
+            throw failure;
+        }, () -> {
+            callOrder.add(2);
+            return 7;
+        });
+
+        BatchResult<Integer> result = Try.callAll(callables);
+
+        assertThat(callOrder, contains(0, 1, 2));
+        assertThat(result.toList(),
+                contains(Try.ofSuccess(5), Try.ofFailureSwallowingInterrupt(failure), Try.ofSuccess(7)));
+    }
+
+    @Test
+    public void callAllSetsInterruptedFlagForInterruptedExceptions() {
+        BatchResult<Integer> result = Try.callAll(List.of(() -> {
+            throw new InterruptedException();
+        }));
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(0), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void mapEachAppliesFunctionToEachInputInIterationOrder() {
+        NumberFormatException failure = new NumberFormatException();
+
+        BatchResult<Integer> result = Try.mapEach(List.of("1", "x", "3"), input -> {
+            if (input.equals("x")) {
+                throw failure;
+            }
+            return Integer.parseInt(input);
+        });
+
+        assertThat(result.toList(),
+                contains(Try.ofSuccess(1), Try.ofFailureSwallowingInterrupt(failure), Try.ofSuccess(3)));
+    }
+
+    @Test
+    public void mapEachReturnsEmptyResultForEmptyInputs() {
+        BatchResult<Integer> result = Try.mapEach(List.<String>of(), Integer::parseInt);
+
+        assertThat(result.size(), is(0));
+        assertTrue(result.isAllSuccess());
+    }
+
+    @Test
+    public void mapEachParallelReturnsResultsInInputOrder() {
+        List<Integer> inputs = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            BatchResult<Integer> result = Try.mapEachParallel(inputs, input -> {
+                if (input % 100 == 0) {
+                    throw new IllegalStateException(String.valueOf(input));
+                }
+                return input * 2;
+            }, executor);
+
+            assertThat(result.size(), is(1000));
+            assertThat(result.getFailureCount(), is(10));
+            assertThat(result.getSuccessCount(), is(990));
+            for (int i = 0; i < 1000; ++i) {
+                if (i % 100 == 0) {
+                    assertThat(result.getNullableFailure(i).getMessage(), is(String.valueOf(i)));
+                } else {
+                    assertThat(result.getNullableSuccess(i), is(i * 2));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void mapEachParallelRunsCallsOnExecutor() {
+        Thread caller = Thread.currentThread();
+
+        BatchResult<Thread> result = Try.mapEachParallel(List.of(1, 2, 3), input -> Thread.currentThread());
+
+        assertThat(result.toList().stream().filter(t -> t.getNullableSuccess() == caller).count(), is(0L));
+    }
+
+    @Test
+    public void mapEachParallelSetsCallersInterruptedFlagButNotWorkersForInterruptedExceptions() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            BatchResult<Integer> result = Try.mapEachParallel(List.of(1, 2, 3), input -> {
+                if (input == 2) {
+                    throw new InterruptedException();
+                }
+                return input;
+            }, executor);
+
+            assertTrue(Thread.interrupted(), "Expected caller's Thread interrupted flag to be set");
+            assertThat(result.getNullableFailure(1), instanceOf(InterruptedException.class));
+            assertThat(result.getSuccessCount(), is(2));
+            assertFalse(executor.submit(() -> Thread.currentThread().isInterrupted()).get(),
+                    "Expected worker's Thread interrupted flag not to be set");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void mapEachParallelFailsUnstartedInputsWhenCallerIsInterruptedWhileWaiting() {
+        AtomicInteger calls = new AtomicInteger();
+        Executor delayedExecutor = CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS);
+
+        Thread.currentThread().interrupt();
+        BatchResult<Integer> result = Try.mapEachParallel(List.of(1, 2, 3), input -> calls.incrementAndGet(),
+                delayedExecutor);
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(calls.get(), is(0));
+        assertThat(result.getFailureCount(), is(3));
+        assertThat(result.getNullableFailure(0), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void mapEachParallelFailsInputsOfRejectedChunks() {
+        RejectedExecutionException rejection = new RejectedExecutionException();
+        Executor executor = runnable -> {
+            throw rejection;
+        };
+
+        BatchResult<Integer> result = Try.mapEachParallel(List.of(1, 2), input -> input, executor);
+
+        assertThat(result.getFailures(), is(Map.of(0, rejection, 1, rejection)));
+    }
+
+    @Test
+    public void mapEachParallelReturnsEmptyResultForEmptyInputs() {
+        BatchResult<Integer> result = Try.mapEachParallel(List.<Integer>of(), input -> input);
+
+        assertThat(result.size(), is(0));
+    }
+
+    @Test
+    public void callAllParallelCallsEveryCallable() {
+        IllegalStateException failure = new IllegalStateException();
+        List<ThrowableCallable<Integer>> callables = List.of(() -> 5, () -> {
+            throw failure;
+        });
+
+        BatchResult<Integer> result = Try.callAllParallel(callables);
+
+        assertThat(result.toList(), contains(Try.ofSuccess(5), Try.ofFailureSwallowingInterrupt(failure)));
+    }
+
+    @Test
+    public void sequenceReturnsEverySuccessInOrder() {
+        Try<List<Integer>> result = Try
+                .sequence(List.of(Try.ofSuccess(1), Try.<Integer>ofSuccess(null), Try.ofSuccess(3)));
+
+        assertThat(result.getNullableSuccess(), contains(1, null, 3));
+    }
+
+    @Test
+    public void sequenceReturnsFirstFailureWithoutPullingLaterTrys() {
+        Try<Integer> failure = Try.ofFailureSwallowingInterrupt(new IllegalStateException());
+        List<Integer> pulled = new ArrayList<>();
+        Iterable<Try<Integer>> trys = () -> IntStream.range(0, 5).peek(pulled::add)
+                .mapToObj(i -> i == 1 ? failure : Try.ofSuccess(i)).iterator();
+
+        Try<List<Integer>> result = Try.sequence(trys);
+
+        assertThat(result, sameInstance(failure));
+        assertThat(pulled, contains(0, 1));
+    }
+
+    @Test
+    public void traverseAppliesFunctionToEveryInputInOrder() {
+        Try<List<Integer>> result = Try.traverse(List.of(1, 2, 3), input -> input * 2);
+
+        assertThat(result.getNullableSuccess(), contains(2, 4, 6));
+    }
+
+    @Test
+    public void traverseStopsAtFirstFailure() {
+        IllegalStateException failure = new IllegalStateException();
+        List<Integer> applied = new ArrayList<>();
+
+        Try<List<Integer>> result = Try.traverse(List.of(1, 2, 3), input -> {
+            applied.add(input);
+            if (input == 2) {
+                throw failure;
+            }
+            return input;
+        });
+
+        assertThat(result.getNullableFailure(), sameInstance(failure));
+        assertThat(applied, contains(1, 2));
+    }
+
+    @Test
+    public void traversePreservesInterrupt() {
+        InterruptedException interrupted = new InterruptedException();
+
+        Try<List<Integer>> result = Try.traverse(List.of(1), input -> {
+            throw interrupted;
+        });
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(), sameInstance(interrupted));
+    }
+
+    @Test
+    public void sequenceAsyncCompletesWithEverySuccessInListOrder() throws Exception {
+        CompletableFuture<Try<Integer>> first = new CompletableFuture<>();
+        CompletableFuture<Try<Integer>> second = new CompletableFuture<>();
+
+        CompletableFuture<Try<List<Integer>>> result = Try.sequenceAsync(List.of(first, second));
+        second.complete(Try.ofSuccess(2));
+        assertFalse(result.isDone());
+        first.complete(Try.ofSuccess(1));
+
+        assertThat(result.get().getNullableSuccess(), contains(1, 2));
+    }
+
+    @Test
+    public void sequenceAsyncCompletesImmediatelyForNoFutures() throws Exception {
+        CompletableFuture<Try<List<Integer>>> result = Try.sequenceAsync(List.<CompletableFuture<Try<Integer>>>of());
+
+        assertThat(result.get().getNullableSuccess(), is(List.of()));
+    }
+
+    @Test
+    public void sequenceAsyncFailsAsSoonAsAnyFutureFailsAndCancelsTheRest() throws Exception {
+        IllegalStateException failure = new IllegalStateException();
+        CompletableFuture<Try<Integer>> outstanding = new CompletableFuture<>();
+        CompletableFuture<Try<Integer>> failed = new CompletableFuture<>();
+
+        CompletableFuture<Try<List<Integer>>> result = Try.sequenceAsync(List.of(outstanding, failed));
+        failed.complete(Try.ofFailureSwallowingInterrupt(failure));
+
+        assertThat(result.get().getNullableFailure(), sameInstance(failure));
+        assertTrue(outstanding.isCancelled(), "Expected outstanding future to be cancelled");
+    }
+
+    @Test
+    public void sequenceAsyncTreatsExceptionalCompletionAsUnwrappedFailure() throws Exception {
+        IllegalStateException failure = new IllegalStateException();
+        CompletableFuture<Try<Integer>> failed = new CompletableFuture<>();
+
+        CompletableFuture<Try<List<Integer>>> result = Try
+                .sequenceAsync(List.of(failed.thenApply(Function.identity())));
+        failed.completeExceptionally(failure);
+
+        assertThat(result.get().getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void sequenceAsyncTreatsNullTryAsFailure() throws Exception {
+        CompletableFuture<Try<Integer>> outstanding = new CompletableFuture<>();
+        CompletableFuture<Try<Integer>> nullTry = new CompletableFuture<>();
+
+        CompletableFuture<Try<List<Integer>>> result = Try.sequenceAsync(List.of(outstanding, nullTry));
+        nullTry.complete(null);
+
+        assertThat(result.get(5, TimeUnit.SECONDS).getNullableFailure(), instanceOf(NullPointerException.class));
+        assertTrue(outstanding.isCancelled(), "Expected outstanding future to be cancelled");
+    }
+
+    @Test
+    public void sequenceAsyncCancelsFuturesWhenCancelled() {
+        CompletableFuture<Try<Integer>> outstanding = new CompletableFuture<>();
+
+        Try.sequenceAsync(List.of(outstanding)).cancel(true);
+
+        assertTrue(outstanding.isCancelled(), "Expected outstanding future to be cancelled");
+    }
+
+    @Test
+    public void traverseAsyncCompletesWithEveryResultInInputOrder() throws Exception {
+        CompletableFuture<Try<List<Integer>>> result = Try.traverseAsync(List.of(1, 2, 3), input -> input * 2);
+
+        assertThat(result.get(5, TimeUnit.SECONDS).getNullableSuccess(), contains(2, 4, 6));
+    }
+
+    @Test
+    public void traverseAsyncFailsAsSoonAsAnyCallFailsAndInterruptsRunningCalls() throws Exception {
+        IllegalStateException failure = new IllegalStateException();
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            CompletableFuture<Try<List<Integer>>> result = Try.traverseAsync(List.of(1, 2), input -> {
+                if (input == 1) {
+                    blocking.countDown();
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return input;
+                }
+                blocking.await();
+                throw failure;
+            }, executor);
+
+            assertThat(result.get(5, TimeUnit.SECONDS).getNullableFailure(), sameInstance(failure));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Expected running call to be interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void traverseAsyncFailsWhenExecutorRejectsCall() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        CompletableFuture<Try<List<Integer>>> result = Try.traverseAsync(List.of(1, 2), input -> input, executor);
+
+        assertThat(result.get().getNullableFailure(), instanceOf(RejectedExecutionException.class));
+    }
+
+    @Test
+    public void mapAppliesMapperToSuccess() {
+        Try<String> result = Try.ofSuccess(5).map(String::valueOf);
+
+        assertThat(result, is(Try.ofSuccess("5")));
+    }
+
+    @Test
+    public void mapReturnsSameFailureWithoutCallingMapper() {
+        Try<Integer> failure = Try.ofFailureSwallowingInterrupt(new IllegalStateException());
+
+        Try<String> result = failure.map(success -> {
+            throw new AssertionError("Mapper should not be called");
+        });
+
+        assertThat(result, sameInstance(failure));
+    }
+
+    @Test
+    public void mapCatchesExceptionsFromMapperAndPreservesInterrupt() {
+        Exception exception = new Exception();
+        InterruptedException interrupted = new InterruptedException();
+
+        assertThat(Try.ofSuccess(5).map(success -> {
+            throw exception;
+        }).getNullableFailure(), sameInstance(exception));
+        assertThat(Try.ofSuccess(5).map(success -> {
+            throw interrupted;
+        }).getNullableFailure(), sameInstance(interrupted));
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+    }
+
+    @Test
+    public void mapDoesntCatchErrorsFromMapper() {
+        Error error = new Error();
+
+        Error thrown = assertThrows(Error.class, () -> Try.ofSuccess(5).map(success -> {
+            throw error;
+        }));
+
+        assertThat(thrown, sameInstance(error));
+    }
+
+    @Test
+    public void flatMapReturnsMappersTry() {
+        Try<String> mapped = Try.ofFailureSwallowingInterrupt(new IllegalStateException());
+
+        assertThat(Try.ofSuccess(5).flatMap(success -> mapped), sameInstance(mapped));
+        assertThat(Try.ofSuccess(5).flatMap(success -> Try.ofSuccess(success + 1)), is(Try.ofSuccess(6)));
+    }
+
+    @Test
+    public void flatMapReturnsSameFailureWithoutCallingMapper() {
+        Try<Integer> failure = Try.ofFailureSwallowingInterrupt(new IllegalStateException());
+
+        Try<String> result = failure.flatMap(success -> {
+            throw new AssertionError("Mapper should not be called");
+        });
+
+        assertThat(result, sameInstance(failure));
+    }
+
+    @Test
+    public void flatMapCatchesExceptionsFromMapper() {
+        Exception exception = new Exception();
+
+        Try<String> result = Try.ofSuccess(5).flatMap(success -> {
+            throw exception;
+        });
+
+        assertThat(result.getNullableFailure(), sameInstance(exception));
+    }
+
+    @Test
+    public void flatMapRejectsNullTrysFromMapper() {
+        assertThrows(NullPointerException.class, () -> Try.ofSuccess(5).flatMap(success -> null));
+    }
+
+    @Test
+    public void filterReturnsSameTryWhenPredicateHolds() {
+        Try<Integer> success = Try.ofSuccess(5);
+
+        assertThat(success.filter(value -> value > 0, value -> new IllegalArgumentException()), sameInstance(success));
+    }
+
+    @Test
+    public void filterFailsWithFactorysFailureWhenPredicateDoesntHold() {
+        IllegalArgumentException failure = new IllegalArgumentException();
+
+        Try<Integer> result = Try.ofSuccess(5).filter(value -> value < 0, value -> failure);
+
+        assertThat(result.getNullableFailure(), sameInstance(failure));
+    }
+
+    @Test
+    public void filterReturnsSameFailureWithoutCallingPredicate() {
+        Try<Integer> failure = Try.ofFailureSwallowingInterrupt(new IllegalStateException());
+
+        Try<Integer> result = failure.filter(value -> {
+            throw new AssertionError("Predicate should not be called");
+        }, value -> new IllegalArgumentException());
+
+        assertThat(result, sameInstance(failure));
+    }
+
+    @Test
+    public void filterCatchesExceptionsFromPredicate() {
+        IllegalStateException exception = new IllegalStateException();
+
+        Try<Integer> result = Try.ofSuccess(5).filter(value -> {
+            throw exception;
+        }, value -> new IllegalArgumentException());
+
+        assertThat(result.getNullableFailure(), sameInstance(exception));
+    }
+
+    @Test
+    public void recoverAppliesRecoveryToFailure() {
+        Try<Integer> result = Try.<Integer>ofFailureSwallowingInterrupt(new IllegalStateException()).recover(e -> 6);
+
+        assertThat(result, is(Try.ofSuccess(6)));
+    }
+
+    @Test
+    public void recoverReturnsSameSuccessWithoutCallingRecovery() {
+        Try<Integer> success = Try.ofSuccess(5);
+
+        Try<Integer> result = success.recover(e -> {
+            throw new AssertionError("Recovery should not be called");
+        });
+
+        assertThat(result, sameInstance(success));
+    }
+
+    @Test
+    public void recoverCatchesExceptionsFromRecoveryAndPreservesInterrupt() {
+        InterruptedException interrupted = new InterruptedException();
+
+        Try<Integer> result = Try.<Integer>ofFailureSwallowingInterrupt(new IllegalStateException()).recover(e -> {
+            throw interrupted;
+        });
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(), sameInstance(interrupted));
+    }
+
+    @Test
+    public void recoverWithReturnsRecoverysTry() {
+        Try<Integer> recovered = Try.ofFailureSwallowingInterrupt(new IllegalArgumentException());
+
+        Try<Integer> result = Try.<Integer>ofFailureSwallowingInterrupt(new IllegalStateException())
+                .recoverWith(e -> recovered);
+
+        assertThat(result, sameInstance(recovered));
+    }
+
+    @Test
+    public void recoverWithReturnsSameSuccessWithoutCallingRecovery() {
+        Try<Integer> success = Try.ofSuccess(5);
+
+        Try<Integer> result = success.recoverWith(e -> {
+            throw new AssertionError("Recovery should not be called");
+        });
+
+        assertThat(result, sameInstance(success));
+    }
+
+    @Test
+    public void recoverWithCatchesExceptionsFromRecovery() {
+        Exception exception = new Exception();
+
+        Try<Integer> result = Try.<Integer>ofFailureSwallowingInterrupt(new IllegalStateException()).recoverWith(e -> {
+            throw exception;
+        });
+
+        assertThat(result.getNullableFailure(), sameInstance(exception));
+    }
+
+    @Test
+    public void recoverWithRejectsNullTrysFromRecovery() {
+        Try<Integer> failure = Try.ofFailureSwallowingInterrupt(new IllegalStateException());
+
+        assertThrows(NullPointerException.class, () -> failure.recoverWith(e -> null));
+    }
+
     @Test
     public void runUncheckedJustRunsRunnableOnSuccess() {
         Runnable runnable = mock(Runnable.class);
@@ -488,6 +1183,27 @@ public class TryTest {
         });
     }
 
+    @Test
+    public void runUncheckedSetsInterruptedFlagForInterruptedExceptions() {
+        assertRunnerSetsInterruptedFlagForInterruptedExceptions(e -> {
+            Try.runUnchecked(() -> {
+                throw e;
+            });
+            return null;
+        });
+    }
+
+    private static void assertRunnerSetsInterruptedFlagForInterruptedExceptions(
+            Function<InterruptedException, ?> runner) {
+        InterruptedException interruptedException = new InterruptedException();
+
+        CheckedExceptionWrapper thrown = assertThrows(CheckedExceptionWrapper.class,
+                () -> runner.apply(interruptedException));
+
+        assertThat(thrown.getCause(), sameInstance(interruptedException));
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+    }
+
     private static void assertRunnerPropagatesErrors(Function<Error, ?> runner) {
         Error error = new Error();
 
@@ -570,6 +1286,13 @@ public class TryTest {
         }));
     }
 
+    @Test
+    public void callUncheckedSetsInterruptedFlagForInterruptedExceptions() {
+        assertRunnerSetsInterruptedFlagForInterruptedExceptions(e -> Try.callUnchecked(() -> {
+            throw e;
+        }));
+    }
+
     @Test
     public void uncheckedSupplierDoesntCallCallableDirectly() {
         Try.uncheckedSupplier(() -> {
@@ -606,6 +1329,230 @@ public class TryTest {
         }).get());
     }
 
+    @Test
+    public void callCatchRuntimeAsyncRunsCallableOnExecutor() {
+        AtomicInteger executions = new AtomicInteger();
+        Executor executor = runnable -> {
+            executions.incrementAndGet();
+            runnable.run();
+        };
+
+        Try<Integer> result = Try.callCatchRuntimeAsync(() -> 5, executor).join();
+
+        assertThat(result, is(Try.ofSuccess(5)));
+        assertThat(executions.get(), is(1));
+    }
+
+    @Test
+    public void callCatchRuntimeAsyncCatchesRuntimeExceptions() {
+        assertTryProductionCatchesRuntimeExceptions(e -> Try.callCatchRuntimeAsync(() -> {
+            throw e;
+        }, Runnable::run).join());
+    }
+
+    @Test
+    public void callCatchRuntimeAsyncCompletesExceptionallyForUncaughtThrowables() {
+        Error error = new Error();
+
+        CompletableFuture<Try<Integer>> result = Try.callCatchRuntimeAsync(() -> {
+            throw error;
+        }, Runnable::run);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get());
+        assertThat(thrown.getCause(), sameInstance(error));
+    }
+
+    @Test
+    public void callCatchRuntimeAsyncReturnsFailureIfExecutorRejectsCall() {
+        RejectedExecutionException rejection = new RejectedExecutionException();
+        Executor executor = runnable -> {
+            throw rejection;
+        };
+
+        CompletableFuture<Try<Integer>> result = Try.callCatchRuntimeAsync(() -> 5, executor);
+
+        assertTrue(result.isDone());
+        assertThat(result.join().getNullableFailure(), sameInstance(rejection));
+    }
+
+    @Test
+    public void callCatchRuntimeAsyncUsesDefaultExecutorIfNoneSupplied() {
+        Thread caller = Thread.currentThread();
+
+        Try<Thread> result = Try.callCatchRuntimeAsync(() -> Thread.currentThread()).join();
+
+        assertThat(result.getNullableSuccess(), not(caller));
+    }
+
+    @Test
+    public void runCatchRuntimeAsyncReturnsSharedNullSuccessOnSuccess() {
+        Try<Void> result = Try.runCatchRuntimeAsync(() -> {
+        }, Runnable::run).join();
+
+        assertThat(result, sameInstance(Try.ofSuccess(null)));
+    }
+
+    @Test
+    public void callCatchExceptionAsyncCatchesExceptions() {
+        assertTryProductionCatchesExceptions(e -> Try.callCatchExceptionAsync(() -> {
+            throw e;
+        }, Runnable::run).join());
+    }
+
+    @Test
+    public void callCatchExceptionAsyncSetsInterruptedFlagOnExecutorThreadOnly() throws InterruptedException {
+        InterruptedException interruptedException = new InterruptedException();
+        AtomicBoolean executorThreadInterrupted = new AtomicBoolean();
+        CountDownLatch interruptStatusRecorded = new CountDownLatch(1);
+        Executor executor = runnable -> {
+            Thread thread = new Thread(() -> {
+                runnable.run();
+                executorThreadInterrupted.set(Thread.currentThread().isInterrupted());
+                interruptStatusRecorded.countDown();
+            });
+            thread.start();
+        };
+
+        Try<Integer> result = Try.<Integer>callCatchExceptionAsync(() -> {
+            throw interruptedException;
+        }, executor).join();
+
+        assertThat(result.getNullableFailure(), sameInstance(interruptedException));
+        assertFalse(Thread.interrupted(), "Expected caller's Thread interrupted flag not to be set");
+        interruptStatusRecorded.await();
+        assertTrue(executorThreadInterrupted.get(), "Expected executor's Thread interrupted flag to be set");
+    }
+
+    @Test
+    public void runCatchExceptionAsyncCatchesExceptions() {
+        assertTryProductionCatchesExceptions(e -> Try.runCatchExceptionAsync(() -> {
+            throw e;
+        }, Runnable::run).join());
+    }
+
+    @Test
+    public void callCatchThrowableAsyncCatchesThrowables() {
+        assertTryProductionCatchesThrowable(e -> Try.callCatchThrowableAsync(() -> {
+            throw e;
+        }, Runnable::run).join());
+    }
+
+    @Test
+    public void callCatchThrowableAsyncUsesDefaultExecutorIfNoneSupplied() {
+        Try<Integer> result = Try.callCatchThrowableAsync(() -> 5).join();
+
+        assertThat(result, is(Try.ofSuccess(5)));
+    }
+
+    @Test
+    public void runCatchThrowableAsyncCatchesThrowables() {
+        assertTryProductionCatchesThrowable(e -> Try.runCatchThrowableAsync(() -> {
+            throw e;
+        }, Runnable::run).join());
+    }
+
+    @Test
+    public void callCatchThrowableWithTimeoutReturnsSuccess() {
+        Try<Integer> result = Try.callCatchThrowable(() -> 5, Duration.ofSeconds(5));
+
+        assertThat(result, is(Try.ofSuccess(5)));
+    }
+
+    @Test
+    public void callCatchThrowableWithTimeoutCatchesThrowables() {
+        assertTryProductionCatchesThrowable(e -> Try.callCatchThrowable(() -> {
+            throw e;
+        }, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void callCatchThrowableWithDeadlineReturnsTimeoutAndInterruptsWorkerWhenDeadlineExpires()
+            throws InterruptedException {
+        CountDownLatch workerInterrupted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Try<Integer> result = Try.callCatchThrowable(() -> {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (InterruptedException e) {
+                    workerInterrupted.countDown();
+                    throw e;
+                }
+                return 5;
+            }, Deadline.after(Duration.ofMillis(10)), executor);
+
+            assertThat(result.getNullableFailure(), instanceOf(TimeoutException.class));
+            assertFalse(Thread.interrupted(), "Expected caller's Thread interrupted flag not to be set");
+            assertTrue(workerInterrupted.await(5, TimeUnit.SECONDS), "Expected worker to be interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void callCatchThrowableWithExpiredDeadlineDoesntCallCallable() {
+        AtomicBoolean called = new AtomicBoolean();
+
+        Try<Boolean> result = Try.callCatchThrowable(() -> called.getAndSet(true), Duration.ofMillis(-1));
+
+        assertThat(result.getNullableFailure(), instanceOf(TimeoutException.class));
+        assertFalse(called.get());
+    }
+
+    @Test
+    public void callCatchThrowableWithDeadlineMakesDeadlineCurrentOnlyWhileCallRuns() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+
+        Try<Deadline> result = Try.callCatchThrowable(() -> Deadline.current().get(), deadline);
+
+        assertThat(result.getNullableSuccess(), sameInstance(deadline));
+        assertThat(Deadline.current(), is(Optional.empty()));
+    }
+
+    @Test
+    public void callCatchThrowableWithDeadlineInheritsEarlierCurrentDeadline() {
+        Deadline outer = Deadline.after(Duration.ofSeconds(5));
+
+        Try<Try<Deadline>> result = Try.callCatchThrowable(() -> {
+            return Try.callCatchThrowable(() -> Deadline.current().get(), Duration.ofHours(1));
+        }, outer);
+
+        assertThat(result.getNullableSuccess().getNullableSuccess(), sameInstance(outer));
+    }
+
+    @Test
+    public void callCatchThrowableWithDeadlineAppliesEarlierNestedDeadline() {
+        Deadline inner = Deadline.after(Duration.ofSeconds(5));
+
+        Try<Try<Deadline>> result = Try.callCatchThrowable(() -> {
+            return Try.callCatchThrowable(() -> Deadline.current().get(), inner);
+        }, Duration.ofHours(1));
+
+        assertThat(result.getNullableSuccess().getNullableSuccess(), sameInstance(inner));
+    }
+
+    @Test
+    public void callCatchThrowableWithDeadlineReturnsFailureAndPreservesInterruptWhenInterruptedWhileWaiting() {
+        CountDownLatch neverCounted = new CountDownLatch(1);
+
+        Thread.currentThread().interrupt();
+        Try<Boolean> result = Try.callCatchThrowable(() -> neverCounted.await(5, TimeUnit.SECONDS),
+                Duration.ofSeconds(5));
+
+        assertTrue(Thread.interrupted(), "Expected Thread interrupted flag to be set");
+        assertThat(result.getNullableFailure(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void callCatchThrowableWithDeadlineReturnsFailureIfExecutorRejectsCall() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        Try<Integer> result = Try.callCatchThrowable(() -> 5, Deadline.after(Duration.ofSeconds(5)), executor);
+
+        assertThat(result.getNullableFailure(), instanceOf(RejectedExecutionException.class));
+    }
+
     @Test
     public void getOrThrowUncheckedReturnsNonNullSuccesses() throws Throwable {
         assertTryGetterReturnsNonNullSuccesses(tr -> tr.getOrThrowUnchecked());
@@ -1083,6 +2030,95 @@ public class TryTest {
         assertThat(thrown, sameInstance(consumingFailure));
     }
 
+    @Test
+    public void toFutureCompletesWithSuccesses() {
+        CompletableFuture<Integer> future = Try.ofSuccess(5).toFuture();
+
+        assertThat(future.join(), is(5));
+    }
+
+    @Test
+    public void toFutureCompletesExceptionallyWithFailures() {
+        Throwable throwable = new Throwable();
+
+        CompletableFuture<Integer> future = Try.<Integer>ofFailureSwallowingInterrupt(throwable).toFuture();
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get());
+        assertThat(thrown.getCause(), sameInstance(throwable));
+    }
+
+    @Test
+    public void fromFutureWaitsForFutureToComplete() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        CompletableFuture<Try<Integer>> result = Try.fromFuture(future);
+
+        assertFalse(result.isDone());
+        future.complete(5);
+        assertThat(result.join(), is(Try.ofSuccess(5)));
+    }
+
+    @Test
+    public void fromFutureCreatesFailureFromExceptionalCompletion() {
+        IllegalStateException exception = new IllegalStateException();
+
+        Try<Integer> result = Try.fromFuture(CompletableFuture.<Integer>failedFuture(exception)).join();
+
+        assertThat(result.getNullableFailure(), sameInstance(exception));
+    }
+
+    @Test
+    public void fromFutureStripsCompletionExceptions() {
+        IllegalStateException exception = new IllegalStateException();
+        CompletableFuture<Integer> dependent = CompletableFuture.<Integer>failedFuture(exception)
+                .thenApply(i -> i + 1);
+
+        Try<Integer> result = Try.fromFuture(dependent).join();
+
+        assertThat(result.getNullableFailure(), sameInstance(exception));
+    }
+
+    @Test
+    public void fromFutureKeepsCompletionExceptionsWithoutCauses() {
+        CompletionException exception = new CompletionException(null);
+
+        Try<Integer> result = Try.fromFuture(CompletableFuture.<Integer>failedFuture(exception)).join();
+
+        assertThat(result.getNullableFailure(), sameInstance(exception));
+    }
+
+    @Test
+    public void fromFutureDoesntSetInterruptedFlagForInterruptedExceptions() {
+        InterruptedException interruptedException = new InterruptedException();
+
+        Try<Integer> result = Try.fromFuture(CompletableFuture.<Integer>failedFuture(interruptedException)).join();
+
+        assertThat(result.getNullableFailure(), sameInstance(interruptedException));
+        assertFalse(Thread.interrupted(), "Expected Thread interrupted flag not to be set");
+    }
+
+    @Test
+    public void flattenFutureCompletesWithSuccesses() {
+        CompletableFuture<Try<Integer>> future = new CompletableFuture<>();
+
+        CompletableFuture<Integer> result = Try.flattenFuture(future);
+
+        assertFalse(result.isDone());
+        future.complete(Try.ofSuccess(5));
+        assertThat(result.join(), is(5));
+    }
+
+    @Test
+    public void flattenFutureCompletesExceptionallyWithFailures() {
+        Throwable throwable = new Throwable();
+
+        CompletableFuture<Integer> result = Try
+                .flattenFuture(CompletableFuture.completedFuture(Try.<Integer>ofFailureSwallowingInterrupt(throwable)));
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get());
+        assertThat(thrown.getCause(), sameInstance(throwable));
+    }
+
     @Test
     public void hashCodeObeysContract() {
         Try<Integer> success1 = Try.ofSuccess(18);